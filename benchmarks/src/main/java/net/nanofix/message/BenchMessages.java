@@ -0,0 +1,47 @@
+package net.nanofix.message;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sample FIX messages used by the benchmarks. Body length and checksum are
+ * calculated so the messages pass decoder validation.
+ */
+final class BenchMessages {
+
+    static final String EXECUTION_REPORT_BODY = "35=8|49=BROKER|56=CLIENT|34=123456|52=20180427-10:26:45.123|" +
+            "1=ABCTEST1|6=110.11|11=tkacct.151124.e.EFX.122.6|14=7|15=USD|17=tkacct.151124.e.EFX.122.6|" +
+            "20=0|21=1|22=5|30=XLON|31=110.11|32=7|37=tkacct.151124.e.EFX.122.6|38=7|39=2|40=2|44=110.11|" +
+            "48=LCOM1|54=1|55=EFX|59=0|60=20180427-10:26:45.123|63=0|75=20180427|109=TEST|150=2|151=0|" +
+            "167=FUT|200=201106|207=XLON|336=1|461=FXXXXX|526=sec-ref-1|528=A|529=1|";
+
+    private BenchMessages() {
+        // can't touch this
+    }
+
+    /**
+     * Builds a complete message from the body, adding the BeginString, BodyLength and CheckSum fields.
+     * The '|' characters are replaced with SOH.
+     */
+    static byte[] asMessage(String body) {
+        String soh = String.valueOf((char) 1);
+        String bodyText = body.replace("|", soh);
+        String text = "8=FIX.4.4" + soh + "9=" + bodyText.length() + soh + bodyText;
+        int checksum = 0;
+        for (int i = 0; i < text.length(); i++) {
+            checksum += text.charAt(i);
+        }
+        text += String.format("10=%03d", checksum % 256) + soh;
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Copies the message into a new buffer, leaving the position at the end of the message
+     * the way the decoder expects it after a socket read.
+     */
+    static ByteBuffer asBuffer(byte[] message, boolean direct) {
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(message.length * 2) : ByteBuffer.allocate(message.length * 2);
+        buffer.put(message);
+        return buffer;
+    }
+}
@@ -0,0 +1,69 @@
+package net.nanofix.message;
+
+import net.nanofix.util.ByteString;
+import net.nanofix.util.ByteStringPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a decoded SenderCompID with a known CompID, and turns it into a ByteString,
+ * with and without copying it out of the buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class ByteStringBench {
+
+    private static final String COMP_ID = "BROKER-LDN";
+    private static final int VALUE_INDEX = 3;
+
+    private final ByteBuffer buffer = ByteBuffer.wrap(("49=" + COMP_ID + "\u0001").getBytes(StandardCharsets.US_ASCII));
+    private final ByteString compId = ByteString.of(COMP_ID);
+    private final ByteStringPool pool = new ByteStringPool();
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(ByteStringBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public boolean equalsAsString() {
+        return COMP_ID.equals(new String(buffer.array(), VALUE_INDEX, COMP_ID.length(), StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    public boolean contentEquals() {
+        return compId.contentEquals(buffer, VALUE_INDEX, COMP_ID.length());
+    }
+
+    @Benchmark
+    public ByteString copyOf() {
+        return ByteString.copyOf(buffer, VALUE_INDEX, COMP_ID.length());
+    }
+
+    @Benchmark
+    public ByteString intern() {
+        return pool.intern(buffer, VALUE_INDEX, COMP_ID.length());
+    }
+}
@@ -0,0 +1,61 @@
+package net.nanofix.message;
+
+import net.nanofix.time.CachedClock;
+import net.nanofix.time.SystemEpochClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of a timestamp from the system clocks against the volatile read of a CachedClock.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class ClockBench {
+
+    private final CachedClock cachedClock = new CachedClock();
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(ClockBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public long systemEpochClock() {
+        return SystemEpochClock.INSTANCE.epochNanos();
+    }
+
+    @Benchmark
+    public long cachedClock() {
+        return cachedClock.epochNanos();
+    }
+
+    @Benchmark
+    public long cachedClockMicros() {
+        return cachedClock.epochTime(TimeUnit.MICROSECONDS);
+    }
+}
@@ -0,0 +1,75 @@
+package net.nanofix.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a confirmation carrying an XmlData(213) payload of the given size, jumping over the payload
+ * using XmlDataLen(212) compared with scanning it for SOH like any other value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class DataFieldBench {
+
+    @Param({"256", "16384"})
+    int payloadSize;
+
+    private final NanoFIXMessageDecoder jumpingDecoder = new NanoFIXMessageDecoder(false, DataFields.STANDARD);
+    private final NanoFIXMessageDecoder scanningDecoder = new NanoFIXMessageDecoder(false, DataFields.NONE);
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+
+    private ByteBuffer buffer;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(DataFieldBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        StringBuilder payload = new StringBuilder("<trades>");
+        for (int i = 0; payload.length() < payloadSize - 9; i++) {
+            payload.append("<t id=\"").append(i % 10).append("\"/>");
+        }
+        payload.setLength(payloadSize - 9);
+        payload.append("</trades>");
+        String body = "35=AK|49=BROKER|56=CLIENT|34=123456|52=20180427-10:26:45.123|664=CONF1|666=0|773=1|665=4|"
+                + "212=" + payload.length() + "|213=" + payload + "|58=booked|";
+        buffer = BenchMessages.asBuffer(BenchMessages.asMessage(body), false);
+    }
+
+    @Benchmark
+    public int jumpPayload() {
+        jumpingDecoder.decode(buffer, message);
+        return message.valueLength(Tags.Text);
+    }
+
+    @Benchmark
+    public int scanPayload() {
+        scanningDecoder.decode(buffer, message);
+        return message.valueLength(Tags.Text);
+    }
+}
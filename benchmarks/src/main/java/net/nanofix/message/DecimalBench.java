@@ -0,0 +1,88 @@
+package net.nanofix.message;
+
+import net.nanofix.message.util.NumberWriter;
+import net.nanofix.util.Decimal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing and parsing a price with Decimal against going through BigDecimal,
+ * run with the GC profiler to show the allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class DecimalBench {
+
+    private static final long MANTISSA = 1234567L;
+    private static final int SCALE = 4;
+    private static final BigDecimal PRICE = BigDecimal.valueOf(MANTISSA, SCALE);
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(64);
+    private final Decimal decimal = new Decimal();
+    private int priceLen;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(DecimalBench.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        byte[] price = PRICE.toPlainString().getBytes(StandardCharsets.US_ASCII);
+        buffer.put(price);
+        priceLen = price.length;
+    }
+
+    @Benchmark
+    public int writeDecimal() {
+        buffer.clear();
+        return NumberWriter.putDecimal(buffer, MANTISSA, SCALE);
+    }
+
+    @Benchmark
+    public int writeBigDecimal() {
+        buffer.clear();
+        buffer.put(PRICE.toPlainString().getBytes(StandardCharsets.US_ASCII));
+        return buffer.position();
+    }
+
+    @Benchmark
+    public long parseDecimal() {
+        return decimal.parse(buffer, 0, priceLen).mantissa();
+    }
+
+    @Benchmark
+    public long parseBigDecimal() {
+        byte[] bytes = new byte[priceLen];
+        for (int i = 0; i < priceLen; i++) {
+            bytes[i] = buffer.get(i);
+        }
+        return new BigDecimal(new String(bytes, StandardCharsets.US_ASCII)).unscaledValue().longValue();
+    }
+}
@@ -0,0 +1,81 @@
+package net.nanofix.message;
+
+import net.nanofix.message.util.DelimiterScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static net.nanofix.util.FIXBytes.EQUALS;
+import static net.nanofix.util.FIXBytes.SOH;
+
+/**
+ * Compares the byte by byte delimiter scan with the word at a time scan
+ * by walking every field of a 40 field execution report.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class DelimiterScannerBench {
+
+    @Param({"false", "true"})
+    boolean direct;
+
+    private ByteBuffer buffer;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(DelimiterScannerBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        buffer = BenchMessages.asBuffer(BenchMessages.asMessage(BenchMessages.EXECUTION_REPORT_BODY), direct);
+    }
+
+    @Benchmark
+    public int byteLoop() {
+        int count = 0;
+        int tagIndex = 0;
+        while (tagIndex < buffer.position()) {
+            int equalIndex = ByteBufferUtil2.indexOf(buffer, tagIndex, EQUALS);
+            int sohIndex = ByteBufferUtil2.indexOf(buffer, equalIndex + 1, SOH);
+            tagIndex = sohIndex + 1;
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int wordAtATime() {
+        int count = 0;
+        int tagIndex = 0;
+        while (tagIndex < buffer.position()) {
+            int equalIndex = DelimiterScanner.indexOf(buffer, tagIndex, EQUALS);
+            int sohIndex = DelimiterScanner.indexOf(buffer, equalIndex + 1, SOH);
+            tagIndex = sohIndex + 1;
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,88 @@
+package net.nanofix.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding every field of a 40 field execution report with a projection
+ * of the few fields an order router reads, near the front and at the end of the body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class FieldProjectionBench {
+
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final FieldProjection headProjection = new FieldProjection(11, 14, 17);
+    private final FieldProjection tailProjection = new FieldProjection(11, 150, 151);
+
+    private ByteBuffer buffer;
+    private MessageDecodeHandler handler;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(FieldProjectionBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        handler = new BlackholeHandler(blackhole);
+        buffer = BenchMessages.asBuffer(BenchMessages.asMessage(BenchMessages.EXECUTION_REPORT_BODY), false);
+    }
+
+    @Benchmark
+    public void allFields() {
+        decoder.decode(buffer, handler);
+    }
+
+    @Benchmark
+    public void projectionNearHead() {
+        decoder.decode(buffer, headProjection, handler);
+    }
+
+    @Benchmark
+    public void projectionNearTail() {
+        decoder.decode(buffer, tailProjection, handler);
+    }
+
+    private static final class BlackholeHandler implements MessageDecodeHandler {
+
+        private final Blackhole blackhole;
+
+        BlackholeHandler(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onTag(ByteBuffer buffer, int tagIndex, int tagLen, int valueLen) {
+            blackhole.consume(tagIndex);
+        }
+
+        @Override
+        public void onError(int index, String message) {
+            blackhole.consume(message);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package net.nanofix.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walks every entry of a MarketDataIncrementalRefresh with a GroupCursor,
+ * summing the entry sizes so each entry is read as well as tokenized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class GroupCursorBench {
+
+    @Param({"10", "1000"})
+    int entries;
+
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+    private final GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(GroupCursorBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        StringBuilder body = new StringBuilder("35=X|49=BROKER|56=CLIENT|34=123456|52=20180427-10:26:45.123|268=")
+                .append(entries).append('|');
+        for (int i = 0; i < entries; i++) {
+            body.append("279=0|269=").append(i & 1).append("|278=E").append(i)
+                    .append("|55=EFX|270=110.").append(i % 100).append("|271=").append(i + 1).append('|');
+        }
+        ByteBuffer buffer = BenchMessages.asBuffer(BenchMessages.asMessage(body.toString()), false);
+        decoder.decode(buffer, message);
+    }
+
+    @Benchmark
+    public long walkEntries() throws MissingFieldException {
+        long size = 0;
+        cursor.wrap(message);
+        while (cursor.next()) {
+            size += cursor.getLong(Tags.MDEntrySize);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,79 @@
+package net.nanofix.message;
+
+import net.nanofix.util.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams a MarketDataSnapshotFullRefresh of the given number of entries into one buffer,
+ * the NoMDEntries count being patched in place once the entries are written.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class GroupEncodeBench {
+
+    private static final ByteString SYMBOL = ByteString.of("EUR/USD");
+
+    @Param({"10", "1000"})
+    int entries;
+
+    private ByteBuffer buffer;
+    private FIXMessage msg;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(GroupEncodeBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        MessageHeader header = new MessageHeader(ByteBuffer.allocate(256));
+        header.beginString(BeginStrings.FIX_4_4);
+        header.msgType(MsgTypes.MarketDataSnapshotFullRefresh);
+        header.senderCompId(ByteString.of("BROKER"));
+        header.targetCompId(ByteString.of("CLIENT"));
+        header.msgSeqNum(123456);
+        header.sendingTime(System.currentTimeMillis());
+        buffer = ByteBuffer.allocate(256 + entries * 32);
+        msg = new ContiguousFIXMessage(header, buffer);
+    }
+
+    @Benchmark
+    public void encodeEntries(Blackhole hole) {
+        buffer.clear();
+        msg.addStringField(Tags.Symbol, SYMBOL);
+        msg.beginGroup(Tags.NoMDEntries, 4);
+        for (int i = 0; i < entries; i++) {
+            msg.beginGroupEntry();
+            msg.addCharField(Tags.MDEntryType, (i & 1) == 0 ? '0' : '1');
+            msg.addDecimalField(Tags.MDEntryPx, 110_000 + i, 3);
+            msg.addIntField(Tags.MDEntrySize, i + 1);
+        }
+        msg.endGroup();
+        hole.consume(msg.buffers());
+    }
+}
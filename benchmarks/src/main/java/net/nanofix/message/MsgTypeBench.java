@@ -0,0 +1,77 @@
+package net.nanofix.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the MsgType of a decoded execution report through a String keyed map and through
+ * MsgTypeResolver, and dispatches it to a handler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class MsgTypeBench {
+
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+    private final MsgTypeResolver resolver = new MsgTypeResolver();
+    private final Map<String, MsgType> msgTypesByValue = new HashMap<>();
+    private MsgTypeDispatcher dispatcher;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(MsgTypeBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        ByteBuffer buffer = BenchMessages.asBuffer(BenchMessages.asMessage(BenchMessages.EXECUTION_REPORT_BODY), false);
+        new NanoFIXMessageDecoder().decode(buffer, message);
+        msgTypesByValue.put(MsgTypes.ExecutionReport.value(), MsgTypes.ExecutionReport);
+        msgTypesByValue.put(MsgTypes.Heartbeat.value(), MsgTypes.Heartbeat);
+        dispatcher = new MsgTypeDispatcher(blackhole::consume)
+                .register(MsgTypes.ExecutionReport, msg -> blackhole.consume(msg.fieldCount()));
+    }
+
+    @Benchmark
+    public MsgType resolveAsString() {
+        int index = message.valueIndex(Tags.MsgType);
+        String value = new String(message.buffer().array(), index, message.valueLength(Tags.MsgType),
+                StandardCharsets.US_ASCII);
+        return msgTypesByValue.get(value);
+    }
+
+    @Benchmark
+    public MsgType resolve() {
+        return resolver.resolve(message);
+    }
+
+    @Benchmark
+    public void dispatch() {
+        dispatcher.dispatch(message);
+    }
+}
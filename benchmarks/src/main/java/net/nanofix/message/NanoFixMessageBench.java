@@ -50,6 +50,25 @@ public class NanoFixMessageBench {
         MessageHeader header = new MessageHeader(ByteBuffer.allocate(256));
         ByteBuffer buffer = ByteBuffer.allocate(256);
         FIXMessage msg = new NanoFIXMessage(header, buffer);
+        StringBuilder clOrdId = new StringBuilder();
+        int orderCount;
+    }
+
+    @State(Scope.Benchmark)
+    public static class TemplateState extends BenchmarkState {
+        {
+            header.templateMode(true);
+            header.beginString(BeginStrings.FIX_4_2);
+            header.senderCompId(SENDER_COMP_ID);
+            header.targetCompId(TARGET_COMP_ID);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ContiguousState {
+        MessageHeader header = new MessageHeader(ByteBuffer.allocate(256));
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        FIXMessage msg = new ContiguousFIXMessage(header, buffer);
     }
 
     @Benchmark
@@ -62,13 +81,103 @@ public class NanoFixMessageBench {
         msg.header().targetCompId(TARGET_COMP_ID);
         msg.header().msgSeqNum(42);
         msg.header().sendingTime(SENDING_TIME);
+        addLogonFields(msg);
+        hole.consume(msg.buffers());
+    }
+
+    /**
+     * The session fields are set once, so only MsgType, MsgSeqNum, SendingTime and BodyLength are written per message.
+     */
+    @Benchmark
+    public void encodeLogonTemplate(TemplateState state, Blackhole hole) {
+        state.buffer.clear();
+        FIXMessage msg = state.msg;
+        msg.header().msgType(MsgTypes.Logon);
+        msg.header().msgSeqNum(42);
+        msg.header().sendingTime(SENDING_TIME);
+        addLogonFields(msg);
+        hole.consume(msg.buffers());
+    }
+
+    /**
+     * The whole message in one buffer, ready for a single write.
+     */
+    @Benchmark
+    public void encodeLogonContiguous(ContiguousState state, Blackhole hole) {
+        state.buffer.clear();
+        FIXMessage msg = state.msg;
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.Logon);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(42);
+        msg.header().sendingTime(SENDING_TIME);
+        addLogonFields(msg);
+        hole.consume(msg.buffers());
+    }
+
+    private static void addLogonFields(FIXMessage msg) {
         msg.addIntField(Tags.EncryptMethod, 0);
         msg.addIntField(Tags.HeartBtInt, 30);
         msg.addBooleanField(Tags.ResetSeqNumFlag, true);
         msg.addStringField(Tags.Username, USER);
+    }
+
+    /**
+     * Numbers past 9999 used to be written through Integer.toString, the GC profiler shows they no longer allocate.
+     */
+    @Benchmark
+    public void encodeLargeNumbers(BenchmarkState state, Blackhole hole) {
+        state.buffer.clear();
+        FIXMessage msg = state.msg;
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.Heartbeat);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(1234567);
+        msg.header().sendingTime(SENDING_TIME);
+        msg.addLongField(Tags.OrderID, 98765432101L);
+        msg.addIntField(Tags.OrderQty, 250000);
+        hole.consume(msg.buffers());
+    }
+
+    /**
+     * A ClOrdID built in a reused StringBuilder, wrapped as a ByteString for each order.
+     */
+    @Benchmark
+    public void encodeClOrdIdByteString(BenchmarkState state, Blackhole hole) {
+        FIXMessage msg = newOrderHeader(state);
+        msg.addStringField(Tags.ClOrdID, ByteString.of(nextClOrdId(state).toString()));
+        hole.consume(msg.buffers());
+    }
+
+    /**
+     * The same ClOrdID copied straight from the StringBuilder, the GC profiler shows it does not allocate.
+     */
+    @Benchmark
+    public void encodeClOrdIdCharSequence(BenchmarkState state, Blackhole hole) {
+        FIXMessage msg = newOrderHeader(state);
+        msg.addCharSequenceField(Tags.ClOrdID, nextClOrdId(state));
         hole.consume(msg.buffers());
     }
 
+    private static FIXMessage newOrderHeader(BenchmarkState state) {
+        state.buffer.clear();
+        FIXMessage msg = state.msg;
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.NewOrderSingle);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(42);
+        msg.header().sendingTime(SENDING_TIME);
+        return msg;
+    }
+
+    private static StringBuilder nextClOrdId(BenchmarkState state) {
+        state.clOrdId.setLength(0);
+        return state.clOrdId.append("ORDER-").append(state.orderCount++);
+    }
+
     //@Benchmark
     public void encodeNewOrderSingle(BenchmarkState state, Blackhole hole) {
         FIXMessage msg = state.msg;
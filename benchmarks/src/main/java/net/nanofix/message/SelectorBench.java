@@ -0,0 +1,76 @@
+package net.nanofix.message;
+
+import net.nanofix.message.selector.CompiledSelector;
+import net.nanofix.message.selector.SelectorCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a 40 field execution report and then selecting it with filtering it as it is
+ * decoded, for a selector that rejects it on the MsgType and one that selects it on the Symbol.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class SelectorBench {
+
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+    private final CompiledSelector rejecting = SelectorCompiler.compile("35 in (D, G, F)");
+    private final CompiledSelector selecting = SelectorCompiler.compile("35 = 8 and 55 = EFX");
+
+    private ByteBuffer buffer;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(SelectorBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        buffer = BenchMessages.asBuffer(BenchMessages.asMessage(BenchMessages.EXECUTION_REPORT_BODY), false);
+    }
+
+    @Benchmark
+    public boolean decodeThenReject() {
+        decoder.decode(buffer, message);
+        return rejecting.select(message);
+    }
+
+    @Benchmark
+    public int filterReject() {
+        return decoder.decode(buffer, rejecting, message);
+    }
+
+    @Benchmark
+    public boolean decodeThenSelect() {
+        decoder.decode(buffer, message);
+        return selecting.select(message);
+    }
+
+    @Benchmark
+    public int filterSelect() {
+        return decoder.decode(buffer, selecting, message);
+    }
+}
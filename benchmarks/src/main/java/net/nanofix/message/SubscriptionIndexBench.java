@@ -0,0 +1,86 @@
+package net.nanofix.message;
+
+import net.nanofix.message.selector.AndSelector;
+import net.nanofix.message.selector.FieldSelector;
+import net.nanofix.message.selector.MessageSelector;
+import net.nanofix.message.selector.SubscriptionIndex;
+import net.nanofix.util.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the subscriptions to an execution report among subscriptions to a MsgType and Symbol each,
+ * by evaluating every selector in turn and by looking the message up in a SubscriptionIndex.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class SubscriptionIndexBench {
+
+    @Param({"100", "5000"})
+    private int subscriptions;
+
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+    private final SubscriptionIndex index = new SubscriptionIndex();
+    private final BitSet matches = new BitSet();
+    private MessageSelector[] selectors;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(SubscriptionIndexBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        new NanoFIXMessageDecoder().decode(
+                BenchMessages.asBuffer(BenchMessages.asMessage(BenchMessages.EXECUTION_REPORT_BODY), false), message);
+        ByteString executionReport = ByteString.of("8");
+        selectors = new MessageSelector[subscriptions];
+        for (int i = 0; i < subscriptions; i++) {
+            // one in ten subscribes to the symbol in the message
+            ByteString symbol = ByteString.of(i % 10 == 0 ? "EFX" : "SYM" + i);
+            selectors[i] = new AndSelector(
+                    new FieldSelector(Tags.MsgType, executionReport), new FieldSelector(Tags.Symbol, symbol));
+            index.subscribe(Tags.MsgType, executionReport, Tags.Symbol, symbol);
+        }
+    }
+
+    @Benchmark
+    public BitSet linear() {
+        matches.clear();
+        for (int i = 0; i < selectors.length; i++) {
+            if (selectors[i].select(message)) {
+                matches.set(i);
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public BitSet index() {
+        index.match(message, matches);
+        return matches;
+    }
+}
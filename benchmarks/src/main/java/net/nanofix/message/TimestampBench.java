@@ -0,0 +1,94 @@
+package net.nanofix.message;
+
+import net.nanofix.time.UtcDateTimeDecoder;
+import net.nanofix.time.UtcDateTimeEncoder;
+import net.nanofix.time.UtcTimestampDecoder;
+import net.nanofix.time.UtcTimestampEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a timestamp that moves on by a millisecond per call, so the per second prefix
+ * cache of UtcTimestampEncoder is hit 999 times in 1000, and decodes a fixed timestamp.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class TimestampBench {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(64);
+    private final UtcDateTimeEncoder dateTimeEncoder = new UtcDateTimeEncoder();
+    private final UtcTimestampEncoder millisEncoder = new UtcTimestampEncoder(TimeUnit.MILLISECONDS);
+    private final UtcTimestampEncoder microsEncoder = new UtcTimestampEncoder(TimeUnit.MICROSECONDS);
+    private final UtcTimestampDecoder decoder = new UtcTimestampDecoder();
+    private final ByteBuffer millisTimestamp = ByteBuffer.allocate(32);
+    private final ByteBuffer microsTimestamp = ByteBuffer.allocate(32);
+    private long epochMillis = System.currentTimeMillis();
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(TimestampBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        millisEncoder.encode(epochMillis, millisTimestamp, 0);
+        microsEncoder.encode(epochMillis * 1000 + 123, microsTimestamp, 0);
+    }
+
+    @Benchmark
+    public int dateTimeEncoderMillis() {
+        return dateTimeEncoder.encode(epochMillis++, buffer, 0);
+    }
+
+    @Benchmark
+    public int timestampEncoderMillis() {
+        return millisEncoder.encode(epochMillis++, buffer, 0);
+    }
+
+    @Benchmark
+    public int timestampEncoderMicros() {
+        return microsEncoder.encode(++epochMillis * 1000, buffer, 0);
+    }
+
+    @Benchmark
+    public int timestampEncoderMicrosUpdate() {
+        return microsEncoder.update(++epochMillis * 1000, buffer, 0);
+    }
+
+    @Benchmark
+    public long dateTimeDecoderMillis() {
+        return UtcDateTimeDecoder.decode(millisTimestamp, 0);
+    }
+
+    @Benchmark
+    public long timestampDecoderMillis() {
+        return decoder.decode(millisTimestamp, 0, millisEncoder.length());
+    }
+
+    @Benchmark
+    public long timestampDecoderMicros() {
+        return decoder.decode(microsTimestamp, 0, microsEncoder.length());
+    }
+}
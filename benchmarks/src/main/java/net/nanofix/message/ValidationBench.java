@@ -0,0 +1,126 @@
+package net.nanofix.message;
+
+import net.nanofix.field.FieldNames;
+import net.nanofix.message.dictionary.Dictionary;
+import net.nanofix.message.dictionary.ValidatingDecodeHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a 40 field execution report into a DecodedFIXMessage with and without validating
+ * every field against a dictionary of the fields it holds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+@Fork(3)
+public class ValidationBench {
+
+    private static final int[] HEADER_TAGS = {8, 9, 35, 49, 56, 34, 52};
+    private static final int[] BODY_TAGS = {1, 6, 11, 14, 15, 17, 20, 21, 22, 30, 31, 32, 37, 38, 39, 40, 44, 48,
+            54, 55, 59, 60, 63, 75, 109, 150, 151, 167, 200, 207, 336, 461, 526, 528, 529};
+
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+    private ValidatingDecodeHandler validatingHandler;
+    private ByteBuffer buffer;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(ValidationBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] xml = executionReportDictionary().getBytes(StandardCharsets.US_ASCII);
+        validatingHandler = new ValidatingDecodeHandler(Dictionary.load(new ByteArrayInputStream(xml)), message);
+        buffer = BenchMessages.asBuffer(BenchMessages.asMessage(BenchMessages.EXECUTION_REPORT_BODY), false);
+        decoder.decode(buffer, validatingHandler);
+        if (!validatingHandler.isValid()) {
+            throw new IllegalStateException(validatingHandler.rejectText());
+        }
+    }
+
+    @Benchmark
+    public DecodedFIXMessage decode() {
+        decoder.decode(buffer, message);
+        return message;
+    }
+
+    @Benchmark
+    public boolean decodeAndValidate() {
+        decoder.decode(buffer, validatingHandler);
+        return validatingHandler.isValid();
+    }
+
+    private static String executionReportDictionary() {
+        StringBuilder xml = new StringBuilder("<fix type=\"FIX\" major=\"4\" minor=\"4\"><header>");
+        appendFields(xml, HEADER_TAGS);
+        xml.append("</header><trailer><field name=\"CheckSum\" required=\"Y\"/></trailer>")
+                .append("<messages><message name=\"ExecutionReport\" msgtype=\"8\">");
+        appendFields(xml, BODY_TAGS);
+        xml.append("</message></messages><fields><field number=\"10\" name=\"CheckSum\" type=\"STRING\"/>");
+        for (int[] tags : new int[][]{HEADER_TAGS, BODY_TAGS}) {
+            for (int tag : tags) {
+                xml.append("<field number=\"").append(tag).append("\" name=\"").append(FieldNames.getFieldName(tag))
+                        .append("\" type=\"").append(type(tag)).append("\"/>");
+            }
+        }
+        return xml.append("</fields></fix>").toString();
+    }
+
+    private static void appendFields(StringBuilder xml, int[] tags) {
+        for (int tag : tags) {
+            xml.append("<field name=\"").append(FieldNames.getFieldName(tag)).append("\" required=\"Y\"/>");
+        }
+    }
+
+    private static String type(int tag) {
+        switch (tag) {
+            case 9:
+            case 34:
+                return "INT";
+            case 6:
+            case 14:
+            case 31:
+            case 32:
+            case 38:
+            case 44:
+            case 151:
+                return "FLOAT";
+            case 52:
+            case 60:
+                return "UTCTIMESTAMP";
+            case 54:
+            case 39:
+            case 40:
+            case 150:
+                return "CHAR";
+            default:
+                return "STRING";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package net.nanofix.message;
+
+import net.nanofix.message.util.ChecksumCalculator;
+import net.nanofix.message.util.DelimiterScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static net.nanofix.util.FIXBytes.EQUALS;
+import static net.nanofix.util.FIXBytes.SOH;
+
+/**
+ * Compares the word at a time scan with the Vector API scan of the Java 21 multi-release jar,
+ * walking every field of a 40 field execution report and summing the whole message.
+ * <p>
+ * Must be run on Java 21 against the packaged nanofix-core jar, classes loaded from a directory
+ * never see META-INF/versions. The scalar forks turn the vector path off with -Dnanofix.vector=false.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 3)
+public class VectorScannerBench {
+
+    private static final String ADD_VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    private ByteBuffer buffer;
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.ignoreLock", "true");
+        Options options = new OptionsBuilder()
+                .include(VectorScannerBench.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        buffer = BenchMessages.asBuffer(BenchMessages.asMessage(BenchMessages.EXECUTION_REPORT_BODY), false);
+    }
+
+    @Benchmark
+    @Fork(value = 3, jvmArgsAppend = {ADD_VECTOR_MODULE, "-Dnanofix.vector=false"})
+    public int fieldsScalar() {
+        return walkFields();
+    }
+
+    @Benchmark
+    @Fork(value = 3, jvmArgsAppend = ADD_VECTOR_MODULE)
+    public int fieldsVector() {
+        return walkFields();
+    }
+
+    @Benchmark
+    @Fork(value = 3, jvmArgsAppend = {ADD_VECTOR_MODULE, "-Dnanofix.vector=false"})
+    public int checksumScalar() {
+        return ChecksumCalculator.sum(buffer, 0, buffer.position());
+    }
+
+    @Benchmark
+    @Fork(value = 3, jvmArgsAppend = ADD_VECTOR_MODULE)
+    public int checksumVector() {
+        return ChecksumCalculator.sum(buffer, 0, buffer.position());
+    }
+
+    private int walkFields() {
+        int checksum = 0;
+        int tagIndex = 0;
+        final int endIndex = buffer.position();
+        while (tagIndex < endIndex) {
+            long equalIndexAndSum = DelimiterScanner.indexOfAndSum(buffer, tagIndex, endIndex, EQUALS);
+            long sohIndexAndSum = DelimiterScanner.indexOfAndSum(buffer,
+                    DelimiterScanner.index(equalIndexAndSum) + 1, endIndex, SOH);
+            checksum += DelimiterScanner.sum(equalIndexAndSum) + DelimiterScanner.sum(sohIndexAndSum);
+            tagIndex = DelimiterScanner.index(sohIndexAndSum) + 1;
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,152 @@
+package net.nanofix.codegen;
+
+import net.nanofix.codegen.DictionaryModel.Field;
+import net.nanofix.codegen.DictionaryModel.Member;
+import net.nanofix.codegen.DictionaryModel.Message;
+import net.nanofix.message.dictionary.FieldType;
+
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates Java sources from a QuickFIX style XML dictionary: a Fields class of tag constants,
+ * and for each message a typed encoder and decoder of its body, e.g. NewOrderSingleEncoder and
+ * ExecutionReportDecoder. The header is left to MessageHeader and repeating groups are skipped.
+ * <pre>
+ * CodeGenerator &lt;dictionary.xml&gt; &lt;output directory&gt; &lt;package&gt;
+ * </pre>
+ */
+public final class CodeGenerator {
+
+    static final String FIELDS_CLASS_NAME = "Fields";
+
+    private final DictionaryModel model;
+    private final String packageName;
+
+    CodeGenerator(DictionaryModel model, String packageName) {
+        if (!SourceVersion.isName(packageName)) {
+            throw new IllegalArgumentException("Invalid package name '" + packageName + "'");
+        }
+        this.model = model;
+        this.packageName = packageName;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the dictionary is not valid
+     */
+    public static CodeGenerator load(InputStream dictionary, String packageName) throws IOException {
+        return new CodeGenerator(DictionaryModel.load(dictionary), packageName);
+    }
+
+    /**
+     * The generated sources by class name.
+     */
+    public Map<String, String> generate() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(FIELDS_CLASS_NAME, generateFields());
+        EncoderGenerator encoderGenerator = new EncoderGenerator(packageName, model.beginString());
+        DecoderGenerator decoderGenerator = new DecoderGenerator(packageName, model.beginString());
+        for (Message message : model.messages()) {
+            sources.put(EncoderGenerator.className(message), encoderGenerator.generate(message));
+            sources.put(DecoderGenerator.className(message), decoderGenerator.generate(message));
+        }
+        return sources;
+    }
+
+    /**
+     * Writes the generated sources under the directory for the package in the output directory.
+     */
+    public void writeTo(Path outputDirectory) throws IOException {
+        Path directory = outputDirectory.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(directory);
+        for (Map.Entry<String, String> source : generate().entrySet()) {
+            Files.write(directory.resolve(source.getKey() + ".java"), source.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: CodeGenerator <dictionary.xml> <output directory> <package>");
+            System.exit(1);
+        }
+        try (InputStream in = Files.newInputStream(Paths.get(args[0]))) {
+            load(in, args[2]).writeTo(Paths.get(args[1]));
+        }
+    }
+
+    /**
+     * The name of the methods and values of a field, e.g. clOrdID for ClOrdID.
+     */
+    static String propertyName(String fieldName) {
+        String name = Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
+        return SourceVersion.isKeyword(name) ? name + "Value" : name;
+    }
+
+    /**
+     * The fields of the message body outside of repeating groups, in dictionary order.
+     */
+    static List<Member> bodyFields(Message message) {
+        List<Member> fields = new ArrayList<>();
+        for (Member member : message.members) {
+            if (!member.isGroup()) {
+                fields.add(member);
+            }
+        }
+        return fields;
+    }
+
+    static boolean hasType(List<Member> fields, FieldType type) {
+        for (Member member : fields) {
+            if (member.field.type == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether any of the fields is held as chars, the types without a getter or setter of their own.
+     */
+    static boolean hasStringType(List<Member> fields) {
+        for (Member member : fields) {
+            switch (member.field.type) {
+                case CHAR:
+                case BOOLEAN:
+                case INT:
+                case FLOAT:
+                case UTCTIMESTAMP:
+                    break;
+                default:
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private String generateFields() {
+        SourceBuilder source = new SourceBuilder();
+        source.line("package " + packageName + ";")
+                .line("")
+                .javadoc("The tags of the fields of " + model.beginString() + ", generated by CodeGenerator so do not edit.")
+                .open("public final class " + FIELDS_CLASS_NAME)
+                .line("");
+        for (Field field : model.fields()) {
+            source.line("public static final int " + field.name + " = " + field.number + ";");
+        }
+        source.line("")
+                .open("private " + FIELDS_CLASS_NAME + "()")
+                .line("// can't touch this")
+                .close()
+                .close();
+        return source.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package net.nanofix.codegen;
+
+import net.nanofix.codegen.DictionaryModel.Member;
+import net.nanofix.codegen.DictionaryModel.Message;
+import net.nanofix.message.dictionary.FieldType;
+
+import java.util.List;
+
+import static net.nanofix.codegen.CodeGenerator.bodyFields;
+import static net.nanofix.codegen.CodeGenerator.hasStringType;
+import static net.nanofix.codegen.CodeGenerator.hasType;
+import static net.nanofix.codegen.CodeGenerator.propertyName;
+
+/**
+ * Generates a decoder for the body of a message, a flyweight over a DecodedFIXMessage whose
+ * getters call the DecodedFIXMessage getter for the type of each field with a constant tag.
+ */
+final class DecoderGenerator {
+
+    private final String packageName;
+    private final String beginString;
+
+    DecoderGenerator(String packageName, String beginString) {
+        this.packageName = packageName;
+        this.beginString = beginString;
+    }
+
+    static String className(Message message) {
+        return message.name + "Decoder";
+    }
+
+    String generate(Message message) {
+        String className = className(message);
+        List<Member> fields = bodyFields(message);
+        SourceBuilder source = new SourceBuilder();
+        source.line("package " + packageName + ";")
+                .line("")
+                .line("import net.nanofix.message.DecodedFIXMessage;");
+        if (!fields.isEmpty()) {
+            source.line("import net.nanofix.message.MissingFieldException;");
+        }
+        source.line("import net.nanofix.message.MsgType;")
+                .line("import net.nanofix.message.Tags;");
+        if (hasStringType(fields)) {
+            source.line("import net.nanofix.util.ByteString;").line("import net.nanofix.util.ByteStringPool;");
+        }
+        if (hasType(fields, FieldType.FLOAT)) {
+            source.line("import net.nanofix.util.Decimal;");
+        }
+        source.line("")
+                .javadoc("Reads the body of " + message.name + "(" + message.msgType + ") messages of " + beginString
+                                + ", generated by CodeGenerator so do not edit.",
+                        "wrap() a decoded message and the getters parse the values straight from its buffer, "
+                                + "the getters of absent fields throwing MissingFieldException.")
+                .open("public final class " + className)
+                .line("")
+                .line("public static final MsgType MSG_TYPE = new MsgType(\"" + message.msgType + "\", \""
+                        + message.name + "\");")
+                .line("")
+                .line("private DecodedFIXMessage message;")
+                .line("")
+                .javadoc("Whether the decoded message is a " + message.name + ".")
+                .open("public static boolean isMsgType(DecodedFIXMessage message)")
+                .line("return message.valueEquals(Tags.MsgType, MSG_TYPE);")
+                .close()
+                .line("")
+                .open("public " + className + " wrap(DecodedFIXMessage message)")
+                .line("this.message = message;")
+                .line("return this;")
+                .close()
+                .line("")
+                .open("public DecodedFIXMessage message()")
+                .line("return message;")
+                .close();
+        for (Member member : fields) {
+            addGetters(source, member);
+        }
+        source.close();
+        return source.toString();
+    }
+
+    private static void addGetters(SourceBuilder source, Member member) {
+        String name = propertyName(member.field.name);
+        String tag = "Fields." + member.field.name;
+        source.line("")
+                .javadoc(member.field.name + "(" + member.field.number + ")" + (member.required ? ", required." : "."))
+                .open("public boolean has" + member.field.name + "()")
+                .line("return message.hasField(" + tag + ");")
+                .close()
+                .line("");
+        switch (member.field.type) {
+            case CHAR:
+                addGetter(source, "char " + name + "()", "return message.getChar(" + tag + ");");
+                break;
+            case BOOLEAN:
+                addGetter(source, "boolean " + name + "()", "return message.getBoolean(" + tag + ");");
+                break;
+            case INT:
+                addGetter(source, "int " + name + "()", "return message.getInt(" + tag + ");");
+                break;
+            case FLOAT:
+                source.javadoc("Parses the value into the given decimal, which is returned.");
+                addGetter(source, "Decimal " + name + "(Decimal decimal)", "return message.getDecimal(" + tag + ", decimal);");
+                break;
+            case UTCTIMESTAMP:
+                source.javadoc("The value as epoch millis.");
+                addGetter(source, "long " + name + "()", "return message.getTimestamp(" + tag + ");");
+                source.line("").javadoc("The value, to any precision down to nanoseconds, as epoch nanos.");
+                addGetter(source, "long " + name + "Nanos()", "return message.getTimestampNanos(" + tag + ");");
+                break;
+            default:
+                source.javadoc("Whether the field is present with the same bytes as the value, compared in place.")
+                        .open("public boolean " + name + "Equals(ByteString value)")
+                        .line("return message.valueEquals(" + tag + ", value);")
+                        .close()
+                        .line("")
+                        .javadoc("Appends the value to the given Appendable, one char per byte.");
+                addGetter(source, "void " + name + "(Appendable appendable)", "message.getChars(" + tag + ", appendable);");
+                source.line("").javadoc("The value as the canonical ByteString from the pool.");
+                addGetter(source, "ByteString " + name + "(ByteStringPool pool)", "return message.getByteString(" + tag + ", pool);");
+                break;
+        }
+    }
+
+    private static void addGetter(SourceBuilder source, String signature, String statement) {
+        source.open("public " + signature + " throws MissingFieldException").line(statement).close();
+    }
+}
@@ -0,0 +1,263 @@
+package net.nanofix.codegen;
+
+import net.nanofix.message.dictionary.FieldType;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.lang.model.SourceVersion;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The messages of a QuickFIX style XML dictionary as the generators see them: the body of each
+ * message in dictionary order with its components expanded in place. Unlike the Dictionary used
+ * for validation, groups keep their members so the order of a group entry is known.
+ */
+final class DictionaryModel {
+
+    private final String beginString;
+    private final Map<String, Field> fields;
+    private final List<Message> messages;
+
+    private DictionaryModel(String beginString, Map<String, Field> fields, List<Message> messages) {
+        this.beginString = beginString;
+        this.fields = fields;
+        this.messages = messages;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the dictionary is not valid
+     */
+    static DictionaryModel load(InputStream in) throws IOException {
+        return new Loader().load(in);
+    }
+
+    String beginString() {
+        return beginString;
+    }
+
+    /**
+     * All the fields defined, in dictionary order.
+     */
+    Iterable<Field> fields() {
+        return fields.values();
+    }
+
+    List<Message> messages() {
+        return messages;
+    }
+
+    Message message(String name) {
+        for (Message message : messages) {
+            if (message.name.equals(name)) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    static final class Field {
+
+        final String name;
+        final int number;
+        // as named in the dictionary, e.g. PRICE, which FieldType groups as FLOAT
+        final String dictionaryType;
+        final FieldType type;
+
+        Field(String name, int number, String dictionaryType) {
+            this.name = name;
+            this.number = number;
+            this.dictionaryType = dictionaryType;
+            this.type = FieldType.of(dictionaryType);
+        }
+    }
+
+    /**
+     * A field or repeating group of a message body or group entry.
+     */
+    static final class Member {
+
+        final Field field;
+        final boolean required;
+        // the fields and groups of each entry when field is a NumInGroup, otherwise empty
+        final List<Member> members;
+
+        Member(Field field, boolean required, List<Member> members) {
+            this.field = field;
+            this.required = required;
+            this.members = members;
+        }
+
+        boolean isGroup() {
+            return !members.isEmpty();
+        }
+    }
+
+    static final class Message {
+
+        final String name;
+        final String msgType;
+        final List<Member> members;
+
+        Message(String name, String msgType, List<Member> members) {
+            this.name = name;
+            this.msgType = msgType;
+            this.members = members;
+        }
+    }
+
+    private static final class Loader {
+
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+        private final Map<String, Element> components = new LinkedHashMap<>();
+        private final Set<String> expanding = new HashSet<>();
+
+        DictionaryModel load(InputStream in) throws IOException {
+            Element root = parse(in);
+            if (!"fix".equals(root.getTagName())) {
+                throw new IllegalArgumentException("Dictionary must have a fix root element");
+            }
+            String beginString = ("FIXT".equals(root.getAttribute("type")) ? "FIXT." : "FIX.")
+                    + root.getAttribute("major") + "." + root.getAttribute("minor");
+            for (Element field : children(requiredChild(root, "fields"))) {
+                String name = identifier(field.getAttribute("name"));
+                fields.put(name, new Field(name, parseTag(field.getAttribute("number")), field.getAttribute("type")));
+            }
+            Element componentsElement = child(root, "components");
+            if (componentsElement != null) {
+                for (Element component : children(componentsElement)) {
+                    components.put(component.getAttribute("name"), component);
+                }
+            }
+            List<Message> messages = new ArrayList<>();
+            for (Element message : children(requiredChild(root, "messages"))) {
+                List<Member> members = new ArrayList<>();
+                addMembers(message, members, true);
+                messages.add(new Message(identifier(message.getAttribute("name")), message.getAttribute("msgtype"),
+                        Collections.unmodifiableList(members)));
+            }
+            return new DictionaryModel(beginString, Collections.unmodifiableMap(fields),
+                    Collections.unmodifiableList(messages));
+        }
+
+        /**
+         * @param required whether the fields the element requires are required where it is used
+         */
+        private void addMembers(Element element, List<Member> members, boolean required) {
+            for (Element member : children(element)) {
+                boolean memberRequired = required && "Y".equals(member.getAttribute("required"));
+                String name = member.getAttribute("name");
+                switch (member.getTagName()) {
+                    case "field":
+                        members.add(new Member(field(name), memberRequired, Collections.<Member>emptyList()));
+                        break;
+                    case "group":
+                        List<Member> groupMembers = new ArrayList<>();
+                        addMembers(member, groupMembers, true);
+                        if (groupMembers.isEmpty()) {
+                            throw new IllegalArgumentException("Group " + name + " has no fields");
+                        }
+                        members.add(new Member(field(name), memberRequired, Collections.unmodifiableList(groupMembers)));
+                        break;
+                    case "component":
+                        Element component = components.get(name);
+                        if (component == null) {
+                            throw new IllegalArgumentException("Unknown component " + name);
+                        }
+                        if (!expanding.add(name)) {
+                            throw new IllegalArgumentException("Component " + name + " contains itself");
+                        }
+                        addMembers(component, members, memberRequired);
+                        expanding.remove(name);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unexpected element " + member.getTagName() + " in " + element.getTagName());
+                }
+            }
+        }
+
+        private Field field(String name) {
+            Field field = fields.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field " + name);
+            }
+            return field;
+        }
+
+        /**
+         * The names of fields and messages become names of classes and methods.
+         */
+        private static String identifier(String name) {
+            if (!SourceVersion.isIdentifier(name) || SourceVersion.isKeyword(name)) {
+                throw new IllegalArgumentException("Name '" + name + "' is not a Java identifier");
+            }
+            return name;
+        }
+
+        private static int parseTag(String number) {
+            try {
+                int tag = Integer.parseInt(number);
+                if (tag > 0) {
+                    return tag;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            throw new IllegalArgumentException("Invalid field number '" + number + "'");
+        }
+
+        private static Element parse(InputStream in) throws IOException {
+            try {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+                factory.setExpandEntityReferences(false);
+                DocumentBuilder builder = factory.newDocumentBuilder();
+                // throws on fatal errors rather than also printing them
+                builder.setErrorHandler(new DefaultHandler());
+                return builder.parse(in).getDocumentElement();
+            } catch (ParserConfigurationException | SAXException e) {
+                throw new IllegalArgumentException("Invalid dictionary: " + e.getMessage(), e);
+            }
+        }
+
+        private static Element requiredChild(Element parent, String name) {
+            Element child = child(parent, name);
+            if (child == null) {
+                throw new IllegalArgumentException("Dictionary must have a " + name + " element");
+            }
+            return child;
+        }
+
+        private static Element child(Element parent, String name) {
+            for (Element child : children(parent)) {
+                if (name.equals(child.getTagName())) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private static List<Element> children(Element parent) {
+            List<Element> children = new ArrayList<>();
+            for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node.getNodeType() == Node.ELEMENT_NODE) {
+                    children.add((Element) node);
+                }
+            }
+            return children;
+        }
+    }
+}
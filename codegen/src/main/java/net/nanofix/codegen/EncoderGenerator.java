@@ -0,0 +1,236 @@
+package net.nanofix.codegen;
+
+import net.nanofix.codegen.DictionaryModel.Member;
+import net.nanofix.codegen.DictionaryModel.Message;
+
+import net.nanofix.message.dictionary.FieldType;
+
+import java.util.List;
+
+import static net.nanofix.codegen.CodeGenerator.bodyFields;
+import static net.nanofix.codegen.CodeGenerator.hasType;
+import static net.nanofix.codegen.CodeGenerator.propertyName;
+
+/**
+ * Generates an encoder for the body of a message. The setters keep the values, strings by
+ * reference, and encode() adds them to a FIXMessage in dictionary order with the add method for
+ * the type of each field, so every call is to a known method with a constant tag.
+ */
+final class EncoderGenerator {
+
+    private final String packageName;
+    private final String beginString;
+
+    EncoderGenerator(String packageName, String beginString) {
+        this.packageName = packageName;
+        this.beginString = beginString;
+    }
+
+    static String className(Message message) {
+        return message.name + "Encoder";
+    }
+
+    String generate(Message message) {
+        String className = className(message);
+        List<Member> fields = bodyFields(message);
+        SourceBuilder source = new SourceBuilder();
+        source.line("package " + packageName + ";")
+                .line("")
+                .line("import net.nanofix.message.FIXMessage;")
+                .line("import net.nanofix.message.MsgType;");
+        if (hasType(fields, FieldType.FLOAT)) {
+            source.line("import net.nanofix.util.Decimal;");
+        }
+        if (hasType(fields, FieldType.UTCTIMESTAMP)) {
+            source.line("").line("import java.util.concurrent.TimeUnit;");
+        }
+        source.line("")
+                .javadoc("Encodes the body of " + message.name + "(" + message.msgType + ") messages of " + beginString
+                                + ", generated by CodeGenerator so do not edit.",
+                        "The values are held, strings by reference, until encode() adds them in dictionary order, so one "
+                                + "encoder can be reused for every message without allocating.")
+                .open("public final class " + className)
+                .line("")
+                .line("public static final MsgType MSG_TYPE = new MsgType(\"" + message.msgType + "\", \""
+                        + message.name + "\");")
+                .line("");
+        for (Member member : fields) {
+            declareValue(source, member);
+        }
+        for (Member member : fields) {
+            addSetters(source, className, member);
+        }
+        addReset(source, className, fields);
+        addEncode(source, fields);
+        source.line("")
+                .open("private static IllegalStateException missing(String name, int tag)")
+                .line("return new IllegalStateException(\"Required field \" + name + \"(\" + tag + \") has no value\");")
+                .close()
+                .close();
+        return source.toString();
+    }
+
+    private static void declareValue(SourceBuilder source, Member member) {
+        String name = propertyName(member.field.name);
+        switch (member.field.type) {
+            case CHAR:
+                source.line("private char " + name + ";").line("private boolean has" + member.field.name + ";");
+                break;
+            case BOOLEAN:
+                source.line("private boolean " + name + ";").line("private boolean has" + member.field.name + ";");
+                break;
+            case INT:
+                source.line("private int " + name + ";").line("private boolean has" + member.field.name + ";");
+                break;
+            case FLOAT:
+                source.line("private long " + name + "Mantissa;")
+                        .line("private int " + name + "Scale;")
+                        .line("private boolean has" + member.field.name + ";");
+                break;
+            case UTCTIMESTAMP:
+                source.line("private long " + name + ";").line("private TimeUnit " + name + "Unit;");
+                break;
+            default:
+                source.line("private CharSequence " + name + ";");
+                break;
+        }
+    }
+
+    private static void addSetters(SourceBuilder source, String className, Member member) {
+        String name = propertyName(member.field.name);
+        String description = member.field.name + "(" + member.field.number + ")" + (member.required ? ", required." : ".");
+        source.line("");
+        switch (member.field.type) {
+            case CHAR:
+                addSetter(source, className, description, name, "char value", name + " = value;", "has" + member.field.name + " = true;");
+                break;
+            case BOOLEAN:
+                addSetter(source, className, description, name, "boolean value", name + " = value;", "has" + member.field.name + " = true;");
+                break;
+            case INT:
+                addSetter(source, className, description, name, "int value", name + " = value;", "has" + member.field.name + " = true;");
+                break;
+            case FLOAT:
+                addSetter(source, className, description + " The value is mantissa * 10^-scale.", name,
+                        "long mantissa, int scale", name + "Mantissa = mantissa;", name + "Scale = scale;",
+                        "has" + member.field.name + " = true;");
+                source.line("")
+                        .open("public " + className + " " + name + "(Decimal value)")
+                        .line("return " + name + "(value.mantissa(), value.scale());")
+                        .close();
+                break;
+            case UTCTIMESTAMP:
+                addSetter(source, className, description + " Written to the precision of the time unit.", name,
+                        "long timestamp, TimeUnit timeUnit", name + " = timestamp;", name + "Unit = timeUnit;");
+                break;
+            default:
+                addSetter(source, className, description + " Only a reference is kept until encode().", name,
+                        "CharSequence value", name + " = value;");
+                break;
+        }
+    }
+
+    private static void addSetter(SourceBuilder source, String className, String description, String name,
+                                  String parameters, String... statements) {
+        source.javadoc(description).open("public " + className + " " + name + "(" + parameters + ")");
+        for (String statement : statements) {
+            source.line("this." + statement);
+        }
+        source.line("return this;").close();
+    }
+
+    private static void addReset(SourceBuilder source, String className, List<Member> fields) {
+        source.line("")
+                .javadoc("Forgets the values, ready for the next message.")
+                .open("public " + className + " reset()");
+        for (Member member : fields) {
+            switch (member.field.type) {
+                case UTCTIMESTAMP:
+                    source.line(propertyName(member.field.name) + "Unit = null;");
+                    break;
+                case CHAR:
+                case BOOLEAN:
+                case INT:
+                case FLOAT:
+                    source.line("has" + member.field.name + " = false;");
+                    break;
+                default:
+                    source.line(propertyName(member.field.name) + " = null;");
+                    break;
+            }
+        }
+        source.line("return this;").close();
+    }
+
+    private static void addEncode(SourceBuilder source, List<Member> fields) {
+        source.line("")
+                .javadoc("Sets the MsgType of the message header and adds the fields that have values.",
+                        "@throws IllegalStateException if a required field has no value, before anything is added")
+                .open("public void encode(FIXMessage message)");
+        for (Member member : fields) {
+            if (member.required) {
+                source.open("if (" + isMissing(member) + ")")
+                        .line("throw missing(\"" + member.field.name + "\", Fields." + member.field.name + ");")
+                        .close();
+            }
+        }
+        source.line("message.header().msgType(MSG_TYPE);");
+        for (Member member : fields) {
+            if (member.required) {
+                source.line(addField(member));
+            } else {
+                source.open("if (" + isSet(member) + ")").line(addField(member)).close();
+            }
+        }
+        source.close();
+    }
+
+    private static String isSet(Member member) {
+        String name = propertyName(member.field.name);
+        switch (member.field.type) {
+            case CHAR:
+            case BOOLEAN:
+            case INT:
+            case FLOAT:
+                return "has" + member.field.name;
+            case UTCTIMESTAMP:
+                return name + "Unit != null";
+            default:
+                return name + " != null";
+        }
+    }
+
+    private static String isMissing(Member member) {
+        String name = propertyName(member.field.name);
+        switch (member.field.type) {
+            case CHAR:
+            case BOOLEAN:
+            case INT:
+            case FLOAT:
+                return "!has" + member.field.name;
+            case UTCTIMESTAMP:
+                return name + "Unit == null";
+            default:
+                return name + " == null";
+        }
+    }
+
+    private static String addField(Member member) {
+        String tag = "Fields." + member.field.name;
+        String name = propertyName(member.field.name);
+        switch (member.field.type) {
+            case CHAR:
+                return "message.addCharField(" + tag + ", " + name + ");";
+            case BOOLEAN:
+                return "message.addBooleanField(" + tag + ", " + name + ");";
+            case INT:
+                return "message.addIntField(" + tag + ", " + name + ");";
+            case FLOAT:
+                return "message.addDecimalField(" + tag + ", " + name + "Mantissa, " + name + "Scale);";
+            case UTCTIMESTAMP:
+                return "message.addTimestamp(" + tag + ", " + name + ", " + name + "Unit);";
+            default:
+                return "message.addCharSequenceField(" + tag + ", " + name + ");";
+        }
+    }
+}
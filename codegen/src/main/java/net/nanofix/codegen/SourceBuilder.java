@@ -0,0 +1,62 @@
+package net.nanofix.codegen;
+
+/**
+ * Builds a Java source file line by line, indenting by four spaces inside each block opened.
+ */
+final class SourceBuilder {
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder source = new StringBuilder(4096);
+    private int depth;
+
+    /**
+     * Adds a line at the current indent, or an empty line for an empty string.
+     */
+    SourceBuilder line(String line) {
+        if (!line.isEmpty()) {
+            for (int i = 0; i < depth; i++) {
+                source.append(INDENT);
+            }
+            source.append(line);
+        }
+        source.append('\n');
+        return this;
+    }
+
+    /**
+     * Adds a line ending in an opening brace and indents the lines after it.
+     */
+    SourceBuilder open(String line) {
+        line(line + " {");
+        depth++;
+        return this;
+    }
+
+    /**
+     * Closes the innermost block.
+     */
+    SourceBuilder close() {
+        depth--;
+        return line("}");
+    }
+
+    /**
+     * Adds a Javadoc comment of one paragraph per line, block tags such as @throws last.
+     */
+    SourceBuilder javadoc(String... paragraphs) {
+        line("/**");
+        for (int i = 0; i < paragraphs.length; i++) {
+            if (i > 0) {
+                line(paragraphs[i].startsWith("@") ? " *" : " * <p>");
+            }
+            line(" * " + paragraphs[i]);
+        }
+        return line(" */");
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+}
@@ -0,0 +1,178 @@
+package net.nanofix.codegen;
+
+import io.nano.core.buffer.ByteBufferUtil;
+import net.nanofix.message.BeginStrings;
+import net.nanofix.message.DecodedFIXMessage;
+import net.nanofix.message.FIXMessage;
+import net.nanofix.message.MessageHeader;
+import net.nanofix.message.NanoFIXMessage;
+import net.nanofix.message.NanoFIXMessageDecoder;
+import net.nanofix.util.ByteString;
+import net.nanofix.util.Decimal;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+class CodeGeneratorTest {
+
+    private static final String PACKAGE_NAME = "net.nanofix.generated";
+
+    private CodeGenerator generator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        generator = new CodeGenerator(DictionaryModelTest.fix44(), PACKAGE_NAME);
+    }
+
+    @Test
+    void generatesFieldsAndACodecPerMessage() {
+        Map<String, String> sources = generator.generate();
+        Assertions.assertThat(new ArrayList<>(sources.keySet())).containsExactly("Fields",
+                "HeartbeatEncoder", "HeartbeatDecoder", "LogonEncoder", "LogonDecoder",
+                "NewOrderSingleEncoder", "NewOrderSingleDecoder",
+                "AllocationInstructionAckEncoder", "AllocationInstructionAckDecoder");
+        Assertions.assertThat(sources.get("Fields")).contains("public static final int ClOrdID = 11;");
+        // repeating groups are not encoded
+        Assertions.assertThat(sources.get("NewOrderSingleEncoder")).doesNotContain("NoPartyIDs");
+    }
+
+    @Test
+    void invalidPackageName() {
+        Assertions.assertThatThrownBy(() -> new CodeGenerator(DictionaryModelTest.fix44(), "net.nanofix.new"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        ClassLoader classLoader = compile();
+        Object encoder = classLoader.loadClass(PACKAGE_NAME + ".NewOrderSingleEncoder").newInstance();
+        invoke(encoder, "clOrdID", new StringBuilder("ORDER-").append(1));
+        invoke(encoder, "symbol", "VOD.L");
+        invoke(encoder, "side", '1');
+        invoke(encoder, "transactTime", 1_500L, TimeUnit.MILLISECONDS);
+        invoke(encoder, "ordType", '2');
+        invoke(encoder, "price", new Decimal(10125, 2));
+        FIXMessage fixMessage = newMessage(ByteBuffer.allocate(256));
+        invoke(encoder, "encode", fixMessage);
+        byte[] bytes = ByteBufferUtil.asByteArray(fixMessage.buffers());
+        Assertions.assertThat(new String(bytes, StandardCharsets.US_ASCII).replace('\u0001', '|'))
+                .contains("|35=D|")
+                .contains("|11=ORDER-1|55=VOD.L|54=1|60=19700101-00:00:01.500|40=2|44=101.25|10=");
+
+        DecodedFIXMessage message = new DecodedFIXMessage();
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        buffer.put(bytes);
+        new NanoFIXMessageDecoder().decode(buffer, message);
+        Assertions.assertThat(message.isComplete()).isTrue();
+        Object decoder = classLoader.loadClass(PACKAGE_NAME + ".NewOrderSingleDecoder").newInstance();
+        Assertions.assertThat(invoke(null, decoder.getClass(), "isMsgType", message)).isEqualTo(true);
+        invoke(decoder, "wrap", message);
+        Assertions.assertThat(invoke(decoder, "clOrdIDEquals", ByteString.of("ORDER-1"))).isEqualTo(true);
+        StringBuilder symbol = new StringBuilder();
+        invoke(decoder, "symbol", symbol);
+        Assertions.assertThat(symbol.toString()).isEqualTo("VOD.L");
+        Assertions.assertThat(invoke(decoder, "side")).isEqualTo('1');
+        Assertions.assertThat(invoke(decoder, "transactTime")).isEqualTo(1_500L);
+        Assertions.assertThat(invoke(decoder, "price", new Decimal())).isEqualTo(new Decimal(10125, 2));
+        Assertions.assertThat(invoke(decoder, "hasOrderQty")).isEqualTo(false);
+    }
+
+    @Test
+    void missingRequiredFieldAddsNothing() throws Exception {
+        Object encoder = compile().loadClass(PACKAGE_NAME + ".LogonEncoder").newInstance();
+        invoke(encoder, "heartBtInt", 30);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        Assertions.assertThatThrownBy(() -> invoke(encoder, "encode", newMessage(buffer)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Required field EncryptMethod(98) has no value");
+        Assertions.assertThat(buffer.position()).isEqualTo(0);
+
+        invoke(encoder, "encryptMethod", 0);
+        invoke(encoder, "resetSeqNumFlag", true);
+        invoke(encoder, "encode", newMessage(buffer));
+        invoke(encoder, "reset");
+        Assertions.assertThatThrownBy(() -> invoke(encoder, "encode", newMessage(buffer)))
+                .isInstanceOf(IllegalStateException.class);
+        String body = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+        Assertions.assertThat(body.replace('\u0001', '|')).isEqualTo("98=0|108=30|141=Y|");
+    }
+
+    /**
+     * Writes the generated sources and compiles them against nanofix-core.
+     */
+    private ClassLoader compile() throws Exception {
+        Path directory = Files.createTempDirectory("nanofix-codegen");
+        generator.writeTo(directory);
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-d");
+        arguments.add(directory.toString());
+        arguments.add("-classpath");
+        arguments.add(Paths.get(FIXMessage.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+        arguments.addAll(Files.walk(directory).map(Path::toString).filter(path -> path.endsWith(".java"))
+                .collect(Collectors.toList()));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assertions.assertThat(compiler.run(null, null, null, arguments.toArray(new String[0]))).isEqualTo(0);
+        return new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private static FIXMessage newMessage(ByteBuffer buffer) {
+        MessageHeader header = new MessageHeader(ByteBuffer.allocate(256));
+        header.beginString(BeginStrings.FIX_4_4);
+        header.senderCompId(ByteString.of("CLIENT"));
+        header.targetCompId(ByteString.of("BROKER"));
+        header.msgSeqNum(1);
+        header.sendingTime(0);
+        return new NanoFIXMessage(header, buffer);
+    }
+
+    private static Object invoke(Object target, String name, Object... args) throws Exception {
+        return invoke(target, target.getClass(), name, args);
+    }
+
+    /**
+     * Calls the public method of the generated class whose parameters take the arguments.
+     */
+    private static Object invoke(Object target, Class<?> type, String name, Object... args) throws Exception {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && accepts(method.getParameterTypes(), args)) {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        }
+        throw new NoSuchMethodException(type.getSimpleName() + "." + name);
+    }
+
+    private static boolean accepts(Class<?>[] parameterTypes, Object[] args) {
+        if (parameterTypes.length != args.length) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Class<?> parameterType = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+            if (!parameterType.isInstance(args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package net.nanofix.codegen;
+
+import net.nanofix.codegen.DictionaryModel.Member;
+import net.nanofix.codegen.DictionaryModel.Message;
+import net.nanofix.message.dictionary.FieldType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class DictionaryModelTest {
+
+    @Test
+    void messagesInDictionaryOrder() throws Exception {
+        DictionaryModel model = fix44();
+        Assertions.assertThat(model.beginString()).isEqualTo("FIX.4.4");
+        Assertions.assertThat(model.messages().stream().map(message -> message.name).collect(Collectors.toList()))
+                .containsExactly("Heartbeat", "Logon", "NewOrderSingle", "AllocationInstructionAck");
+        Assertions.assertThat(model.message("AllocationInstructionAck").msgType).isEqualTo("AS");
+        Assertions.assertThat(model.message("Logout")).isNull();
+    }
+
+    @Test
+    void componentsAreExpandedInPlace() throws Exception {
+        Message newOrder = fix44().message("NewOrderSingle");
+        Assertions.assertThat(names(newOrder.members)).containsExactly("ClOrdID", "NoPartyIDs", "Symbol",
+                "SecurityID", "MaturityMonthYear", "Side", "TransactTime", "OrderQty", "OrdType", "Price");
+        Assertions.assertThat(newOrder.members.stream().map(member -> member.required).collect(Collectors.toList()))
+                .containsExactly(true, false, true, false, false, true, true, false, true, false);
+    }
+
+    @Test
+    void groupsKeepTheirMembers() throws Exception {
+        Member parties = fix44().message("NewOrderSingle").members.get(1);
+        Assertions.assertThat(parties.isGroup()).isTrue();
+        Assertions.assertThat(names(parties.members)).containsExactly("PartyID", "PartyIDSource", "PartyRole");
+        // required within each entry of the group
+        Assertions.assertThat(parties.members.get(0).required).isTrue();
+    }
+
+    @Test
+    void fieldTypes() throws Exception {
+        Message newOrder = fix44().message("NewOrderSingle");
+        Assertions.assertThat(newOrder.members.get(7).field.dictionaryType).isEqualTo("QTY");
+        Assertions.assertThat(newOrder.members.get(7).field.type).isEqualTo(FieldType.FLOAT);
+        Assertions.assertThat(newOrder.members.get(5).field.type).isEqualTo(FieldType.CHAR);
+    }
+
+    @Test
+    void invalidDictionaries() {
+        Assertions.assertThatThrownBy(() -> load("<fix major='4' minor='4'><fields/><messages>"
+                + "<message name='Logon' msgtype='A'><field name='HeartBtInt' required='Y'/></message>"
+                + "</messages></fix>"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field HeartBtInt");
+        Assertions.assertThatThrownBy(() -> load("<fix major='4' minor='4'>"
+                + "<fields><field number='108' name='Heart-Bt-Int' type='INT'/></fields><messages/></fix>"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Name 'Heart-Bt-Int' is not a Java identifier");
+        Assertions.assertThatThrownBy(() -> load("<fix major='4' minor='4'><fields/></fix>"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Dictionary must have a messages element");
+    }
+
+    static DictionaryModel fix44() throws IOException {
+        try (InputStream in = DictionaryModelTest.class.getResourceAsStream("/FIX44-test.xml")) {
+            return DictionaryModel.load(in);
+        }
+    }
+
+    private static List<String> names(List<Member> members) {
+        return members.stream().map(member -> member.field.name).collect(Collectors.toList());
+    }
+
+    private static DictionaryModel load(String xml) throws IOException {
+        return DictionaryModel.load(new ByteArrayInputStream(xml.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -7,6 +7,7 @@ public final class ByteBufferUtil2 {
 
     private static final byte[] CHECKSUM_BYTE_SUFFIX = new byte[]{'0', '1', '0', '='};
     public static final int NOT_FOUND_INDEX = -1;
+    private static final long LONG_OVERFLOW_LIMIT = Long.MAX_VALUE / 10;
 
     private ByteBufferUtil2() {
         // can't touch this
@@ -108,6 +109,62 @@ public final class ByteBufferUtil2 {
         return number;
     }
 
+    /**
+     * Parses the tag number, assumes the bytes are all digits.
+     */
+    public static int toTag(ByteBuffer buffer, int tagIndex, int tagLen) {
+        int tag = 0;
+        for (int index = tagIndex; index < tagIndex + tagLen; index++) {
+            tag = tag * 10 + buffer.get(index) - '0';
+        }
+        return tag;
+    }
+
+    /**
+     * Parses an optionally negative whole number, the tag is only used in the exception message.
+     *
+     * @throws NumberFormatException when the value is empty, not all digits or out of long range
+     */
+    public static long parseLong(ByteBuffer buffer, int index, int len, int tag) {
+        int end = index + len;
+        boolean negative = len > 0 && buffer.get(index) == '-';
+        if (negative) {
+            index++;
+        }
+        if (index == end) {
+            throw new NumberFormatException("Number expected for tag " + tag);
+        }
+        long number = 0L;
+        for (; index < end; index++) {
+            int digit = buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Number expected for tag " + tag);
+            }
+            if (number > LONG_OVERFLOW_LIMIT) {
+                throw new NumberFormatException("Number out of long range for tag " + tag);
+            }
+            number = number * 10 + digit;
+        }
+        if (number < 0) {
+            // the last digit took it past Long.MAX_VALUE
+            throw new NumberFormatException("Number out of long range for tag " + tag);
+        }
+        return negative ? -number : number;
+    }
+
+    /**
+     * Parses an optionally negative whole number that must fit in an int.
+     *
+     * @throws NumberFormatException when the value is empty, not all digits or out of int range
+     */
+    public static int parseInt(ByteBuffer buffer, int index, int len, int tag) {
+        long number = parseLong(buffer, index, len, tag);
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Number out of int range for tag " + tag);
+        }
+        return (int) number;
+    }
+
     public static void putBytes(ByteBuffer buffer, byte[] bytes) {
         buffer.put(bytes, 0, bytes.length);
     }
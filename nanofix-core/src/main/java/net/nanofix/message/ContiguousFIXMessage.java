@@ -0,0 +1,132 @@
+package net.nanofix.message;
+
+import net.nanofix.message.util.ChecksumCalculator;
+import net.nanofix.message.util.NumberWriter;
+import net.nanofix.util.ByteString;
+import net.nanofix.util.FIXBytes;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Builds the whole message in one buffer so it can be sent with a single write, where
+ * NanoFIXMessage needs a gathering write of three buffers.
+ * <p>
+ * The header is written from the MessageHeader values when the first field is added to the
+ * cleared buffer, reserving enough BodyLength digits for the capacity of the buffer. buffers()
+ * then writes the actual BodyLength right aligned in the reserved digits and moves the
+ * 8=BeginString|9= prefix up against it, so the message starts at messageStart() rather than 0.
+ * The checksum comes from the running sum kept while the fields were written.
+ */
+public class ContiguousFIXMessage extends FixMessageAssembler implements FIXMessage {
+
+    private final MessageHeader header;
+    private final ByteBuffer messageBuffer;
+    private final ByteBuffer[] buffers;
+    private final int bodyLengthDigits;
+
+    // the 8=BeginString|9= prefix written at the start of the buffer
+    private int prefixLength;
+    private int messageStart;
+
+    /**
+     * @param header only used for its values, its buffers are not written
+     */
+    public ContiguousFIXMessage(MessageHeader header, ByteBuffer buffer) {
+        super(buffer);
+        this.header = header;
+        this.messageBuffer = buffer.duplicate();
+        this.buffers = new ByteBuffer[]{messageBuffer};
+        this.bodyLengthDigits = NumberWriter.length(buffer.capacity());
+    }
+
+    @Override
+    public MessageHeader header() {
+        return header;
+    }
+
+    @Override
+    public MsgType msgType() {
+        return header.msgType();
+    }
+
+    /**
+     * Completes the message and returns a single buffer holding it from its position to its limit,
+     * ready to be written. Unlike NanoFIXMessage the buffer is not to be flipped.
+     */
+    @Override
+    public ByteBuffer[] buffers() {
+        beginField();
+        int end = buffer.position();
+        int bodyStart = prefixLength + bodyLengthDigits + 1;
+        int bodyLength = end - bodyStart;
+
+        // BodyLength right aligned against its SOH
+        int digits = NumberWriter.length(bodyLength);
+        buffer.position(bodyStart - 1 - digits);
+        int bodyLengthSum = NumberWriter.putInt(buffer, bodyLength);
+
+        // then the prefix moved up to meet it, backwards as the two may overlap
+        messageStart = bodyStart - 1 - digits - prefixLength;
+        if (messageStart > 0) {
+            for (int index = prefixLength - 1; index >= 0; index--) {
+                buffer.put(messageStart + index, buffer.get(index));
+            }
+        }
+        buffer.position(end);
+
+        // the running sum has the reserved zeros in place of the digits
+        int checksum = checksum() - bodyLengthDigits * '0' + bodyLengthSum;
+        addBytesField(Tags.CheckSum, ChecksumCalculator.checksumBytes(checksum));
+
+        messageBuffer.limit(buffer.position());
+        messageBuffer.position(messageStart);
+        return buffers;
+    }
+
+    /**
+     * The index of the first byte of the message, valid after buffers().
+     */
+    public int messageStart() {
+        return messageStart;
+    }
+
+    /**
+     * Writes the header ahead of the first field of a message.
+     */
+    @Override
+    protected void beginField() {
+        if (buffer.position() == 0) {
+            // restarts the running sum
+            super.beginField();
+            writeHeader();
+        }
+        super.beginField();
+    }
+
+    private void writeHeader() {
+        int sum = addBytesWithDelimiters(buffer, Tags.BeginString, header.beginString().bytes());
+        sum += NumberWriter.putTag(buffer, Tags.BodyLength);
+        prefixLength = buffer.position();
+        for (int i = 0; i < bodyLengthDigits; i++) {
+            buffer.put((byte) '0');
+        }
+        buffer.put(FIXBytes.SOH);
+        endField(sum + bodyLengthDigits * '0' + FIXBytes.SOH);
+
+        addStringField(Tags.MsgType, header.msgType());
+        addStringField(Tags.SenderCompID, header.senderCompId());
+        addStringField(Tags.TargetCompID, header.targetCompId());
+        addOptionalStringField(Tags.SenderSubID, header.senderSubId());
+        addOptionalStringField(Tags.TargetSubID, header.targetSubId());
+        addOptionalStringField(Tags.OnBehalfOfCompID, header.onBehalfOfCompId());
+        addOptionalStringField(Tags.DeliverToCompID, header.deliverToCompId());
+        addIntField(Tags.MsgSeqNum, header.msgSeqNum());
+        addTimestamp(Tags.SendingTime, header.sendingTime(), header.sendingTimeUnit());
+    }
+
+    private void addOptionalStringField(int tag, ByteString value) {
+        if (value != null) {
+            addStringField(tag, value);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.nanofix.message;
+
+/**
+ * The pairs of length and data tags, e.g. XmlDataLen(212) and XmlData(213), where the value of
+ * the data field is raw bytes that may include SOH and its length is given by the field before it.
+ * <p>
+ * The decoder uses these to jump over a data value in one step rather than scanning it for SOH,
+ * but only when the data field comes straight after its length field, as FIX requires. Immutable
+ * so can be shared between decoders.
+ */
+public final class DataFields {
+
+    private static final int NOT_A_LENGTH_TAG = 0;
+
+    /**
+     * The length and data fields of FIX 4.0 to 5.0.
+     */
+    public static final DataFields STANDARD = new DataFields(
+            Tags.SignatureLength, Tags.Signature,
+            Tags.SecureDataLen, Tags.SecureData,
+            Tags.RawDataLength, Tags.RawData,
+            Tags.XmlDataLen, Tags.XmlData,
+            Tags.EncodedIssuerLen, Tags.EncodedIssuer,
+            Tags.EncodedSecurityDescLen, Tags.EncodedSecurityDesc,
+            Tags.EncodedListExecInstLen, Tags.EncodedListExecInst,
+            Tags.EncodedTextLen, Tags.EncodedText,
+            Tags.EncodedSubjectLen, Tags.EncodedSubject,
+            Tags.EncodedHeadlineLen, Tags.EncodedHeadline,
+            Tags.EncodedAllocTextLen, Tags.EncodedAllocText,
+            Tags.EncodedUnderlyingIssuerLen, Tags.EncodedUnderlyingIssuer,
+            Tags.EncodedUnderlyingSecurityDescLen, Tags.EncodedUnderlyingSecurityDesc,
+            Tags.EncodedListStatusTextLen, Tags.EncodedListStatusText,
+            Tags.EncodedLegIssuerLen, Tags.EncodedLegIssuer,
+            Tags.EncodedLegSecurityDescLen, Tags.EncodedLegSecurityDesc);
+
+    /**
+     * No data fields, every value is scanned for SOH.
+     */
+    public static final DataFields NONE = new DataFields();
+
+    // data tag of each length tag, indexed by tag number
+    private final int[] dataTags;
+
+    /**
+     * @param lengthAndDataTags each length tag followed by the data tag it gives the length of
+     */
+    public DataFields(int... lengthAndDataTags) {
+        if (lengthAndDataTags.length % 2 != 0) {
+            throw new IllegalArgumentException("Argument 'lengthAndDataTags' must hold pairs of tags");
+        }
+        int maxTag = 0;
+        for (int tag : lengthAndDataTags) {
+            if (tag <= 0) {
+                throw new IllegalArgumentException("Invalid tag " + tag);
+            }
+            maxTag = Math.max(maxTag, tag);
+        }
+        int[] tags = new int[maxTag + 1];
+        for (int i = 0; i < lengthAndDataTags.length; i += 2) {
+            int lengthTag = lengthAndDataTags[i];
+            if (tags[lengthTag] != NOT_A_LENGTH_TAG) {
+                throw new IllegalArgumentException("Length tag " + lengthTag + " appears twice");
+            }
+            tags[lengthTag] = lengthAndDataTags[i + 1];
+        }
+        this.dataTags = tags;
+    }
+
+    public boolean isLengthTag(int tag) {
+        return dataTag(tag) != NOT_A_LENGTH_TAG;
+    }
+
+    /**
+     * The tag of the data field whose length is given by the length tag, or 0 when not a length tag.
+     */
+    public int dataTag(int lengthTag) {
+        return lengthTag >= 0 && lengthTag < dataTags.length ? dataTags[lengthTag] : NOT_A_LENGTH_TAG;
+    }
+}
@@ -0,0 +1,294 @@
+package net.nanofix.message;
+
+import net.nanofix.field.FieldNames;
+import net.nanofix.time.UtcTimestampDecoder;
+import net.nanofix.util.ByteString;
+import net.nanofix.util.ByteStringPool;
+import net.nanofix.util.Decimal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A reusable flyweight over a decoded message, filled in by passing it to the decoder as the
+ * MessageDecodeHandler. For each tag the index and length of its value in the buffer are kept
+ * in primitive arrays indexed by tag number, so looking up a field is O(1) and nothing is
+ * allocated. Values are only parsed when one of the getters is called.
+ * <p>
+ * Tags up to FieldNames.MAX_FIELD_NUM are held directly, any above that (e.g. user defined
+ * fields) go in a small overflow table. Only the first occurrence of a tag is kept.
+ * <p>
+ * Rather than clearing the arrays for each message a generation number is stored with each
+ * field, a new message starting at BeginString(8) simply moves on to the next generation.
+ * The arrays are only cleared when the generation number wraps.
+ * The view is only valid while the underlying buffer is unchanged.
+ * <p>
+ * The getters allocate nothing apart from getData(tag), which makes a new view of the buffer for
+ * each call, getData(tag, view) repositions a view kept by the caller instead.
+ */
+public class DecodedFIXMessage implements MessageDecodeHandler, FieldValues {
+
+    private static final int MAX_TAG = FieldNames.MAX_FIELD_NUM;
+    private static final int INITIAL_OVERFLOW_CAPACITY = 16;
+
+    private final int[] generations = new int[MAX_TAG + 1];
+    private final int[] valueIndexes = new int[MAX_TAG + 1];
+    private final int[] valueLengths = new int[MAX_TAG + 1];
+
+    private int[] overflowTags = new int[INITIAL_OVERFLOW_CAPACITY];
+    private int[] overflowValueIndexes = new int[INITIAL_OVERFLOW_CAPACITY];
+    private int[] overflowValueLengths = new int[INITIAL_OVERFLOW_CAPACITY];
+    private int overflowCount;
+
+    // keeps the last date seen, which rarely changes between messages
+    private final UtcTimestampDecoder timestampDecoder = new UtcTimestampDecoder();
+
+    private int generation = 1;
+    private int fieldCount;
+    private String error;
+    private ByteBuffer buffer;
+
+    /**
+     * Forget all the fields, the next message starts a new generation.
+     */
+    public void reset() {
+        if (++generation == 0) {
+            // wrapped, so older marks could be taken for this message
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+        overflowCount = 0;
+        fieldCount = 0;
+        error = null;
+    }
+
+    // lets a test reach the wrap without decoding 2^32 messages
+    void generation(int generation) {
+        this.generation = generation;
+    }
+
+    @Override
+    public void onMessageStart(ByteBuffer buffer, int messageIndex) {
+        reset();
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void onTag(ByteBuffer buffer, int tagIndex, int tagLen, int valueLen) {
+        int tag = ByteBufferUtil2.toTag(buffer, tagIndex, tagLen);
+        if (tag == Tags.BeginString) {
+            reset();
+            this.buffer = buffer;
+        }
+        int valueIndex = tagIndex + tagLen + 1;
+        if (tag >= 0 && tag <= MAX_TAG) {
+            if (generations[tag] != generation) {
+                generations[tag] = generation;
+                valueIndexes[tag] = valueIndex;
+                valueLengths[tag] = valueLen;
+            }
+        } else if (overflowIndexOf(tag) < 0) {
+            addOverflow(tag, valueIndex, valueLen);
+        }
+        fieldCount++;
+    }
+
+    @Override
+    public void onError(int index, String message) {
+        this.error = message;
+    }
+
+    @Override
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * True once the CheckSum field has been decoded, which a projection never passes on.
+     */
+    @Override
+    public boolean isComplete() {
+        return generations[Tags.CheckSum] == generation;
+    }
+
+    /**
+     * The number of fields in the message, including repeated tags.
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * The decoder error for the message, or null when it decoded cleanly.
+     */
+    public String error() {
+        return error;
+    }
+
+    public boolean hasField(int tag) {
+        if (tag >= 0 && tag <= MAX_TAG) {
+            return generations[tag] == generation;
+        }
+        return overflowIndexOf(tag) >= 0;
+    }
+
+    /**
+     * The index of the field value in the buffer, or -1 when the field is not present.
+     */
+    @Override
+    public int valueIndex(int tag) {
+        if (tag >= 0 && tag <= MAX_TAG) {
+            return generations[tag] == generation ? valueIndexes[tag] : -1;
+        }
+        int overflowIndex = overflowIndexOf(tag);
+        return overflowIndex < 0 ? -1 : overflowValueIndexes[overflowIndex];
+    }
+
+    /**
+     * The length of the field value in the buffer, or -1 when the field is not present.
+     */
+    @Override
+    public int valueLength(int tag) {
+        if (tag >= 0 && tag <= MAX_TAG) {
+            return generations[tag] == generation ? valueLengths[tag] : -1;
+        }
+        int overflowIndex = overflowIndexOf(tag);
+        return overflowIndex < 0 ? -1 : overflowValueLengths[overflowIndex];
+    }
+
+    public int getInt(int tag) throws MissingFieldException {
+        return ByteBufferUtil2.parseInt(buffer, requiredValueIndex(tag), valueLength(tag), tag);
+    }
+
+    public long getLong(int tag) throws MissingFieldException {
+        return ByteBufferUtil2.parseLong(buffer, requiredValueIndex(tag), valueLength(tag), tag);
+    }
+
+    public boolean getBoolean(int tag) throws MissingFieldException {
+        int index = requiredValueIndex(tag);
+        if (valueLength(tag) == 1) {
+            byte value = buffer.get(index);
+            if (value == FIXConstants.FIX_TRUE) return true;
+            if (value == FIXConstants.FIX_FALSE) return false;
+        }
+        throw new IllegalArgumentException("Boolean value (Y/N) expected for tag " + tag);
+    }
+
+    /**
+     * The value of a single char field, e.g. Side(54).
+     */
+    public char getChar(int tag) throws MissingFieldException {
+        int index = requiredValueIndex(tag);
+        if (valueLength(tag) != 1) {
+            throw new IllegalArgumentException("Single char value expected for tag " + tag);
+        }
+        return (char) (buffer.get(index) & 0xFF);
+    }
+
+    /**
+     * UTCTimestamp field value as epoch millis.
+     */
+    public long getTimestamp(int tag) throws MissingFieldException {
+        return timestampDecoder.decodeMillis(buffer, requiredValueIndex(tag), valueLength(tag));
+    }
+
+    /**
+     * UTCTimestamp field value, to any precision down to nanoseconds, as epoch nanos.
+     */
+    public long getTimestampNanos(int tag) throws MissingFieldException {
+        return timestampDecoder.decode(buffer, requiredValueIndex(tag), valueLength(tag));
+    }
+
+    /**
+     * Parses the field value into the given decimal, which is returned.
+     */
+    public Decimal getDecimal(int tag, Decimal decimal) throws MissingFieldException {
+        return decimal.parse(buffer, requiredValueIndex(tag), valueLength(tag));
+    }
+
+    /**
+     * Whether the field is present with the same bytes as the value, compared in place.
+     */
+    public boolean valueEquals(int tag, ByteString value) {
+        int index = valueIndex(tag);
+        return index >= 0 && value.contentEquals(buffer, index, valueLength(tag));
+    }
+
+    /**
+     * The field value as the canonical ByteString from the pool, only allocated the first time it is seen.
+     */
+    public ByteString getByteString(int tag, ByteStringPool pool) throws MissingFieldException {
+        return pool.intern(buffer, requiredValueIndex(tag), valueLength(tag));
+    }
+
+    /**
+     * Appends the field value to the given Appendable, one char per byte as ISO-8859-1.
+     */
+    public void getChars(int tag, Appendable appendable) throws MissingFieldException {
+        int index = requiredValueIndex(tag);
+        int end = index + valueLength(tag);
+        try {
+            for (; index < end; index++) {
+                appendable.append((char) (buffer.get(index) & 0xFF));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A read-only slice of the buffer holding the field value, e.g. the payload of XmlData(213),
+     * so the value is not copied. Only valid while the underlying buffer is unchanged.
+     */
+    public ByteBuffer getData(int tag) throws MissingFieldException {
+        int index = requiredValueIndex(tag);
+        ByteBuffer data = buffer.asReadOnlyBuffer();
+        data.limit(index + valueLength(tag));
+        data.position(index);
+        return data.slice();
+    }
+
+    /**
+     * Sets the position and limit of the view to the field value, for callers reading data fields
+     * on every message. The view must share the indexes of the decoded buffer, e.g. one made once
+     * with duplicate() or asReadOnlyBuffer().
+     *
+     * @return the view
+     */
+    public ByteBuffer getData(int tag, ByteBuffer view) throws MissingFieldException {
+        int index = requiredValueIndex(tag);
+        view.limit(index + valueLength(tag));
+        view.position(index);
+        return view;
+    }
+
+    private int requiredValueIndex(int tag) throws MissingFieldException {
+        int index = valueIndex(tag);
+        if (index < 0) {
+            throw new MissingFieldException(tag, "Field " + tag + " not found in message");
+        }
+        return index;
+    }
+
+    private int overflowIndexOf(int tag) {
+        for (int i = 0; i < overflowCount; i++) {
+            if (overflowTags[i] == tag) return i;
+        }
+        return -1;
+    }
+
+    private void addOverflow(int tag, int valueIndex, int valueLen) {
+        if (overflowCount == overflowTags.length) {
+            int capacity = overflowCount * 2;
+            overflowTags = Arrays.copyOf(overflowTags, capacity);
+            overflowValueIndexes = Arrays.copyOf(overflowValueIndexes, capacity);
+            overflowValueLengths = Arrays.copyOf(overflowValueLengths, capacity);
+        }
+        overflowTags[overflowCount] = tag;
+        overflowValueIndexes[overflowCount] = valueIndex;
+        overflowValueLengths[overflowCount] = valueLen;
+        overflowCount++;
+    }
+}
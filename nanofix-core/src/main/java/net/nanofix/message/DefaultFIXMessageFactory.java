@@ -1,9 +1,11 @@
 package net.nanofix.message;
 
 import net.nanofix.settings.SessionSettings;
+import net.nanofix.time.EpochClock;
+import net.nanofix.time.SystemEpochClock;
 import net.nanofix.util.ByteString;
-import net.nanofix.util.DateTimeGenerator;
-import net.nanofix.util.DefaultTimeGenerator;
+
+import java.nio.ByteBuffer;
 
 /**
  * Created by IntelliJ IDEA.
@@ -13,27 +15,31 @@ import net.nanofix.util.DefaultTimeGenerator;
  */
 public class DefaultFIXMessageFactory implements FIXMessageFactory {
 
-    private static final boolean recordTimestamps = true;
+    private static final int HEADER_BUFFER_SIZE = 256;
+    private static final int BODY_BUFFER_SIZE = 1024;
 
     private final SessionSettings settings;
     private final boolean resetSeqNumOnLogon;
     private final MessageKey messageKey;
-    private DateTimeGenerator timeGenerator;
+    private final EpochClock clock;
 
     public DefaultFIXMessageFactory(SessionSettings settings) {
+        this(settings, SystemEpochClock.INSTANCE);
+    }
+
+    public DefaultFIXMessageFactory(SessionSettings settings, EpochClock clock) {
         this.settings = settings;
-        // TODO time generator created by a factory based on settings
         this.messageKey = new MessageKey();
-        this.timeGenerator = new DefaultTimeGenerator();
+        this.clock = clock;
         this.resetSeqNumOnLogon = settings.isResetSeqNumOnLogon();
     }
 
     @Override
     public FIXMessage createMessage() {
-        FIXMessage msg = new NanoFIXMessage(null, null);
-        if (recordTimestamps) {
-            //msg.header().setTimestamp(System.nanoTime());
-        }
+        FIXMessage msg = new NanoFIXMessage(new MessageHeader(ByteBuffer.allocate(HEADER_BUFFER_SIZE)),
+                ByteBuffer.allocate(BODY_BUFFER_SIZE));
+        // stamps the SendingTime when the header is told sendingTimeNow()
+        msg.header().clock(clock);
         return msg;
     }
 
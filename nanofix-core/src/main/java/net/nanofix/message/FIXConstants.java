@@ -28,5 +28,6 @@ public interface FIXConstants {
         public static final long COMPID_PROBLEM = 9L;
         public static final long SIGNATURE_PROBLEM = 8L;
         public static final long INVALID_MSGTYPE = 11L;
+        public static final long TAG_APPEARS_MORE_THAN_ONCE = 13L;
     }
 }
@@ -11,4 +11,12 @@ public interface FIXMessageDecoder {
 
     void decode(ByteBuffer buffer, MessageDecodeHandler visitor);
 
+    /**
+     * Decodes each complete message in the buffer, from index 0 up to the buffer position,
+     * notifying the handler as each message starts and ends.
+     *
+     * @return the number of bytes consumed, any bytes after this are a partial message
+     */
+    int decodeMessages(ByteBuffer buffer, MessageDecodeHandler visitor);
+
 }
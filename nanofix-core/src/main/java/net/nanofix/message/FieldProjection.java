@@ -0,0 +1,95 @@
+package net.nanofix.message;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The set of tags wanted from a message when decoding with a projection, see
+ * NanoFIXMessageDecoder.decode(ByteBuffer, FieldProjection, MessageDecodeHandler).
+ * <p>
+ * Only the first occurrence of each wanted tag is kept, and once all of them have been found the
+ * rest of the message is not split into fields. The projection holds the positions of the fields
+ * found in the current message, so it should only be used by one decoder at a time.
+ */
+public class FieldProjection {
+
+    private final TagSlots slots;
+
+    // positions of the wanted fields found so far, in message order
+    private final int[] tagIndexes;
+    private final int[] tagLengths;
+    private final int[] valueLengths;
+    private final boolean[] found;
+    private int foundCount;
+
+    public FieldProjection(int... tags) {
+        this(asBitSet(tags));
+    }
+
+    public FieldProjection(BitSet tags) {
+        if (tags == null || tags.isEmpty()) {
+            throw new IllegalArgumentException("Argument 'tags' is null or empty");
+        }
+        this.slots = new TagSlots(tags);
+        int size = slots.size();
+        this.tagIndexes = new int[size];
+        this.tagLengths = new int[size];
+        this.valueLengths = new int[size];
+        this.found = new boolean[size];
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public boolean contains(int tag) {
+        return slots.contains(tag);
+    }
+
+    /**
+     * True once every wanted tag has been found in the current message.
+     */
+    boolean isComplete() {
+        return foundCount == slots.size();
+    }
+
+    void clear() {
+        Arrays.fill(found, false);
+        foundCount = 0;
+    }
+
+    /**
+     * Records the field when it is wanted and this is its first occurrence.
+     */
+    void onField(int tag, int tagIndex, int tagLen, int valueLen) {
+        int slot = slots.slot(tag);
+        if (slot == TagSlots.NO_SLOT || found[slot]) {
+            return;
+        }
+        found[slot] = true;
+        tagIndexes[foundCount] = tagIndex;
+        tagLengths[foundCount] = tagLen;
+        valueLengths[foundCount] = valueLen;
+        foundCount++;
+    }
+
+    /**
+     * Passes the fields found to the handler in the order they appear in the message.
+     */
+    void deliver(ByteBuffer buffer, MessageDecodeHandler handler) {
+        for (int i = 0; i < foundCount; i++) {
+            handler.onTag(buffer, tagIndexes[i], tagLengths[i], valueLengths[i]);
+        }
+    }
+
+    private static BitSet asBitSet(int[] tags) {
+        BitSet bitSet = new BitSet();
+        if (tags != null) {
+            for (int tag : tags) {
+                bitSet.set(tag);
+            }
+        }
+        return bitSet;
+    }
+}
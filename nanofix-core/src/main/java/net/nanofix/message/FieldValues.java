@@ -0,0 +1,27 @@
+package net.nanofix.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where the field values of a message are in its buffer, by tag. Only the first occurrence of a tag is seen.
+ */
+public interface FieldValues {
+
+    ByteBuffer buffer();
+
+    /**
+     * The index of the field value in the buffer, or -1 when the field is not present.
+     */
+    int valueIndex(int tag);
+
+    /**
+     * The length of the field value in the buffer, or -1 when the field is not present.
+     */
+    int valueLength(int tag);
+
+    /**
+     * True when every field of the message has been seen, so a field that is not present is absent
+     * from the message rather than not reached yet.
+     */
+    boolean isComplete();
+}
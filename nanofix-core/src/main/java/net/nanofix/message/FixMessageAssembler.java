@@ -1,6 +1,8 @@
 package net.nanofix.message;
 
-import net.nanofix.util.ByteArrayUtil;
+import net.nanofix.message.util.AsciiWriter;
+import net.nanofix.message.util.ChecksumCalculator;
+import net.nanofix.message.util.NumberWriter;
 import net.nanofix.util.ByteString;
 import net.nanofix.util.FIXBytes;
 
@@ -8,32 +10,88 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Writes fields into the buffer, keeping a running sum of the bytes written
+ * so the checksum does not need another pass over the buffer.
  **/
 public class FixMessageAssembler implements MessageAssembler {
 
+    // the shortest entry is its delimiter field, e.g. 1=x|
+    private static final int MIN_GROUP_ENTRY_LENGTH = 4;
+    // an int count
+    private static final int MAX_GROUP_COUNT_DIGITS = 9;
+    private static final int MAX_GROUP_DEPTH = 8;
+
     // possibly use an interface for the buffers !!??
     protected final ByteBuffer buffer;
+    // created on first use, by TimeUnit ordinal
+    private final TimestampWriter[] timestampWriters = new TimestampWriter[TimeUnit.values().length];
+
+    // sum of the bytes in the buffer up to checksumIndex
+    private int checksum;
+    private int checksumIndex;
+
+    // the repeating groups open, innermost last, created on first use
+    private int[] groupFieldIndexes;
+    private int[] groupCountIndexes;
+    private int[] groupCountDigits;
+    private int[] groupEntryCounts;
+    private int groupDepth;
 
     public FixMessageAssembler(ByteBuffer buffer) {
         this.buffer = buffer;
     }
 
+    /**
+     * The sum of all the bytes written to the buffer.
+     */
+    public int checksum() {
+        beginField();
+        return checksum;
+    }
+
     @Override
     public void addBooleanField(int tag, boolean value) {
-        buffer.put(ByteArrayUtil.asByteArray(tag));
-        buffer.put(FIXBytes.EQUALS);
-        buffer.put(value ? FIXBytes.FIX_TRUE : FIXBytes.FIX_FALSE);
+        beginField();
+        int tagSum = NumberWriter.putTag(buffer, tag);
+        byte valueAsByte = value ? FIXBytes.FIX_TRUE : FIXBytes.FIX_FALSE;
+        buffer.put(valueAsByte);
+        buffer.put(FIXBytes.SOH);
+        endField(tagSum + valueAsByte + FIXBytes.SOH);
+    }
+
+    @Override
+    public void addCharField(int tag, char value) {
+        if (value > 0x7F || value == FIXBytes.SOH) {
+            throw new IllegalArgumentException("ASCII char other than SOH expected for tag " + tag);
+        }
+        beginField();
+        int tagSum = NumberWriter.putTag(buffer, tag);
+        buffer.put((byte) value);
         buffer.put(FIXBytes.SOH);
+        endField(tagSum + value + FIXBytes.SOH);
     }
 
     @Override
     public void addIntField(int tag, int value) {
-        addBytesField(tag, ByteArrayUtil.asByteArray(value));
+        addLongField(tag, value);
     }
 
     @Override
     public void addLongField(int tag, long value) {
-        addBytesField(tag, ByteArrayUtil.asByteArray(value));
+        beginField();
+        int sum = NumberWriter.putTag(buffer, tag);
+        sum += NumberWriter.putLong(buffer, value);
+        buffer.put(FIXBytes.SOH);
+        endField(sum + FIXBytes.SOH);
+    }
+
+    @Override
+    public void addDecimalField(int tag, long mantissa, int scale) {
+        beginField();
+        int sum = NumberWriter.putTag(buffer, tag);
+        sum += NumberWriter.putDecimal(buffer, mantissa, scale);
+        buffer.put(FIXBytes.SOH);
+        endField(sum + FIXBytes.SOH);
     }
 
     @Override
@@ -41,27 +99,167 @@ public class FixMessageAssembler implements MessageAssembler {
         addBytesField(tag, value.bytes());
     }
 
+    @Override
+    public void addCharSequenceField(int tag, CharSequence value) {
+        addCharSequenceField(tag, value, 0, value.length());
+    }
+
+    @Override
+    public void addCharSequenceField(int tag, CharSequence value, int start, int end) {
+        beginField();
+        int fieldIndex = buffer.position();
+        int sum = NumberWriter.putTag(buffer, tag);
+        try {
+            sum += AsciiWriter.putAscii(buffer, value, start, end);
+        } catch (RuntimeException e) {
+            // leaves no partial field behind
+            buffer.position(fieldIndex);
+            throw e;
+        }
+        buffer.put(FIXBytes.SOH);
+        endField(sum + FIXBytes.SOH);
+    }
+
     @Override
     public void addTimestamp(int tag, long timestamp, TimeUnit timeUnit) {
-        invokeFunctionWithDelimiters(tag, NanoTimestampWriter.getWriter(timeUnit), timestamp);
+        invokeFunctionWithDelimiters(tag, timestampWriter(timeUnit), timestamp);
+    }
+
+    private TimestampWriter timestampWriter(TimeUnit timeUnit) {
+        TimestampWriter writer = timestampWriters[timeUnit.ordinal()];
+        if (writer == null) {
+            writer = NanoTimestampWriter.getWriter(timeUnit);
+            timestampWriters[timeUnit.ordinal()] = writer;
+        }
+        return writer;
     }
 
     @Override
     public void addBytesField(int tag, byte[] bytes) {
-        addBytesWithDelimiters(buffer, ByteArrayUtil.asByteArray(tag), bytes);
+        beginField();
+        endField(addBytesWithDelimiters(buffer, tag, bytes));
     }
 
-    protected void addBytesWithDelimiters(ByteBuffer buffer, byte[] tagAsBytes, byte[] bytes) {
-        buffer.put(tagAsBytes);
-        buffer.put(FIXBytes.EQUALS);
+    @Override
+    public void beginGroup(int countTag) {
+        beginGroup(countTag, groupCountDigits(buffer.capacity()));
+    }
+
+    /**
+     * Enough digits for as many entries as could fit in the capacity, so a group runs out of
+     * buffer before it runs out of count digits.
+     */
+    static int groupCountDigits(int capacity) {
+        return NumberWriter.length(Math.max(1, capacity / MIN_GROUP_ENTRY_LENGTH));
+    }
+
+    @Override
+    public void beginGroup(int countTag, int countDigits) {
+        if (countDigits < 1 || countDigits > MAX_GROUP_COUNT_DIGITS) {
+            throw new IllegalArgumentException("Count digits must be between 1 and " + MAX_GROUP_COUNT_DIGITS + ": " + countDigits);
+        }
+        beginField();
+        if (groupFieldIndexes == null) {
+            groupFieldIndexes = new int[MAX_GROUP_DEPTH];
+            groupCountIndexes = new int[MAX_GROUP_DEPTH];
+            groupCountDigits = new int[MAX_GROUP_DEPTH];
+            groupEntryCounts = new int[MAX_GROUP_DEPTH];
+        } else if (groupDepth == MAX_GROUP_DEPTH) {
+            throw new IllegalStateException("Repeating groups nested more than " + MAX_GROUP_DEPTH + " deep");
+        }
+        int fieldIndex = buffer.position();
+        int sum = NumberWriter.putTag(buffer, countTag);
+        int countIndex = buffer.position();
+        for (int i = 0; i < countDigits; i++) {
+            buffer.put((byte) '0');
+        }
+        buffer.put(FIXBytes.SOH);
+        endField(sum + countDigits * '0' + FIXBytes.SOH);
+
+        groupFieldIndexes[groupDepth] = fieldIndex;
+        groupCountIndexes[groupDepth] = countIndex;
+        groupCountDigits[groupDepth] = countDigits;
+        groupEntryCounts[groupDepth] = 0;
+        groupDepth++;
+    }
+
+    @Override
+    public void beginGroupEntry() {
+        int group = innermostGroup();
+        int count = ++groupEntryCounts[group];
+        if (NumberWriter.length(count) > groupCountDigits[group]) {
+            throw new IllegalStateException("More than " + (count - 1) + " entries in a repeating group with "
+                    + groupCountDigits[group] + " count digits reserved");
+        }
+    }
+
+    @Override
+    public int endGroup() {
+        int group = innermostGroup();
+        groupDepth--;
+        int count = groupEntryCounts[group];
+        int countIndex = groupCountIndexes[group];
+        int countDigits = groupCountDigits[group];
+        if (count > 0) {
+            // patched in place, so the running sum swaps the reserved zeros for the digits
+            checksum += NumberWriter.putZeroPadded(buffer, countIndex, count, countDigits) - countDigits * '0';
+        } else {
+            int fieldIndex = groupFieldIndexes[group];
+            if (buffer.position() != countIndex + countDigits + 1) {
+                throw new IllegalStateException("Fields added to a repeating group without beginGroupEntry()");
+            }
+            checksum -= ChecksumCalculator.sum(buffer, fieldIndex, buffer.position());
+            buffer.position(fieldIndex);
+            checksumIndex = fieldIndex;
+        }
+        return count;
+    }
+
+    private int innermostGroup() {
+        beginField();
+        if (groupDepth == 0) {
+            throw new IllegalStateException("No repeating group open");
+        }
+        return groupDepth - 1;
+    }
+
+    /**
+     * @return the sum of the bytes written
+     */
+    protected int addBytesWithDelimiters(ByteBuffer buffer, int tag, byte[] bytes) {
+        int tagSum = NumberWriter.putTag(buffer, tag);
         buffer.put(bytes);
         buffer.put(FIXBytes.SOH);
+        return tagSum + ChecksumCalculator.sum(bytes) + FIXBytes.SOH;
     }
 
     protected void invokeFunctionWithDelimiters(int tag, TimestampWriter writer, long timestamp) {
-        buffer.put(ByteArrayUtil.asByteArray(tag));
-        buffer.put(FIXBytes.EQUALS);
-        writer.accept(buffer, timestamp);
+        beginField();
+        int sum = NumberWriter.putTag(buffer, tag);
+        sum += writer.put(buffer, timestamp);
         buffer.put(FIXBytes.SOH);
+        endField(sum + FIXBytes.SOH);
+    }
+
+    /**
+     * Called before a field is written. If the buffer has been cleared, or written to
+     * directly, since the last field the running sum is brought back in line with it,
+     * and any repeating groups left open are forgotten.
+     */
+    protected void beginField() {
+        int index = buffer.position();
+        if (index != checksumIndex) {
+            checksum = ChecksumCalculator.sum(buffer, 0, index);
+            checksumIndex = index;
+            groupDepth = 0;
+        }
+    }
+
+    /**
+     * Called after a field has been written with the sum of its bytes.
+     */
+    protected void endField(int fieldChecksum) {
+        checksum += fieldChecksum;
+        checksumIndex = buffer.position();
     }
 }
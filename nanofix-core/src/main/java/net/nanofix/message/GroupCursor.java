@@ -0,0 +1,302 @@
+package net.nanofix.message;
+
+import net.nanofix.message.util.DelimiterScanner;
+import net.nanofix.util.Decimal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static net.nanofix.message.ByteBufferUtil2.NOT_FOUND_INDEX;
+import static net.nanofix.util.FIXBytes.EQUALS;
+import static net.nanofix.util.FIXBytes.SOH;
+
+/**
+ * A reusable cursor over the entries of a repeating group, decoded in place using a GroupLayout.
+ * <pre>
+ * cursor.wrap(decodedMessage);
+ * while (cursor.next()) {
+ *     char entryType = (char) (cursor.buffer().get(cursor.valueIndex(Tags.MDEntryType)) & 0xFF);
+ *     long size = cursor.getLong(Tags.MDEntrySize);
+ * }
+ * </pre>
+ * Each call to next() tokenizes one entry, up to the next delimiter tag or the first tag that is
+ * not a member of the group. The value positions are kept by member slot with a generation number
+ * like DecodedFIXMessage, so nothing is cleared or allocated per entry. Cursors for nested groups
+ * are created up front with the parent and handed out by group(countTag).
+ * <p>
+ * When the entries don't match the count next() returns false and error() says why.
+ */
+public final class GroupCursor {
+
+    private static final String FEWER_ENTRIES_ERROR_MESSAGE = "Repeating group has fewer entries than its count";
+    private static final String DELIMITER_ERROR_MESSAGE = "Repeating group entry must start with the delimiter tag";
+    private static final String TRUNCATED_ERROR_MESSAGE = "Repeating group field delimiter 'SOH' not found";
+    private static final String NEGATIVE_COUNT_ERROR_MESSAGE = "Repeating group count is negative";
+    private static final String COUNT_ERROR_MESSAGE = "Repeating group count is not a number";
+
+    private final GroupLayout layout;
+    private final int[] generations;
+    private final int[] valueIndexes;
+    private final int[] valueLengths;
+    // cursors for nested groups by slot, null for plain fields
+    private final GroupCursor[] groups;
+
+    private ByteBuffer buffer;
+    private int nextEntryIndex;
+    private int endIndex;
+    private int count;
+    private int remaining;
+    private int generation;
+    private String error;
+
+    public GroupCursor(GroupLayout layout) {
+        this.layout = layout;
+        this.generations = new int[layout.size()];
+        this.valueIndexes = new int[layout.size()];
+        this.valueLengths = new int[layout.size()];
+        this.groups = new GroupCursor[layout.size()];
+        for (int slot = 0; slot < layout.size(); slot++) {
+            GroupLayout group = layout.groupAt(slot);
+            if (group != null) {
+                groups[slot] = new GroupCursor(group);
+            }
+        }
+    }
+
+    /**
+     * Moves the cursor to the group in the decoded message, the count tag being optional.
+     *
+     * @return the number of entries in the group
+     */
+    public int wrap(DecodedFIXMessage message) {
+        int countTag = layout.countTag();
+        int valueIndex = message.valueIndex(countTag);
+        if (valueIndex < 0) {
+            wrap(message.buffer(), 0, 0, 0);
+        } else {
+            int valueLen = message.valueLength(countTag);
+            ByteBuffer buffer = message.buffer();
+            try {
+                wrap(buffer, valueIndex + valueLen + 1,
+                        ByteBufferUtil2.parseInt(buffer, valueIndex, valueLen, countTag), buffer.position());
+            } catch (NumberFormatException e) {
+                wrap(buffer, 0, 0, 0);
+                fail(COUNT_ERROR_MESSAGE);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves the cursor to a group whose first entry starts at firstEntryIndex, i.e. straight after
+     * the count field, stopping at endIndex at the latest.
+     */
+    public void wrap(ByteBuffer buffer, int firstEntryIndex, int count, int endIndex) {
+        this.buffer = buffer;
+        this.nextEntryIndex = firstEntryIndex;
+        this.endIndex = endIndex;
+        this.count = count;
+        this.remaining = count;
+        nextGeneration();
+        this.error = null;
+        if (count < 0) {
+            fail(NEGATIVE_COUNT_ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Tokenizes the next entry.
+     *
+     * @return false when there are no more entries or the group is invalid
+     */
+    public boolean next() {
+        if (remaining <= 0 || error != null) {
+            return false;
+        }
+        nextGeneration();
+        int index = nextEntryIndex;
+        int fieldCount = 0;
+        while (index < endIndex) {
+            int equalIndex = DelimiterScanner.indexOf(buffer, index, endIndex, EQUALS);
+            if (equalIndex == NOT_FOUND_INDEX) {
+                break;
+            }
+            int tag = ByteBufferUtil2.toTag(buffer, index, equalIndex - index);
+            int slot = layout.slot(tag);
+            if (fieldCount == 0 && tag != layout.delimiterTag()) {
+                return fail(slot < 0 ? FEWER_ENTRIES_ERROR_MESSAGE : DELIMITER_ERROR_MESSAGE);
+            }
+            // the entry ends at the next delimiter or the first tag outside the group
+            if (fieldCount > 0 && (slot < 0 || tag == layout.delimiterTag())) {
+                break;
+            }
+            int valueIndex = equalIndex + 1;
+            int sohIndex = DelimiterScanner.indexOf(buffer, valueIndex, endIndex, SOH);
+            if (sohIndex == NOT_FOUND_INDEX) {
+                return fail(TRUNCATED_ERROR_MESSAGE);
+            }
+            if (generations[slot] != generation) {
+                generations[slot] = generation;
+                valueIndexes[slot] = valueIndex;
+                valueLengths[slot] = sohIndex - valueIndex;
+            }
+            index = sohIndex + 1;
+
+            // walk a nested group to find where this entry carries on
+            GroupCursor group = groups[slot];
+            if (group != null) {
+                int count;
+                try {
+                    count = ByteBufferUtil2.parseInt(buffer, valueIndex, sohIndex - valueIndex, tag);
+                } catch (NumberFormatException e) {
+                    return fail(COUNT_ERROR_MESSAGE);
+                }
+                group.wrap(buffer, index, count, endIndex);
+                while (group.next()) {
+                    // skip
+                }
+                if (group.error != null) {
+                    return fail(group.error);
+                }
+                index = group.nextEntryIndex;
+            }
+            fieldCount++;
+        }
+        if (fieldCount == 0) {
+            return fail(FEWER_ENTRIES_ERROR_MESSAGE);
+        }
+        nextEntryIndex = index;
+        remaining--;
+        return true;
+    }
+
+    /**
+     * The cursor for a group nested in the current entry, moved to the start of that group.
+     * The group is empty when the entry does not have its count tag.
+     */
+    public GroupCursor group(int countTag) {
+        int slot = layout.slot(countTag);
+        GroupCursor group = slot < 0 ? null : groups[slot];
+        if (group == null) {
+            throw new IllegalArgumentException("No group " + countTag + " nested in group " + layout.countTag());
+        }
+        if (generations[slot] != generation) {
+            group.wrap(buffer, 0, 0, 0);
+        } else {
+            int valueIndex = valueIndexes[slot];
+            int valueLen = valueLengths[slot];
+            group.wrap(buffer, valueIndex + valueLen + 1,
+                    ByteBufferUtil2.parseInt(buffer, valueIndex, valueLen, countTag), endIndex);
+        }
+        return group;
+    }
+
+    public GroupLayout layout() {
+        return layout;
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * The number of entries given by the count tag.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * The index after the last entry read so far, so after the whole group once next() has returned false.
+     */
+    public int endIndex() {
+        return nextEntryIndex;
+    }
+
+    /**
+     * Why the group is invalid, or null.
+     */
+    public String error() {
+        return error;
+    }
+
+    public boolean hasField(int tag) {
+        int slot = layout.slot(tag);
+        return slot >= 0 && generations[slot] == generation;
+    }
+
+    /**
+     * The index of the field value in the current entry, or -1 when the field is not present.
+     */
+    public int valueIndex(int tag) {
+        int slot = layout.slot(tag);
+        return slot >= 0 && generations[slot] == generation ? valueIndexes[slot] : -1;
+    }
+
+    /**
+     * The length of the field value in the current entry, or -1 when the field is not present.
+     */
+    public int valueLength(int tag) {
+        int slot = layout.slot(tag);
+        return slot >= 0 && generations[slot] == generation ? valueLengths[slot] : -1;
+    }
+
+    public int getInt(int tag) throws MissingFieldException {
+        return ByteBufferUtil2.parseInt(buffer, requiredValueIndex(tag), valueLength(tag), tag);
+    }
+
+    public long getLong(int tag) throws MissingFieldException {
+        return ByteBufferUtil2.parseLong(buffer, requiredValueIndex(tag), valueLength(tag), tag);
+    }
+
+    /**
+     * Parses the field value into the given decimal, which is returned.
+     */
+    public Decimal getDecimal(int tag, Decimal decimal) throws MissingFieldException {
+        return decimal.parse(buffer, requiredValueIndex(tag), valueLength(tag));
+    }
+
+    /**
+     * Appends the field value to the given Appendable, one char per byte as ISO-8859-1.
+     */
+    public void getChars(int tag, Appendable appendable) throws MissingFieldException {
+        int index = requiredValueIndex(tag);
+        int end = index + valueLength(tag);
+        try {
+            for (; index < end; index++) {
+                appendable.append((char) (buffer.get(index) & 0xFF));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int requiredValueIndex(int tag) throws MissingFieldException {
+        int index = valueIndex(tag);
+        if (index < 0) {
+            throw new MissingFieldException(tag, "Field " + tag + " not found in group " + layout.countTag());
+        }
+        return index;
+    }
+
+    // lets a test reach the wrap without tokenizing 2^32 entries
+    void generation(int generation) {
+        this.generation = generation;
+    }
+
+    private void nextGeneration() {
+        if (++generation == 0) {
+            // wrapped, so older marks could be taken for this entry
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+    }
+
+    private boolean fail(String message) {
+        error = message;
+        remaining = 0;
+        return false;
+    }
+}
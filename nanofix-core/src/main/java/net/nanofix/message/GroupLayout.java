@@ -0,0 +1,93 @@
+package net.nanofix.message;
+
+import java.util.Arrays;
+
+/**
+ * The pre-compiled layout of a repeating group: the NoXXX count tag, the delimiter tag that
+ * starts every entry (always the first member) and the member tags. Nested groups are members
+ * too, found by their own count tag.
+ * <p>
+ * An entry ends at the next delimiter tag or the first tag that is not a member, which is how
+ * GroupCursor finds the end of the group without a dictionary. Layouts are immutable so can be
+ * shared, e.g. as constants, with a GroupCursor per thread doing the decoding.
+ */
+public final class GroupLayout {
+
+    private final int countTag;
+    private final int delimiterTag;
+    private final int[] memberTags;
+    private final TagSlots slots;
+    // nested group layout by slot, null for plain fields
+    private final GroupLayout[] groups;
+
+    /**
+     * @param countTag   the NoXXX tag holding the number of entries
+     * @param memberTags the tags in an entry, starting with the delimiter tag
+     * @param groups     the layouts of any groups nested in an entry
+     */
+    public GroupLayout(int countTag, int[] memberTags, GroupLayout... groups) {
+        if (memberTags == null || memberTags.length == 0) {
+            throw new IllegalArgumentException("Argument 'memberTags' is null or empty");
+        }
+        this.countTag = countTag;
+        this.delimiterTag = memberTags[0];
+
+        int[] tags = Arrays.copyOf(memberTags, memberTags.length + groups.length);
+        for (int i = 0; i < groups.length; i++) {
+            tags[memberTags.length + i] = groups[i].countTag;
+        }
+        for (int tag : tags) {
+            if (tag <= 0) {
+                throw new IllegalArgumentException("Invalid member tag " + tag + " for group " + countTag);
+            }
+        }
+        this.memberTags = tags;
+        try {
+            this.slots = new TagSlots(tags);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + " in group " + countTag, e);
+        }
+        this.groups = new GroupLayout[tags.length];
+        for (int i = 0; i < groups.length; i++) {
+            this.groups[memberTags.length + i] = groups[i];
+        }
+    }
+
+    public int countTag() {
+        return countTag;
+    }
+
+    public int delimiterTag() {
+        return delimiterTag;
+    }
+
+    /**
+     * The number of member tags, including the count tags of nested groups.
+     */
+    public int size() {
+        return memberTags.length;
+    }
+
+    public boolean isMember(int tag) {
+        return slots.contains(tag);
+    }
+
+    /**
+     * The layout of the group nested under the given count tag, or null.
+     */
+    public GroupLayout group(int countTag) {
+        int slot = slots.slot(countTag);
+        return slot == TagSlots.NO_SLOT ? null : groups[slot];
+    }
+
+    /**
+     * The position of the tag in the member list, or -1 when not a member.
+     */
+    int slot(int tag) {
+        return slots.slot(tag);
+    }
+
+    GroupLayout groupAt(int slot) {
+        return groups[slot];
+    }
+}
@@ -0,0 +1,44 @@
+package net.nanofix.message;
+
+/**
+ * Layouts of commonly used repeating groups.
+ */
+public final class GroupLayouts {
+
+    /**
+     * NoMDEntries(268) in MarketDataIncrementalRefresh(X).
+     */
+    public static final GroupLayout MD_INCREMENTAL_ENTRIES = new GroupLayout(Tags.NoMDEntries, new int[]{
+            Tags.MDUpdateAction, Tags.DeleteReason, Tags.MDEntryType, Tags.MDEntryID, Tags.MDEntryRefID,
+            Tags.Symbol, Tags.SecurityID, Tags.SecurityIDSource, Tags.MDEntryPx, Tags.Currency,
+            Tags.MDEntrySize, Tags.MDEntryDate, Tags.MDEntryTime, Tags.TickDirection, Tags.MDMkt,
+            Tags.TradingSessionID, Tags.NumberOfOrders, Tags.MDEntryPositionNo, Tags.TotalVolumeTraded,
+            Tags.Text});
+
+    /**
+     * NoMDEntries(268) in MarketDataSnapshotFullRefresh(W).
+     */
+    public static final GroupLayout MD_SNAPSHOT_ENTRIES = new GroupLayout(Tags.NoMDEntries, new int[]{
+            Tags.MDEntryType, Tags.MDEntryPx, Tags.Currency, Tags.MDEntrySize, Tags.MDEntryDate,
+            Tags.MDEntryTime, Tags.TickDirection, Tags.MDMkt, Tags.TradingSessionID, Tags.NumberOfOrders,
+            Tags.MDEntryPositionNo, Tags.Text});
+
+    /**
+     * NoQuoteEntries(295) nested in the quote sets of MassQuote(i).
+     */
+    public static final GroupLayout QUOTE_ENTRIES = new GroupLayout(Tags.NoQuoteEntries, new int[]{
+            Tags.QuoteEntryID, Tags.Symbol, Tags.SecurityID, Tags.SecurityIDSource, Tags.SecurityType,
+            Tags.MaturityMonthYear, Tags.SecurityExchange, Tags.BidPx, Tags.OfferPx, Tags.BidSize,
+            Tags.OfferSize, Tags.ValidUntilTime, Tags.TransactTime, Tags.TradingSessionID, Tags.OrdType,
+            Tags.Currency});
+
+    /**
+     * NoQuoteSets(296) in MassQuote(i).
+     */
+    public static final GroupLayout QUOTE_SETS = new GroupLayout(Tags.NoQuoteSets, new int[]{
+            Tags.QuoteSetID, Tags.UnderlyingSymbol, Tags.TotNoQuoteEntries}, QUOTE_ENTRIES);
+
+    private GroupLayouts() {
+        // can't touch this
+    }
+}
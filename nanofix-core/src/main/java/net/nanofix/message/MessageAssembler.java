@@ -8,14 +8,85 @@ public interface MessageAssembler {
 
     void addBooleanField(int tag, boolean value);
 
+    /**
+     * Adds a single char field, e.g. Side(54) or OrdType(40).
+     *
+     * @throws IllegalArgumentException if the char is not ASCII or is SOH
+     */
+    void addCharField(int tag, char value);
+
     void addIntField(int tag, int value);
 
     void addLongField(int tag, long value);
 
+    /**
+     * Adds a decimal field with the value mantissa * 10^-scale, e.g. a price of 101.25 is (10125, 2).
+     */
+    void addDecimalField(int tag, long mantissa, int scale);
+
     void addStringField(int tag, ByteString value);
 
+    /**
+     * Adds a string field by copying the chars of the value, such as a reused StringBuilder,
+     * straight into the buffer.
+     *
+     * @throws IllegalArgumentException if a char is not ASCII or is SOH
+     */
+    void addCharSequenceField(int tag, CharSequence value);
+
+    /**
+     * Adds a string field from the chars of the value from start up to end.
+     *
+     * @throws IllegalArgumentException if a char is not ASCII or is SOH
+     */
+    void addCharSequenceField(int tag, CharSequence value, int start, int end);
+
+    /**
+     * Adds a UTCTimestamp field from a time since the epoch, written to the precision of the time unit,
+     * e.g. MICROSECONDS gives yyyyMMdd-HH:mm:ss.ssssss. Supports SECONDS to NANOSECONDS.
+     */
     void addTimestamp(int tag, long timestamp, TimeUnit timeUnit);
 
     void addBytesField(int tag, byte[] bytes);
 
+    /**
+     * Starts a repeating group by adding its NoXXX count field with the digits for the count
+     * reserved, so entries can be added as they come and endGroup() fills in how many there were.
+     * Groups nest, each beginGroup() inside an entry starting a group within it.
+     * <pre>
+     * msg.beginGroup(Tags.NoMDEntries);
+     * for (Level level : levels) {
+     *     msg.beginGroupEntry();
+     *     msg.addCharField(Tags.MDEntryType, level.side());
+     *     msg.addDecimalField(Tags.MDEntryPx, level.price(), 2);
+     * }
+     * msg.endGroup();
+     * </pre>
+     * The count is written zero padded, e.g. 268=03, which FIX allows for int values. Enough digits
+     * are reserved for as many entries as the buffer could hold, use beginGroup(countTag, countDigits)
+     * to reserve fewer.
+     */
+    void beginGroup(int countTag);
+
+    /**
+     * Starts a repeating group, reserving countDigits digits for its count.
+     */
+    void beginGroup(int countTag, int countDigits);
+
+    /**
+     * Starts the next entry of the innermost group, its fields added next starting with the delimiter field.
+     *
+     * @throws IllegalStateException if no group is open or the entries outgrow the digits reserved
+     */
+    void beginGroupEntry();
+
+    /**
+     * Ends the innermost group, writing the number of entries into its count field. A group with
+     * no entries is taken out of the message again.
+     *
+     * @return the number of entries
+     * @throws IllegalStateException if no group is open
+     */
+    int endGroup();
+
 }
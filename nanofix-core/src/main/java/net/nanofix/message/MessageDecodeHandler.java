@@ -12,4 +12,16 @@ public interface MessageDecodeHandler {
     void onTag(ByteBuffer buffer, int tagIndex, int tagLen, int valueLen);
 
     void onError(int index, String message);
+
+    /**
+     * Callback before the first tag of each message when decoding a stream of messages.
+     */
+    default void onMessageStart(ByteBuffer buffer, int messageIndex) {
+    }
+
+    /**
+     * Callback after the checksum tag of each complete message when decoding a stream of messages.
+     */
+    default void onMessageEnd(ByteBuffer buffer, int messageIndex, int messageLen) {
+    }
 }
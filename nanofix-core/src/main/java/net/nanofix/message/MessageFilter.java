@@ -0,0 +1,34 @@
+package net.nanofix.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decides from its fields, as they are decoded, whether a message is wanted.
+ * See NanoFIXMessageDecoder.decode(ByteBuffer, MessageFilter, MessageDecodeHandler).
+ */
+public interface MessageFilter {
+
+    int REJECTED = 0;
+    int SELECTED = 1;
+    // depends on a field not seen yet
+    int UNDECIDED = 2;
+
+    /**
+     * Called before the first field of each message.
+     */
+    void onMessageStart(ByteBuffer buffer);
+
+    /**
+     * Called with each field of the message until the filter has decided.
+     *
+     * @return SELECTED, REJECTED or UNDECIDED
+     */
+    int onField(int tag, int valueIndex, int valueLen);
+
+    /**
+     * Called when the filter is still undecided after the last field before the CheckSum.
+     *
+     * @return SELECTED or REJECTED
+     */
+    int onMessageEnd();
+}
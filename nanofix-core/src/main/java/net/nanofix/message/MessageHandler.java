@@ -0,0 +1,9 @@
+package net.nanofix.message;
+
+/**
+ * Handles a decoded message, see {@link MsgTypeDispatcher}.
+ */
+public interface MessageHandler {
+
+    void onMessage(DecodedFIXMessage message);
+}
@@ -1,15 +1,16 @@
 package net.nanofix.message;
 
 import io.nano.core.buffer.ByteBufferUtil;
-import net.nanofix.time.UtcDateTimeEncoder;
-import net.nanofix.util.ByteArrayUtil;
+import net.nanofix.message.util.ChecksumCalculator;
+import net.nanofix.message.util.NumberWriter;
+import net.nanofix.time.EpochClock;
+import net.nanofix.time.SystemEpochClock;
+import net.nanofix.time.UtcTimestampEncoder;
 import net.nanofix.util.ByteString;
-import net.nanofix.util.DefaultTimeGenerator;
 import net.nanofix.util.FIXBytes;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -21,17 +22,26 @@ import java.util.concurrent.TimeUnit;
  * 56 TargetCompID
  * 34 MsgSeqNum
  * 52 SendingTime
+ * <p>
+ * In template mode the fields that are fixed for a session are encoded once, as
+ * 49 56 [50 57 115 128] 52 34 in the header buffer. Each message then only writes BeginString,
+ * BodyLength and MsgType into the begin buffer, and patches SendingTime in its fixed width slot
+ * and MsgSeqNum at the end of the header buffer. The template is rebuilt when a session field changes.
  */
 public class MessageHeader extends FixMessageAssembler {
 
-    private static final int MAX_FIXED_BUFFER_CAPACITY = 19;
+    // 8=FIXT.1.1|9=1234567| and, in template mode, 35=MsgType|
+    private static final int MAX_FIXED_BUFFER_CAPACITY = 64;
+    // 35=
+    private static final int MSG_TYPE_TAG_LENGTH = 3;
 
-    private final UtcDateTimeEncoder timeEncoder = new UtcDateTimeEncoder();
-    private final DefaultTimeGenerator timeGenerator = new DefaultTimeGenerator();
+    private UtcTimestampEncoder timeEncoder = new UtcTimestampEncoder(TimeUnit.MILLISECONDS);
+    private EpochClock clock = SystemEpochClock.INSTANCE;
     private final ByteBuffer beginBuffer = ByteBuffer.allocate(MAX_FIXED_BUFFER_CAPACITY);
     private final ByteBuffer buffer;
 
     private boolean dirty = false;
+    private int beginChecksum;
     private ByteString beginString;
     private int bodyLength;
     private MsgType msgType;
@@ -39,18 +49,33 @@ public class MessageHeader extends FixMessageAssembler {
     private ByteString targetCompId;
     private int msgSeqNum;
     private long sendingTime;
+    private ByteString senderSubId;
+    private ByteString targetSubId;
+    private ByteString onBehalfOfCompId;
+    private ByteString deliverToCompId;
+
+    private boolean templateMode = false;
+    private boolean templateDirty = true;
+    private int beginPrefixLength;
+    private int beginPrefixChecksum;
+    private int sendingTimeIndex;
+    private int msgSeqNumIndex;
+    // sum of the template bytes excluding the SendingTime value
+    private int templateChecksum;
+    private int headerChecksum;
 
     public MessageHeader(ByteBuffer buffer) {
         super(buffer);
         this.buffer = buffer;
     }
 
-//    public ByteString beginString() {
-//        return beginString;
-//    }
+    public ByteString beginString() {
+        return beginString;
+    }
 
     public void beginString(ByteString beginString) {
         this.dirty = true;
+        this.templateDirty = true;
         this.beginString = beginString;
     }
 
@@ -69,6 +94,7 @@ public class MessageHeader extends FixMessageAssembler {
 
     public void senderCompId(ByteString senderCompId) {
         this.dirty = true;
+        this.templateDirty = true;
         this.senderCompId = senderCompId;
     }
 
@@ -79,6 +105,7 @@ public class MessageHeader extends FixMessageAssembler {
 
     public void targetCompId(ByteString targetCompId) {
         this.dirty = true;
+        this.templateDirty = true;
         this.targetCompId = targetCompId;
     }
 
@@ -91,6 +118,9 @@ public class MessageHeader extends FixMessageAssembler {
         this.msgSeqNum = msgSeqNum;
     }
 
+    /**
+     * The SendingTime since the epoch in the sending time unit.
+     */
     public long sendingTime() {
         return sendingTime;
     }
@@ -100,6 +130,93 @@ public class MessageHeader extends FixMessageAssembler {
         this.sendingTime = sendingTime;
     }
 
+    /**
+     * Sets the SendingTime to now by the clock, in the sending time unit.
+     */
+    public void sendingTimeNow() {
+        sendingTime(clock.epochTime(timeEncoder.timeUnit()));
+    }
+
+    public EpochClock clock() {
+        return clock;
+    }
+
+    /**
+     * The clock read by sendingTimeNow(), the precise system clock by default. An event loop would
+     * pass a CachedClock it updates once per duty cycle, and tests a VirtualClock.
+     */
+    public void clock(EpochClock clock) {
+        this.clock = clock;
+    }
+
+    public TimeUnit sendingTimeUnit() {
+        return timeEncoder.timeUnit();
+    }
+
+    /**
+     * The unit of the SendingTime and so the precision it is written with, MILLISECONDS by default.
+     * MiFID II needs at least MICROSECONDS.
+     */
+    public void sendingTimeUnit(TimeUnit timeUnit) {
+        if (timeUnit != timeEncoder.timeUnit()) {
+            this.dirty = true;
+            this.templateDirty = true;
+            this.timeEncoder = new UtcTimestampEncoder(timeUnit);
+        }
+    }
+
+    public ByteString senderSubId() {
+        return senderSubId;
+    }
+
+    public void senderSubId(ByteString senderSubId) {
+        this.dirty = true;
+        this.templateDirty = true;
+        this.senderSubId = senderSubId;
+    }
+
+    public ByteString targetSubId() {
+        return targetSubId;
+    }
+
+    public void targetSubId(ByteString targetSubId) {
+        this.dirty = true;
+        this.templateDirty = true;
+        this.targetSubId = targetSubId;
+    }
+
+    public ByteString onBehalfOfCompId() {
+        return onBehalfOfCompId;
+    }
+
+    public void onBehalfOfCompId(ByteString onBehalfOfCompId) {
+        this.dirty = true;
+        this.templateDirty = true;
+        this.onBehalfOfCompId = onBehalfOfCompId;
+    }
+
+    public ByteString deliverToCompId() {
+        return deliverToCompId;
+    }
+
+    public void deliverToCompId(ByteString deliverToCompId) {
+        this.dirty = true;
+        this.templateDirty = true;
+        this.deliverToCompId = deliverToCompId;
+    }
+
+    public boolean templateMode() {
+        return templateMode;
+    }
+
+    /**
+     * Switches template mode on or off, see the class comment.
+     */
+    public void templateMode(boolean templateMode) {
+        this.templateMode = templateMode;
+        this.templateDirty = true;
+    }
+
     public void bodyLength(int bodyLength) {
         this.dirty = true;
         this.bodyLength = bodyLength;
@@ -114,39 +231,100 @@ public class MessageHeader extends FixMessageAssembler {
     }
 
     void populateBuffer() {
+        if (templateMode) {
+            populateFromTemplate();
+            return;
+        }
         buffer.clear();
-        // TODO inject a time formatter / generator that understands millis, micros etc
-        // TODO transfer long directly into buffer
         if (dirty) {
             addStringField(Tags.MsgType, msgType);
             addStringField(Tags.SenderCompID, senderCompId);
             addStringField(Tags.TargetCompID, targetCompId);
+            addOptionalFields();
             addIntField(Tags.MsgSeqNum, msgSeqNum);
-            addTimestamp(Tags.SendingTime, sendingTime);
+            addTimestamp(Tags.SendingTime, sendingTime, sendingTimeUnit());
         }
         int fixBodyLength = bodyLength + ByteBufferUtil.readableBytes(buffer);
 
         // now that we have the length we can populated the begin buffer
         beginBuffer.clear();
-        addBytesWithDelimiters(
-                beginBuffer,
-                ByteArrayUtil.asByteArray(Tags.BeginString),
-                beginString.bytes()
-        );
-        addBytesWithDelimiters(
-                beginBuffer,
-                ByteArrayUtil.asByteArray(Tags.BodyLength),
-                ByteArrayUtil.asByteArray(fixBodyLength)
-        );
-    }
-
-    private void addTimestamp(int tag, long epochMillis) {
-        buffer.put(ByteArrayUtil.asByteArray(tag));
-        buffer.put(FIXBytes.EQUALS);
-        int pos = buffer.position();
-        pos += timeEncoder.encode(epochMillis, buffer, pos);
-        buffer.position(pos);
+        beginChecksum = addBytesWithDelimiters(beginBuffer, Tags.BeginString, beginString.bytes());
+        beginChecksum += NumberWriter.putTag(beginBuffer, Tags.BodyLength);
+        beginChecksum += NumberWriter.putInt(beginBuffer, fixBodyLength);
+        beginBuffer.put(FIXBytes.SOH);
+        beginChecksum += FIXBytes.SOH;
+        headerChecksum = beginChecksum + checksum();
+        // the header buffer no longer holds the template
+        templateDirty = true;
+    }
+
+    /**
+     * The sum of the bytes in the begin and header buffers, valid after populateBuffer().
+     */
+    int headerChecksum() {
+        return headerChecksum;
+    }
+
+    private void populateFromTemplate() {
+        if (templateDirty) {
+            buildTemplate();
+        }
+        // SendingTime is patched in place, only the fraction of a second while the second is the same
+        int checksum = templateChecksum + timeEncoder.update(sendingTime, buffer, sendingTimeIndex);
+        buffer.position(msgSeqNumIndex);
+        checksum += NumberWriter.putInt(buffer, msgSeqNum);
         buffer.put(FIXBytes.SOH);
+        checksum += FIXBytes.SOH;
+
+        // MsgType is written after BodyLength in the begin buffer but counts towards it
+        byte[] msgTypeBytes = msgType.bytes();
+        int msgTypeFieldLength = MSG_TYPE_TAG_LENGTH + msgTypeBytes.length + 1;
+        int fixBodyLength = bodyLength + msgTypeFieldLength + ByteBufferUtil.readableBytes(buffer);
+        beginBuffer.position(beginPrefixLength);
+        checksum += beginPrefixChecksum;
+        checksum += NumberWriter.putInt(beginBuffer, fixBodyLength);
+        beginBuffer.put(FIXBytes.SOH);
+        checksum += FIXBytes.SOH;
+        checksum += addBytesWithDelimiters(beginBuffer, Tags.MsgType, msgTypeBytes);
+        headerChecksum = checksum;
+    }
+
+    /**
+     * Encodes the session fields into the header buffer, leaving the SendingTime slot and
+     * MsgSeqNum to be written per message, and 8=BeginString|9= into the begin buffer.
+     */
+    private void buildTemplate() {
+        buffer.clear();
+        addStringField(Tags.SenderCompID, senderCompId);
+        addStringField(Tags.TargetCompID, targetCompId);
+        addOptionalFields();
+        NumberWriter.putTag(buffer, Tags.SendingTime);
+        sendingTimeIndex = buffer.position();
+        int sendingTimeSum = timeEncoder.encode(sendingTime, buffer, sendingTimeIndex);
+        buffer.position(sendingTimeIndex + timeEncoder.length());
+        buffer.put(FIXBytes.SOH);
+        NumberWriter.putTag(buffer, Tags.MsgSeqNum);
+        msgSeqNumIndex = buffer.position();
+        templateChecksum = ChecksumCalculator.sum(buffer, 0, msgSeqNumIndex) - sendingTimeSum;
+
+        beginBuffer.clear();
+        beginPrefixChecksum = addBytesWithDelimiters(beginBuffer, Tags.BeginString, beginString.bytes());
+        beginPrefixChecksum += NumberWriter.putTag(beginBuffer, Tags.BodyLength);
+        beginPrefixLength = beginBuffer.position();
+        templateDirty = false;
+    }
+
+    private void addOptionalFields() {
+        addOptionalStringField(Tags.SenderSubID, senderSubId);
+        addOptionalStringField(Tags.TargetSubID, targetSubId);
+        addOptionalStringField(Tags.OnBehalfOfCompID, onBehalfOfCompId);
+        addOptionalStringField(Tags.DeliverToCompID, deliverToCompId);
+    }
+
+    private void addOptionalStringField(int tag, ByteString value) {
+        if (value != null) {
+            addStringField(tag, value);
+        }
     }
 
 }
@@ -3,8 +3,9 @@ package net.nanofix.message;
 import net.nanofix.util.ByteArrayUtil;
 import net.nanofix.util.ByteString;
 
-import java.util.Objects;
-
+/**
+ * Equal to any ByteString with the same bytes, whatever its name.
+ */
 public class MsgType extends ByteString {
 
     private final String value;
@@ -27,17 +28,4 @@ public class MsgType extends ByteString {
     public String name() {
         return name;
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        MsgType that = (MsgType) o;
-        return Objects.equals(this.value, that.value);
-    }
-
-    @Override
-    public int hashCode() {
-        return value == null ? 0 : value.hashCode();
-    }
 }
@@ -0,0 +1,45 @@
+package net.nanofix.message;
+
+/**
+ * Routes decoded messages to the handler registered for their MsgType(35).
+ * <p>
+ * Handlers are held in a table indexed the same way as MsgTypeResolver's, with every slot that has
+ * no handler of its own holding the default handler, so an unknown MsgType needs no check of its
+ * own. Changing the default handler rewrites those slots.
+ * <p>
+ * Register handlers before dispatching, registration is not thread safe.
+ */
+public final class MsgTypeDispatcher {
+
+    private final MessageHandler[] handlers = new MessageHandler[MsgTypeResolver.TABLE_SIZE];
+    private MessageHandler defaultHandler;
+
+    /**
+     * @param defaultHandler receives messages with no MsgType, or one with no handler registered
+     */
+    public MsgTypeDispatcher(MessageHandler defaultHandler) {
+        defaultHandler(defaultHandler);
+    }
+
+    public MsgTypeDispatcher register(MsgType msgType, MessageHandler handler) {
+        handlers[MsgTypeResolver.requiredIndex(msgType)] = handler;
+        return this;
+    }
+
+    public MsgTypeDispatcher defaultHandler(MessageHandler defaultHandler) {
+        MessageHandler oldDefaultHandler = this.defaultHandler;
+        for (int i = 0; i < handlers.length; i++) {
+            if (handlers[i] == oldDefaultHandler) {
+                handlers[i] = defaultHandler;
+            }
+        }
+        this.defaultHandler = defaultHandler;
+        return this;
+    }
+
+    public void dispatch(DecodedFIXMessage message) {
+        int index = MsgTypeResolver.index(message.buffer(),
+                message.valueIndex(Tags.MsgType), message.valueLength(Tags.MsgType));
+        (index < 0 ? defaultHandler : handlers[index]).onMessage(message);
+    }
+}
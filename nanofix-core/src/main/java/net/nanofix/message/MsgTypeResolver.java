@@ -0,0 +1,85 @@
+package net.nanofix.message;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+
+/**
+ * Resolves the raw MsgType(35) value in a buffer to its MsgType without allocating.
+ * <p>
+ * Every MsgType is one or two ASCII chars, so the bytes themselves are a perfect hash, the first
+ * byte alone or the first shifted up 7 bits or'd with the second, indexing a table of 128 * 128
+ * entries. Single char types land below 128, so can never collide with two char ones. Anything
+ * else, e.g. a three char value, is rejected by index() before the table is touched.
+ */
+public final class MsgTypeResolver {
+
+    /**
+     * The size of a table indexed by index().
+     */
+    public static final int TABLE_SIZE = 1 << 14;
+
+    private final MsgType[] msgTypes = new MsgType[TABLE_SIZE];
+
+    /**
+     * A resolver for all the MsgTypes constants.
+     */
+    public MsgTypeResolver() {
+        for (Field field : MsgTypes.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == MsgType.class) {
+                try {
+                    register((MsgType) field.get(null));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a MsgType, e.g. a user defined one, replacing any with the same value.
+     */
+    public void register(MsgType msgType) {
+        msgTypes[requiredIndex(msgType)] = msgType;
+    }
+
+    /**
+     * The MsgType of the len bytes at offset, or null when it is not known.
+     */
+    public MsgType resolve(ByteBuffer buffer, int offset, int len) {
+        int index = index(buffer, offset, len);
+        return index < 0 ? null : msgTypes[index];
+    }
+
+    /**
+     * The MsgType of the decoded message, or null when it has none or it is not known.
+     */
+    public MsgType resolve(DecodedFIXMessage message) {
+        return resolve(message.buffer(), message.valueIndex(Tags.MsgType), message.valueLength(Tags.MsgType));
+    }
+
+    /**
+     * The table index of the len bytes at offset, or -1 if they can't be a MsgType,
+     * i.e. are not one or two ASCII chars.
+     */
+    public static int index(ByteBuffer buffer, int offset, int len) {
+        if (len == 1) {
+            int first = buffer.get(offset);
+            return first > 0 ? first : -1;
+        }
+        if (len == 2) {
+            int first = buffer.get(offset);
+            int second = buffer.get(offset + 1);
+            return first > 0 && second > 0 ? first << 7 | second : -1;
+        }
+        return -1;
+    }
+
+    static int requiredIndex(MsgType msgType) {
+        int index = index(ByteBuffer.wrap(msgType.bytes()), 0, msgType.length());
+        if (index < 0) {
+            throw new IllegalArgumentException("MsgType of 1 or 2 ASCII chars expected: " + msgType);
+        }
+        return index;
+    }
+}
@@ -6,97 +6,97 @@ package net.nanofix.message;
  * Time: 11:24
  */
 public final class MsgTypes {
-    public static MsgType Logon = new MsgType("A", "Logon");
-    public static MsgType Heartbeat = new MsgType("0", "HeartBeat");
-    public static MsgType TestRequest = new MsgType("1", "TestRequest");
-    public static MsgType ResendRequest = new MsgType("2");
-    public static MsgType Reject = new MsgType("3");
-    public static MsgType SequenceReset = new MsgType("4");
-    public static MsgType Logout = new MsgType("5");
-    public static MsgType BusinessMessageReject = new MsgType("j");
-    public static MsgType UserRequest = new MsgType("BE");
-    public static MsgType UserResponse = new MsgType("BF");
-    public static MsgType Advertisement = new MsgType("7");
-    public static MsgType IndicationOfInterest = new MsgType("6");
-    public static MsgType News = new MsgType("B");
-    public static MsgType Email = new MsgType("C");
-    public static MsgType QuoteRequest = new MsgType("R");
-    public static MsgType QuoteResponse = new MsgType("AJ");
-    public static MsgType QuoteRequestReject = new MsgType("AG");
-    public static MsgType RFQRequest = new MsgType("AH");
-    public static MsgType Quote = new MsgType("S");
-    public static MsgType QuoteCancel = new MsgType("Z");
-    public static MsgType QuoteStatusRequest = new MsgType("a");
-    public static MsgType QuoteStatusReport = new MsgType("AI");
-    public static MsgType MassQuote = new MsgType("i");
-    public static MsgType MassQuoteAcknowledgement = new MsgType("b");
-    public static MsgType MarketDataRequest = new MsgType("V");
-    public static MsgType MarketDataSnapshotFullRefresh = new MsgType("W");
-    public static MsgType MarketDataIncrementalRefresh = new MsgType("X");
-    public static MsgType MarketDataRequestReject = new MsgType("Y");
-    public static MsgType SecurityDefinitionRequest = new MsgType("c");
-    public static MsgType SecurityDefinition = new MsgType("d");
-    public static MsgType SecurityTypeRequest = new MsgType("v");
-    public static MsgType SecurityTypes = new MsgType("w");
-    public static MsgType SecurityListRequest = new MsgType("x");
-    public static MsgType SecurityList = new MsgType("y");
-    public static MsgType DerivativeSecurityListRequest = new MsgType("z");
-    public static MsgType DerivativeSecurityList = new MsgType("AA");
-    public static MsgType SecurityStatusRequest = new MsgType("e");
-    public static MsgType SecurityStatus = new MsgType("f");
-    public static MsgType TradingSessionStatusRequest = new MsgType("g");
-    public static MsgType TradingSessionStatus = new MsgType("h");
-    public static MsgType NewOrderSingle = new MsgType("D");
-    public static MsgType ExecutionReport = new MsgType("8");
-    public static MsgType DontKnowTrade = new MsgType("Q");
-    public static MsgType OrderCancelReplaceRequest = new MsgType("G");
-    public static MsgType OrderCancelRequest = new MsgType("F");
-    public static MsgType OrderCancelReject = new MsgType("9");
-    public static MsgType OrderStatusRequest = new MsgType("H");
-    public static MsgType OrderMassCancelRequest = new MsgType("q");
-    public static MsgType OrderMassCancelReport = new MsgType("r");
-    public static MsgType OrderMassStatusRequest = new MsgType("AF");
-    public static MsgType NewOrderCross = new MsgType("s");
-    public static MsgType CrossOrderCancelReplaceRequest = new MsgType("t");
-    public static MsgType CrossOrderCancelRequest = new MsgType("u");
-    public static MsgType NewOrderMultileg = new MsgType("AB");
-    public static MsgType MultilegOrderCancelReplaceRequest = new MsgType("AC");
-    public static MsgType BidRequest = new MsgType("k");
-    public static MsgType BidResponse = new MsgType("l");
-    public static MsgType NewOrderList = new MsgType("E");
-    public static MsgType ListStrikePrice = new MsgType("m");
-    public static MsgType ListStatus = new MsgType("N");
-    public static MsgType ListExecute = new MsgType("L");
-    public static MsgType ListCancelRequest = new MsgType("K");
-    public static MsgType ListStatusRequest = new MsgType("M");
-    public static MsgType AllocationInstruction = new MsgType("J");
-    public static MsgType AllocationInstructionAck = new MsgType("P");
-    public static MsgType AllocationReport = new MsgType("AS");
-    public static MsgType AllocationReportAck = new MsgType("AT");
-    public static MsgType Confirmation = new MsgType("AK");
-    public static MsgType ConfirmationAck = new MsgType("AU");
-    public static MsgType ConfirmationRequest = new MsgType("BH");
-    public static MsgType SettlementInstructions = new MsgType("T");
-    public static MsgType SettlementInstructionRequest = new MsgType("AV");
-    public static MsgType TradeCaptureReportRequest = new MsgType("AD");
-    public static MsgType TradeCaptureReportRequestAck = new MsgType("AQ");
-    public static MsgType TradeCaptureReport = new MsgType("AE");
-    public static MsgType TradeCaptureReportAck = new MsgType("AR");
-    public static MsgType RegistrationInstructions = new MsgType("o");
-    public static MsgType RegistrationInstructionsResponse = new MsgType("p");
-    public static MsgType PositionMaintenanceRequest = new MsgType("AL");
-    public static MsgType PositionMaintenanceReport = new MsgType("AM");
-    public static MsgType RequestForPositions = new MsgType("AN");
-    public static MsgType RequestForPositionsAck = new MsgType("AO");
-    public static MsgType PositionReport = new MsgType("AP");
-    public static MsgType AssignmentReport = new MsgType("AW");
-    public static MsgType CollateralRequest = new MsgType("AX");
-    public static MsgType CollateralAssignment = new MsgType("AY");
-    public static MsgType CollateralResponse = new MsgType("AZ");
-    public static MsgType CollateralReport = new MsgType("BA");
-    public static MsgType CollateralInquiry = new MsgType("BB");
-    public static MsgType NetworkStatusRequest = new MsgType("BC");
-    public static MsgType NetworkStatusResponse = new MsgType("BD");
-    public static MsgType CollateralInquiryAck = new MsgType("BG");
+    public static final MsgType Logon = new MsgType("A", "Logon");
+    public static final MsgType Heartbeat = new MsgType("0", "HeartBeat");
+    public static final MsgType TestRequest = new MsgType("1", "TestRequest");
+    public static final MsgType ResendRequest = new MsgType("2");
+    public static final MsgType Reject = new MsgType("3");
+    public static final MsgType SequenceReset = new MsgType("4");
+    public static final MsgType Logout = new MsgType("5");
+    public static final MsgType BusinessMessageReject = new MsgType("j");
+    public static final MsgType UserRequest = new MsgType("BE");
+    public static final MsgType UserResponse = new MsgType("BF");
+    public static final MsgType Advertisement = new MsgType("7");
+    public static final MsgType IndicationOfInterest = new MsgType("6");
+    public static final MsgType News = new MsgType("B");
+    public static final MsgType Email = new MsgType("C");
+    public static final MsgType QuoteRequest = new MsgType("R");
+    public static final MsgType QuoteResponse = new MsgType("AJ");
+    public static final MsgType QuoteRequestReject = new MsgType("AG");
+    public static final MsgType RFQRequest = new MsgType("AH");
+    public static final MsgType Quote = new MsgType("S");
+    public static final MsgType QuoteCancel = new MsgType("Z");
+    public static final MsgType QuoteStatusRequest = new MsgType("a");
+    public static final MsgType QuoteStatusReport = new MsgType("AI");
+    public static final MsgType MassQuote = new MsgType("i");
+    public static final MsgType MassQuoteAcknowledgement = new MsgType("b");
+    public static final MsgType MarketDataRequest = new MsgType("V");
+    public static final MsgType MarketDataSnapshotFullRefresh = new MsgType("W");
+    public static final MsgType MarketDataIncrementalRefresh = new MsgType("X");
+    public static final MsgType MarketDataRequestReject = new MsgType("Y");
+    public static final MsgType SecurityDefinitionRequest = new MsgType("c");
+    public static final MsgType SecurityDefinition = new MsgType("d");
+    public static final MsgType SecurityTypeRequest = new MsgType("v");
+    public static final MsgType SecurityTypes = new MsgType("w");
+    public static final MsgType SecurityListRequest = new MsgType("x");
+    public static final MsgType SecurityList = new MsgType("y");
+    public static final MsgType DerivativeSecurityListRequest = new MsgType("z");
+    public static final MsgType DerivativeSecurityList = new MsgType("AA");
+    public static final MsgType SecurityStatusRequest = new MsgType("e");
+    public static final MsgType SecurityStatus = new MsgType("f");
+    public static final MsgType TradingSessionStatusRequest = new MsgType("g");
+    public static final MsgType TradingSessionStatus = new MsgType("h");
+    public static final MsgType NewOrderSingle = new MsgType("D");
+    public static final MsgType ExecutionReport = new MsgType("8");
+    public static final MsgType DontKnowTrade = new MsgType("Q");
+    public static final MsgType OrderCancelReplaceRequest = new MsgType("G");
+    public static final MsgType OrderCancelRequest = new MsgType("F");
+    public static final MsgType OrderCancelReject = new MsgType("9");
+    public static final MsgType OrderStatusRequest = new MsgType("H");
+    public static final MsgType OrderMassCancelRequest = new MsgType("q");
+    public static final MsgType OrderMassCancelReport = new MsgType("r");
+    public static final MsgType OrderMassStatusRequest = new MsgType("AF");
+    public static final MsgType NewOrderCross = new MsgType("s");
+    public static final MsgType CrossOrderCancelReplaceRequest = new MsgType("t");
+    public static final MsgType CrossOrderCancelRequest = new MsgType("u");
+    public static final MsgType NewOrderMultileg = new MsgType("AB");
+    public static final MsgType MultilegOrderCancelReplaceRequest = new MsgType("AC");
+    public static final MsgType BidRequest = new MsgType("k");
+    public static final MsgType BidResponse = new MsgType("l");
+    public static final MsgType NewOrderList = new MsgType("E");
+    public static final MsgType ListStrikePrice = new MsgType("m");
+    public static final MsgType ListStatus = new MsgType("N");
+    public static final MsgType ListExecute = new MsgType("L");
+    public static final MsgType ListCancelRequest = new MsgType("K");
+    public static final MsgType ListStatusRequest = new MsgType("M");
+    public static final MsgType AllocationInstruction = new MsgType("J");
+    public static final MsgType AllocationInstructionAck = new MsgType("P");
+    public static final MsgType AllocationReport = new MsgType("AS");
+    public static final MsgType AllocationReportAck = new MsgType("AT");
+    public static final MsgType Confirmation = new MsgType("AK");
+    public static final MsgType ConfirmationAck = new MsgType("AU");
+    public static final MsgType ConfirmationRequest = new MsgType("BH");
+    public static final MsgType SettlementInstructions = new MsgType("T");
+    public static final MsgType SettlementInstructionRequest = new MsgType("AV");
+    public static final MsgType TradeCaptureReportRequest = new MsgType("AD");
+    public static final MsgType TradeCaptureReportRequestAck = new MsgType("AQ");
+    public static final MsgType TradeCaptureReport = new MsgType("AE");
+    public static final MsgType TradeCaptureReportAck = new MsgType("AR");
+    public static final MsgType RegistrationInstructions = new MsgType("o");
+    public static final MsgType RegistrationInstructionsResponse = new MsgType("p");
+    public static final MsgType PositionMaintenanceRequest = new MsgType("AL");
+    public static final MsgType PositionMaintenanceReport = new MsgType("AM");
+    public static final MsgType RequestForPositions = new MsgType("AN");
+    public static final MsgType RequestForPositionsAck = new MsgType("AO");
+    public static final MsgType PositionReport = new MsgType("AP");
+    public static final MsgType AssignmentReport = new MsgType("AW");
+    public static final MsgType CollateralRequest = new MsgType("AX");
+    public static final MsgType CollateralAssignment = new MsgType("AY");
+    public static final MsgType CollateralResponse = new MsgType("AZ");
+    public static final MsgType CollateralReport = new MsgType("BA");
+    public static final MsgType CollateralInquiry = new MsgType("BB");
+    public static final MsgType NetworkStatusRequest = new MsgType("BC");
+    public static final MsgType NetworkStatusResponse = new MsgType("BD");
+    public static final MsgType CollateralInquiryAck = new MsgType("BG");
 
 }
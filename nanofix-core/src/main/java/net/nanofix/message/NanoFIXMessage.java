@@ -39,8 +39,8 @@ public class NanoFIXMessage extends FixMessageAssembler implements FIXMessage {
         header.bodyLength(bodyLength);
         header.populateBuffer();
 
-        // update the checksum
-        byte[] checksumBytes = ChecksumCalculator.calculateChecksum(buffers);
+        // checksum from the sums kept as each field was written
+        byte[] checksumBytes = ChecksumCalculator.checksumBytes(header.headerChecksum() + checksum());
         addBytesField(Tags.CheckSum, checksumBytes);
         return buffers;
     }
@@ -1,6 +1,7 @@
 package net.nanofix.message;
 
 import net.nanofix.message.util.ChecksumCalculator;
+import net.nanofix.message.util.DelimiterScanner;
 import net.nanofix.util.FIXBytes;
 
 import java.nio.ByteBuffer;
@@ -22,9 +23,10 @@ import static net.nanofix.util.FIXBytes.SOH;
  * CheckSum (10) - Always the last field and the value always contains 3 bytes. E.g. 10=093.
  * Calculated as modulo 256 of the sum of every byte in the message up to but not including the checksum field itself.
  * <p>
- * TODO body length value validation (all integer)
- * TODO only read as far as body length + checksum
- * TODO complain if checksum is missing
+ * Each message is framed before it is tokenized. BeginString and BodyLength are read to find where
+ * the CheckSum field should be, the CheckSum field is checked to be there and the bytes before it
+ * are summed in bulk against its value. A truncated or corrupt message is rejected without looking
+ * at its fields, so the handler only ever sees fields of a complete message with a valid checksum.
  *
  * User: Mark Wardell
  * Date: 10/10/16
@@ -33,114 +35,515 @@ import static net.nanofix.util.FIXBytes.SOH;
 public class NanoFIXMessageDecoder implements FIXMessageDecoder {
 
     private static final String EQUAL_NOT_FOUND_ERROR_MESSAGE = "Tag value delimiter '=' not found after index";
-    private static final String SOH_NOT_FOUND_ERROR_MESSAGE = "Field delimiter 'SOH' not found after index";
+    private static final String CHECKSUM_NOT_FOUND_ERROR_MESSAGE = "CheckSum(10) not found, the message is incomplete";
     private static final String BEGIN_STRING_ERROR_MESSAGE = "Message must start with with the correct begin string 8=FIX.";
     private static final String BODY_LEN_SECOND_FIELD_ERROR_MESSAGE = "BodyLength(9) must be the second field in the message";
     private static final String MSG_TYPE_THIRD_FIELD_ERROR_MESSAGE = "MsgType(35) must be the third field in the message";
     private static final String BODY_LEN_INCORRECT_ERROR_MESSAGE = "BodyLength(9) value is incorrect";
     private static final String BODY_LEN_INVALID_ERROR_MESSAGE = "BodyLength(9) value is invalid";
+    private static final String BODY_LEN_TOO_LARGE_ERROR_MESSAGE = "BodyLength(9) value is too large for the buffer";
     private static final String CHECKSUM_INCORRECT_ERROR_MESSAGE = "Invalid checksum!";
+    private static final String DATA_LEN_INVALID_ERROR_MESSAGE = "Length field value is invalid";
+    private static final String DATA_LEN_INCORRECT_ERROR_MESSAGE = "Length field value does not match the data field";
 
     private static final int MIN_BODY_LEN = 5; // 8=FIX.4.x|9=NN|35=X|10=nnn|
     private static final int MAX_BODY_LEN = 1024 * 1024;
+    private static final int MAX_BODY_LEN_DIGITS = 7;
+
+    /**
+     * Returned instead of an index when the buffer ends before the message does.
+     */
+    public static final int PARTIAL_MESSAGE = -1;
+    /**
+     * Returned instead of an index when the handler has been notified of an error.
+     */
+    public static final int INVALID_MESSAGE = -2;
+
+    private static final int MSG_TYPE_PREFIX_LEN = 3; // 35=
+    private static final int CHECKSUM_TAG_LEN = 2;
+    private static final int CHECKSUM_VALUE_LEN = 3;
+
+    private final boolean resumable;
+    private final DataFields dataFields;
+
+    private boolean partialMessage;
+    private boolean selectedMessage;
+
+    // state of the message being decoded
+    private int tagIndex;
+    private int equalIndex = NOT_FOUND_INDEX;
+    private int tagCount;
+    private int bodyLen;
+    private int bodyStartIndex;
+    // the data field announced by the length field just decoded, 0 when none
+    private int dataTag;
+    private int dataLength;
+
+    public NanoFIXMessageDecoder() {
+        this(false);
+    }
+
+    public NanoFIXMessageDecoder(boolean resumable) {
+        this(resumable, DataFields.STANDARD);
+    }
+
+    /**
+     * When resumable a message cut short by the end of the buffer is left for the next call,
+     * once more bytes have been appended to the buffer, rather than being reported as an error.
+     * Only BeginString and BodyLength of a partial message are read, so nothing is scanned
+     * twice however the message is split across reads.
+     * <p>
+     * The value of a data field, e.g. XmlData(213), is not scanned for SOH as it may contain
+     * any bytes. The length field before it says where it ends, so it is jumped over in one step.
+     */
+    public NanoFIXMessageDecoder(boolean resumable, DataFields dataFields) {
+        this.resumable = resumable;
+        this.dataFields = dataFields;
+    }
+
+    /**
+     * Returns true when a resumable decode has stopped part way through a message.
+     */
+    public boolean hasPartialMessage() {
+        return partialMessage;
+    }
+
+    /**
+     * Returns true when the last filtered decode selected its message and passed it to the handler.
+     */
+    public boolean hasSelectedMessage() {
+        return selectedMessage;
+    }
+
+    /**
+     * Discards any partially decoded message so the next decode starts at index 0.
+     */
+    public void reset() {
+        partialMessage = false;
+        clear();
+    }
 
     @Override
     public void decode(ByteBuffer buffer, MessageDecodeHandler handler) {
-        // start at current position?
-        int initialOffset = 0;
-
-        // initialise a few counters
-        int bodyLen = 0;
-        int bodyStartIndex = 0;
-        int tagIndex = initialOffset;
-        int tagCount = 0;
-        while (tagIndex < buffer.position()) {
-            int equalIndex = ByteBufferUtil2.indexOf(buffer, tagIndex, EQUALS);
-            if (equalIndex == NOT_FOUND_INDEX) {
-                handler.onError(tagIndex, EQUAL_NOT_FOUND_ERROR_MESSAGE);
-                break;
-            }
-            int tagLen = equalIndex - tagIndex;
-            int valueIndex = equalIndex + 1;
-
-            int startOfHeaderIndex = ByteBufferUtil2.indexOf(buffer, valueIndex, SOH);
-            if (startOfHeaderIndex == NOT_FOUND_INDEX) {
-                handler.onError(valueIndex, SOH_NOT_FOUND_ERROR_MESSAGE);
-                break;
+        reset();
+        final int endIndex = buffer.position();
+        int result = decodeMessage(buffer, 0, endIndex, handler);
+        if (result == PARTIAL_MESSAGE) {
+            if (resumable) {
+                partialMessage = true;
+            } else {
+                handler.onError(endIndex, CHECKSUM_NOT_FOUND_ERROR_MESSAGE);
             }
-            int valueLen = startOfHeaderIndex - valueIndex;
+        }
+        clear();
+    }
 
-            // check first tag is the FIX BeginString
-            if (tagCount == 0) {
-                if (!ByteBufferUtil2.hasBytes(buffer, tagIndex, FIXBytes.BEGIN_STRING_PREFIX)) {
-                    handler.onError(tagIndex, BEGIN_STRING_ERROR_MESSAGE);
-                    break;
-                }
-            }
-            // check MsgBody
-            else if (tagCount == 1) {
-                if (!ByteBufferUtil2.hasByte(buffer, tagIndex, FIXBytes.BODY_LEN_TAG)) {
-                    handler.onError(tagIndex, BODY_LEN_SECOND_FIELD_ERROR_MESSAGE);
-                    break;
+    /**
+     * Walks each complete message in the buffer in place. A trailing partial message is left
+     * for the next call, which expects it to have been moved to index 0 along with any newly
+     * read bytes, e.g. by compacting the consumed bytes away.
+     */
+    @Override
+    public int decodeMessages(ByteBuffer buffer, MessageDecodeHandler handler) {
+        reset();
+        final int endIndex = buffer.position();
+        int messageStartIndex = 0;
+        try {
+            while (messageStartIndex < endIndex) {
+                int checksumIndex = frame(buffer, messageStartIndex, endIndex, handler);
+                if (checksumIndex == PARTIAL_MESSAGE) {
+                    partialMessage = resumable;
+                    return messageStartIndex;
                 }
-                if (valueLen > 4) {
-                    handler.onError(tagIndex, BODY_LEN_INVALID_ERROR_MESSAGE);
-                    break;
+                if (checksumIndex == INVALID_MESSAGE) {
+                    return messageStartIndex;
                 }
-                bodyLen = ByteBufferUtil2.toInt(buffer, valueIndex, valueLen);
-
-                if (bodyLen < MIN_BODY_LEN || bodyLen > MAX_BODY_LEN) {
-                    handler.onError(tagIndex, BODY_LEN_INVALID_ERROR_MESSAGE);
-                    break;
+                handler.onMessageStart(buffer, messageStartIndex);
+                int result = tokenize(buffer, messageStartIndex, checksumIndex, handler);
+                if (result == INVALID_MESSAGE) {
+                    return messageStartIndex;
                 }
+                handler.onMessageEnd(buffer, messageStartIndex, result - messageStartIndex);
+                messageStartIndex = result;
+                clear();
+            }
+            return messageStartIndex;
+        } finally {
+            clear();
+        }
+    }
 
-                // return and wait for more data
-                if (bodyLen > buffer.limit()) {
-                    break;
+    /**
+     * Decodes the message at index 0 but only passes the fields in the projection to the handler.
+     * <p>
+     * The message is framed as usual, then fields are only tokenized until every projected tag has
+     * been seen and the rest of the body is left alone. Nothing is passed to the handler until
+     * every projected tag has been seen, then the projected fields are passed between onMessageStart
+     * and onMessageEnd. The CheckSum field itself is verified but never passed on.
+     * <p>
+     * A message cut short by the end of the buffer is handled as by decode(ByteBuffer, MessageDecodeHandler),
+     * so the handler hears nothing of it when resumable, see hasPartialMessage().
+     */
+    public void decode(ByteBuffer buffer, FieldProjection projection, MessageDecodeHandler handler) {
+        reset();
+        projection.clear();
+        final int endIndex = buffer.position();
+        try {
+            int checksumIndex = frame(buffer, 0, endIndex, handler);
+            if (checksumIndex == PARTIAL_MESSAGE) {
+                if (resumable) {
+                    partialMessage = true;
+                } else {
+                    handler.onError(endIndex, CHECKSUM_NOT_FOUND_ERROR_MESSAGE);
                 }
+                return;
             }
-
-            // check MsgType is the third field
-            else if (tagCount == 2) {
-                if (!ByteBufferUtil2.hasBytes(buffer, tagIndex, FIXBytes.MSG_TYPE_TAG_BYTES)) {
-                    handler.onError(tagIndex, MSG_TYPE_THIRD_FIELD_ERROR_MESSAGE);
-                    break;
+            if (checksumIndex == INVALID_MESSAGE) {
+                return;
+            }
+            while (tagIndex < checksumIndex && !projection.isComplete()) {
+                int startOfHeaderIndex = fieldEndIndex(buffer, checksumIndex, handler);
+                if (startOfHeaderIndex == INVALID_MESSAGE) {
+                    return;
                 }
+                int tagLen = equalIndex - tagIndex;
+                projection.onField(ByteBufferUtil2.toTag(buffer, tagIndex, tagLen), tagIndex, tagLen,
+                        startOfHeaderIndex - equalIndex - 1);
+                tagIndex = startOfHeaderIndex + 1;
+                tagCount++;
             }
+            handler.onMessageStart(buffer, 0);
+            projection.deliver(buffer, handler);
+            handler.onMessageEnd(buffer, 0, checksumIndex + FIXConstants.CHECKSUM_SIZE);
+        } finally {
+            clear();
+        }
+    }
 
-            // last consistency check for checksum field
-            if (ByteBufferUtil2.hasBytes(buffer, tagIndex, FIXBytes.CHECKSUM_PREFIX)) {
-                int actualBodyLength = tagIndex - bodyStartIndex;
-                if (bodyLen != actualBodyLength) {
-                    handler.onError(tagIndex, BODY_LEN_INCORRECT_ERROR_MESSAGE);
+    /**
+     * Decodes the message at index 0 only when the filter selects it, see hasSelectedMessage().
+     * <p>
+     * Each field is passed to the filter until it decides. A rejected message is not scanned any further
+     * and the handler hears nothing of it, so messages can be dropped on their header fields alone.
+     * A selected message is then decoded to the handler from the start, BodyLength and CheckSum
+     * included.
+     * <p>
+     * Always starts afresh, so don't mix with a resumable decode of the same buffer.
+     *
+     * @return the index after the CheckSum field, or PARTIAL_MESSAGE when the buffer does not yet hold
+     * the fields needed, or INVALID_MESSAGE when the handler has been notified of an error. The index
+     * of a rejected message comes from its BodyLength, unchecked, and may be past the buffer position
+     * so a stream can skip the rest of it as it arrives.
+     */
+    public int decode(ByteBuffer buffer, MessageFilter filter, MessageDecodeHandler handler) {
+        reset();
+        selectedMessage = false;
+        filter.onMessageStart(buffer);
+        final int endIndex = buffer.position();
+        try {
+            int decision = MessageFilter.UNDECIDED;
+            // BodyLength is read even when the filter has already decided, for the end of the message
+            while (decision == MessageFilter.UNDECIDED || tagCount < 2) {
+                if (tagCount >= 3 && tagIndex + FIXBytes.CHECKSUM_PREFIX.length <= endIndex
+                        && ByteBufferUtil2.hasBytes(buffer, tagIndex, FIXBytes.CHECKSUM_PREFIX)) {
+                    decision = filter.onMessageEnd();
                     break;
                 }
-                // check that checksum value is correct
-                int checksum = ByteBufferUtil2.toInt(buffer, valueIndex, valueLen);
-                int calculatedChecksum = ChecksumCalculator.calculateChecksum(
-                        buffer, initialOffset, tagIndex - initialOffset);
-
-                if (checksum != calculatedChecksum) {
-                    System.out.println("checksum:" + checksum + " calculatedChecksum: " + calculatedChecksum);
-                    handler.onError(tagIndex, CHECKSUM_INCORRECT_ERROR_MESSAGE);
-                    break;
+                equalIndex = DelimiterScanner.indexOf(buffer, tagIndex, endIndex, EQUALS);
+                if (equalIndex == NOT_FOUND_INDEX) {
+                    return PARTIAL_MESSAGE;
+                }
+                int tagLen = equalIndex - tagIndex;
+                int valueIndex = equalIndex + 1;
+                int startOfHeaderIndex = isDataField(buffer, tagLen)
+                        ? dataEndIndex(buffer, valueIndex, endIndex, handler)
+                        : DelimiterScanner.indexOf(buffer, valueIndex, endIndex, SOH);
+                if (startOfHeaderIndex == NOT_FOUND_INDEX) {
+                    return PARTIAL_MESSAGE;
+                }
+                if (startOfHeaderIndex == INVALID_MESSAGE) {
+                    return INVALID_MESSAGE;
+                }
+                int valueLen = startOfHeaderIndex - valueIndex;
+                if (!isValidHeaderField(buffer, valueIndex, valueLen, handler)
+                        || !isValidLengthField(buffer, tagLen, valueIndex, valueLen, handler)) {
+                    return INVALID_MESSAGE;
+                }
+                if (decision == MessageFilter.UNDECIDED) {
+                    decision = filter.onField(ByteBufferUtil2.toTag(buffer, tagIndex, tagLen), valueIndex, valueLen);
                 }
+                tagIndex = startOfHeaderIndex + 1;
+                if (tagCount == 1) {
+                    bodyStartIndex = tagIndex;
+                }
+                tagCount++;
+            }
+            if (decision != MessageFilter.SELECTED) {
+                return bodyStartIndex + bodyLen + FIXConstants.CHECKSUM_SIZE;
             }
+            clear();
+            int result = decodeMessage(buffer, 0, endIndex, handler);
+            selectedMessage = result >= 0;
+            return result;
+        } finally {
+            reset();
+        }
+    }
 
-            // notify handler of next tag value pair
-            handler.onTag(buffer, tagIndex, tagLen, valueLen);
+    /**
+     * Frames the message starting at messageStartIndex then passes its fields to the handler.
+     *
+     * @return the index after the CheckSum field, or PARTIAL_MESSAGE when more bytes are needed,
+     * or INVALID_MESSAGE when the handler has been notified of an error
+     */
+    private int decodeMessage(ByteBuffer buffer, int messageStartIndex, int endIndex, MessageDecodeHandler handler) {
+        int checksumIndex = frame(buffer, messageStartIndex, endIndex, handler);
+        if (checksumIndex < 0) {
+            return checksumIndex;
+        }
+        return tokenize(buffer, messageStartIndex, checksumIndex, handler);
+    }
 
-            // move offset to next available byte
-            tagIndex += (tagLen + valueLen + 2);
+    /**
+     * Finds the CheckSum field of the message starting at messageStartIndex from its BodyLength
+     * and verifies the checksum, without tokenizing the body. Leaves tagIndex at the start of the message.
+     *
+     * @return the index of the CheckSum field, or PARTIAL_MESSAGE when the buffer ends before it,
+     * or INVALID_MESSAGE when the handler has been notified of an error
+     */
+    private int frame(ByteBuffer buffer, int messageStartIndex, int endIndex, MessageDecodeHandler handler) {
+        // BeginString
+        int index = messageStartIndex + FIXBytes.BEGIN_STRING_PREFIX.length;
+        if (index > endIndex) {
+            return PARTIAL_MESSAGE;
+        }
+        if (!ByteBufferUtil2.hasBytes(buffer, messageStartIndex, FIXBytes.BEGIN_STRING_PREFIX)) {
+            handler.onError(messageStartIndex, BEGIN_STRING_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        int startOfHeaderIndex = DelimiterScanner.indexOf(buffer, index, endIndex, SOH);
+        if (startOfHeaderIndex == NOT_FOUND_INDEX) {
+            return PARTIAL_MESSAGE;
+        }
 
-            // keep a record of when the body starts
-            if (tagCount == 1) {
-                bodyStartIndex = tagIndex;
+        // BodyLength, all digits
+        int bodyLenIndex = startOfHeaderIndex + 1;
+        int valueIndex = bodyLenIndex + 2;
+        if (valueIndex > endIndex) {
+            return PARTIAL_MESSAGE;
+        }
+        if (!ByteBufferUtil2.hasByte(buffer, bodyLenIndex, FIXBytes.BODY_LEN_TAG)
+                || !ByteBufferUtil2.hasByte(buffer, bodyLenIndex + 1, EQUALS)) {
+            handler.onError(bodyLenIndex, BODY_LEN_SECOND_FIELD_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        bodyLen = 0;
+        for (index = valueIndex; index < endIndex && buffer.get(index) != SOH; index++) {
+            byte digit = buffer.get(index);
+            if (digit < '0' || digit > '9' || index - valueIndex == MAX_BODY_LEN_DIGITS) {
+                handler.onError(bodyLenIndex, BODY_LEN_INVALID_ERROR_MESSAGE);
+                return INVALID_MESSAGE;
             }
+            bodyLen = bodyLen * 10 + digit - '0';
+        }
+        if (index == endIndex) {
+            return PARTIAL_MESSAGE;
+        }
+        if (bodyLen < MIN_BODY_LEN || bodyLen > MAX_BODY_LEN) {
+            handler.onError(bodyLenIndex, BODY_LEN_INVALID_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        bodyStartIndex = index + 1;
+        int checksumIndex = bodyStartIndex + bodyLen;
+        if (checksumIndex + FIXConstants.CHECKSUM_SIZE - messageStartIndex > buffer.limit()) {
+            // the message can never fit in this buffer
+            handler.onError(bodyLenIndex, BODY_LEN_TOO_LARGE_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+
+        // MsgType, checked as soon as it has arrived
+        if (bodyStartIndex + MSG_TYPE_PREFIX_LEN <= endIndex
+                && (!ByteBufferUtil2.hasBytes(buffer, bodyStartIndex, FIXBytes.MSG_TYPE_TAG_BYTES)
+                || !ByteBufferUtil2.hasByte(buffer, bodyStartIndex + MSG_TYPE_PREFIX_LEN - 1, EQUALS))) {
+            handler.onError(bodyStartIndex, MSG_TYPE_THIRD_FIELD_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+
+        // CheckSum, straight from BodyLength
+        if (checksumIndex + FIXConstants.CHECKSUM_SIZE > endIndex) {
+            return PARTIAL_MESSAGE;
+        }
+        if (!ByteBufferUtil2.hasByte(buffer, checksumIndex - 1, SOH)
+                || !ByteBufferUtil2.hasBytes(buffer, checksumIndex, FIXBytes.CHECKSUM_PREFIX)
+                || !ByteBufferUtil2.hasByte(buffer, checksumIndex + FIXConstants.CHECKSUM_SIZE - 1, SOH)) {
+            handler.onError(checksumIndex, BODY_LEN_INCORRECT_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        int checksum = ChecksumCalculator.sum(buffer, messageStartIndex, checksumIndex) & 0xFF;
+        int expectedChecksum = ByteBufferUtil2.toInt(buffer, checksumIndex + FIXBytes.CHECKSUM_PREFIX.length,
+                CHECKSUM_VALUE_LEN);
+        if (expectedChecksum != checksum) {
+            handler.onError(checksumIndex, CHECKSUM_INCORRECT_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        tagIndex = messageStartIndex;
+        return checksumIndex;
+    }
 
-            // increment the tag counter
+    /**
+     * Passes each field of a framed message to the handler, the CheckSum field last.
+     *
+     * @return the index after the CheckSum field, or INVALID_MESSAGE when the handler has been notified of an error
+     */
+    private int tokenize(ByteBuffer buffer, int messageStartIndex, int checksumIndex, MessageDecodeHandler handler) {
+        tagIndex = messageStartIndex;
+        while (tagIndex < checksumIndex) {
+            int startOfHeaderIndex = fieldEndIndex(buffer, checksumIndex, handler);
+            if (startOfHeaderIndex == INVALID_MESSAGE) {
+                return INVALID_MESSAGE;
+            }
+            handler.onTag(buffer, tagIndex, equalIndex - tagIndex, startOfHeaderIndex - equalIndex - 1);
+            tagIndex = startOfHeaderIndex + 1;
             tagCount++;
         }
+        handler.onTag(buffer, checksumIndex, CHECKSUM_TAG_LEN, CHECKSUM_VALUE_LEN);
+        return checksumIndex + FIXConstants.CHECKSUM_SIZE;
+    }
+
+    /**
+     * Finds the end of the field at tagIndex in a framed message, whose body always ends with SOH,
+     * jumping over the value of a data field. Leaves equalIndex at the '=' of the field.
+     *
+     * @return the index of the SOH after the value, or INVALID_MESSAGE when the handler has been notified of an error
+     */
+    private int fieldEndIndex(ByteBuffer buffer, int checksumIndex, MessageDecodeHandler handler) {
+        equalIndex = DelimiterScanner.indexOf(buffer, tagIndex, checksumIndex, EQUALS);
+        if (equalIndex == NOT_FOUND_INDEX) {
+            handler.onError(tagIndex, EQUAL_NOT_FOUND_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        int tagLen = equalIndex - tagIndex;
+        int valueIndex = equalIndex + 1;
+        int startOfHeaderIndex = isDataField(buffer, tagLen)
+                ? dataEndIndex(buffer, valueIndex, checksumIndex, handler)
+                : DelimiterScanner.indexOf(buffer, valueIndex, checksumIndex, SOH);
+        if (startOfHeaderIndex < 0
+                || !isValidLengthField(buffer, tagLen, valueIndex, startOfHeaderIndex - valueIndex, handler)) {
+            return INVALID_MESSAGE;
+        }
+        return startOfHeaderIndex;
+    }
+
+    /**
+     * Checks the first three fields are BeginString, BodyLength and MsgType, saving the body length.
+     * Other fields are always valid here.
+     */
+    private boolean isValidHeaderField(ByteBuffer buffer, int valueIndex, int valueLen, MessageDecodeHandler handler) {
+        // check first tag is the FIX BeginString
+        if (tagCount == 0) {
+            if (!ByteBufferUtil2.hasBytes(buffer, tagIndex, FIXBytes.BEGIN_STRING_PREFIX)) {
+                handler.onError(tagIndex, BEGIN_STRING_ERROR_MESSAGE);
+                return false;
+            }
+        }
+        // check MsgBody
+        else if (tagCount == 1) {
+            if (!ByteBufferUtil2.hasByte(buffer, tagIndex, FIXBytes.BODY_LEN_TAG)) {
+                handler.onError(tagIndex, BODY_LEN_SECOND_FIELD_ERROR_MESSAGE);
+                return false;
+            }
+            if (valueLen > MAX_BODY_LEN_DIGITS) {
+                handler.onError(tagIndex, BODY_LEN_INVALID_ERROR_MESSAGE);
+                return false;
+            }
+            bodyLen = ByteBufferUtil2.toInt(buffer, valueIndex, valueLen);
+
+            if (bodyLen < MIN_BODY_LEN || bodyLen > MAX_BODY_LEN) {
+                handler.onError(tagIndex, BODY_LEN_INVALID_ERROR_MESSAGE);
+                return false;
+            }
+
+            // the message can never fit in this buffer
+            if (bodyLen > buffer.limit()) {
+                handler.onError(tagIndex, BODY_LEN_TOO_LARGE_ERROR_MESSAGE);
+                return false;
+            }
+        }
+
+        // check MsgType is the third field
+        else if (tagCount == 2) {
+            if (!ByteBufferUtil2.hasBytes(buffer, tagIndex, FIXBytes.MSG_TYPE_TAG_BYTES)) {
+                handler.onError(tagIndex, MSG_TYPE_THIRD_FIELD_ERROR_MESSAGE);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the field at tagIndex is the data field announced by the length field before it.
+     */
+    private boolean isDataField(ByteBuffer buffer, int tagLen) {
+        return dataTag != 0 && ByteBufferUtil2.toTag(buffer, tagIndex, tagLen) == dataTag;
+    }
+
+    /**
+     * Finds the end of a data field value from the length given by the field before it.
+     *
+     * @return the index of the SOH after the value, or NOT_FOUND_INDEX when the buffer ends first,
+     * or INVALID_MESSAGE when the handler has been notified that the length is wrong
+     */
+    private int dataEndIndex(ByteBuffer buffer, int valueIndex, int endIndex, MessageDecodeHandler handler) {
+        int startOfHeaderIndex = valueIndex + dataLength;
+        // the value can't run into the CheckSum field
+        if (startOfHeaderIndex >= bodyStartIndex + bodyLen) {
+            handler.onError(tagIndex, DATA_LEN_INCORRECT_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        if (startOfHeaderIndex >= endIndex) {
+            return NOT_FOUND_INDEX;
+        }
+        if (buffer.get(startOfHeaderIndex) != SOH) {
+            handler.onError(tagIndex, DATA_LEN_INCORRECT_ERROR_MESSAGE);
+            return INVALID_MESSAGE;
+        }
+        return startOfHeaderIndex;
     }
 
+    /**
+     * Remembers the data field and its length when the field is a length field, e.g. XmlDataLen(212),
+     * so that the next field can be jumped over. Other fields are always valid here.
+     */
+    private boolean isValidLengthField(ByteBuffer buffer, int tagLen, int valueIndex, int valueLen,
+                                       MessageDecodeHandler handler) {
+        dataTag = tagCount < 3 ? 0 : dataFields.dataTag(ByteBufferUtil2.toTag(buffer, tagIndex, tagLen));
+        if (dataTag == 0) {
+            return true;
+        }
+        dataLength = 0;
+        boolean valid = valueLen > 0 && valueLen <= MAX_BODY_LEN_DIGITS;
+        for (int index = valueIndex; valid && index < valueIndex + valueLen; index++) {
+            byte digit = buffer.get(index);
+            valid = digit >= '0' && digit <= '9';
+            dataLength = dataLength * 10 + digit - '0';
+        }
+        if (!valid) {
+            dataTag = 0;
+            handler.onError(tagIndex, DATA_LEN_INVALID_ERROR_MESSAGE);
+        }
+        return valid;
+    }
+
+    /**
+     * Forgets the message being decoded so the next one starts at index 0.
+     */
+    private void clear() {
+        tagIndex = 0;
+        equalIndex = NOT_FOUND_INDEX;
+        tagCount = 0;
+        bodyLen = 0;
+        bodyStartIndex = 0;
+        dataTag = 0;
+        dataLength = 0;
+    }
 }
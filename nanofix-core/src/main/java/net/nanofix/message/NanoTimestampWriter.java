@@ -1,28 +1,34 @@
 package net.nanofix.message;
 
+import net.nanofix.time.UtcTimestampEncoder;
+
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Writes a UTCTimestamp at the buffer position to the precision of its time unit, from seconds
+ * to nanoseconds. Writers cache the current second so are not to be shared between threads.
+ */
 public class NanoTimestampWriter implements TimestampWriter {
 
-    private static final TimestampWriter TIMESTAMP_MILLIS_WRITER = new NanoTimestampWriter(TimeUnit.MILLISECONDS);
-    private static final TimestampWriter NOOP_WRITER = (b, v) -> { /* NO-OP */};
-
-    private final TimeUnit timeUnit;
+    private final UtcTimestampEncoder encoder;
 
     public NanoTimestampWriter(TimeUnit timeUnit) {
-        this.timeUnit = timeUnit;
+        this.encoder = new UtcTimestampEncoder(timeUnit);
     }
 
+    /**
+     * A new writer for timestamps given in the time unit since the epoch.
+     */
     public static TimestampWriter getWriter(TimeUnit timeUnit) {
-        if (TimeUnit.MILLISECONDS == timeUnit) {
-            return TIMESTAMP_MILLIS_WRITER;
-        }
-        return NOOP_WRITER;
+        return new NanoTimestampWriter(timeUnit);
     }
 
     @Override
-    public void accept(ByteBuffer byteBuffer, long timestamp) {
-        long days = timeUnit.toDays(timestamp);
+    public int put(ByteBuffer byteBuffer, long timestamp) {
+        int position = byteBuffer.position();
+        int sum = encoder.encode(timestamp, byteBuffer, position);
+        byteBuffer.position(position + encoder.length());
+        return sum;
     }
 }
@@ -0,0 +1,71 @@
+package net.nanofix.message;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Numbers a set of tags from 0 to size() - 1, so state kept per tag can go in arrays sized to the
+ * set rather than to every tag. The number of a tag, its slot, is held in an array indexed by tag
+ * number, sized to the highest tag in the set.
+ * <p>
+ * Immutable so can be shared.
+ */
+public final class TagSlots {
+
+    public static final int NO_SLOT = -1;
+
+    private final int[] slots;
+    private final int size;
+
+    /**
+     * Slots in ascending tag order.
+     */
+    public TagSlots(BitSet tags) {
+        this.slots = new int[tags.length()];
+        Arrays.fill(slots, NO_SLOT);
+        int slot = 0;
+        for (int tag = tags.nextSetBit(0); tag >= 0; tag = tags.nextSetBit(tag + 1)) {
+            slots[tag] = slot++;
+        }
+        this.size = slot;
+    }
+
+    /**
+     * Slots in the order the tags are given.
+     *
+     * @throws IllegalArgumentException if a tag is negative or appears twice
+     */
+    public TagSlots(int... tags) {
+        int maxTag = -1;
+        for (int tag : tags) {
+            if (tag < 0) {
+                throw new IllegalArgumentException("Invalid tag " + tag);
+            }
+            maxTag = Math.max(maxTag, tag);
+        }
+        this.slots = new int[maxTag + 1];
+        Arrays.fill(slots, NO_SLOT);
+        for (int slot = 0; slot < tags.length; slot++) {
+            if (slots[tags[slot]] != NO_SLOT) {
+                throw new IllegalArgumentException("Tag " + tags[slot] + " appears twice");
+            }
+            slots[tags[slot]] = slot;
+        }
+        this.size = tags.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The slot of the tag, or NO_SLOT when it is not in the set.
+     */
+    public int slot(int tag) {
+        return tag >= 0 && tag < slots.length ? slots[tag] : NO_SLOT;
+    }
+
+    public boolean contains(int tag) {
+        return slot(tag) != NO_SLOT;
+    }
+}
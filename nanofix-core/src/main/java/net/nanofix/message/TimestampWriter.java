@@ -5,7 +5,16 @@ import java.util.function.ObjLongConsumer;
 
 public interface TimestampWriter extends ObjLongConsumer<ByteBuffer> {
 
+    /**
+     * Writes the timestamp at the buffer position, moving the position past it.
+     *
+     * @return the sum of the bytes written
+     */
+    int put(ByteBuffer byteBuffer, long timestamp);
+
     @Override
-    void accept(ByteBuffer byteBuffer, long value);
+    default void accept(ByteBuffer byteBuffer, long value) {
+        put(byteBuffer, value);
+    }
 
 }
@@ -0,0 +1,116 @@
+package net.nanofix.message.dictionary;
+
+import net.nanofix.message.FIXConstants.SessionRejectReason;
+import net.nanofix.message.MsgTypeResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A FIX dictionary compiled into flat tables for validating messages as they are decoded,
+ * see ValidatingDecodeHandler.
+ * <p>
+ * Field types and the values of single char enumerations are held in arrays indexed by tag, and
+ * each MsgType has bitsets of the fields it allows, indexed by tag, found through the same table
+ * index as MsgTypeResolver. Immutable once loaded, so one dictionary can be shared by any number
+ * of handlers.
+ */
+public final class Dictionary {
+
+    static final long NO_REJECT = -1L;
+
+    private final String beginString;
+    private final FieldType[] fieldTypes;
+    // a 128 bit mask of the allowed ASCII values for fields with single char enumerations
+    private final long[][] charValues;
+    private final MessageDefinition[] messages;
+
+    Dictionary(String beginString, FieldType[] fieldTypes, long[][] charValues, MessageDefinition[] messages) {
+        this.beginString = beginString;
+        this.fieldTypes = fieldTypes;
+        this.charValues = charValues;
+        this.messages = messages;
+    }
+
+    /**
+     * Loads a QuickFIX style XML dictionary, e.g. FIX44.xml.
+     *
+     * @throws IllegalArgumentException if the dictionary is not valid
+     */
+    public static Dictionary load(InputStream in) throws IOException {
+        return new DictionaryLoader().load(in);
+    }
+
+    /**
+     * The BeginString of the FIX version, e.g. FIX.4.4.
+     */
+    public String beginString() {
+        return beginString;
+    }
+
+    /**
+     * The highest tag defined.
+     */
+    public int maxTag() {
+        return fieldTypes.length - 1;
+    }
+
+    public boolean isDefined(int tag) {
+        return tag > 0 && tag < fieldTypes.length && fieldTypes[tag] != null;
+    }
+
+    /**
+     * The type of the field, or null when it is not defined.
+     */
+    public FieldType fieldType(int tag) {
+        return isDefined(tag) ? fieldTypes[tag] : null;
+    }
+
+    public boolean hasMsgType(String msgType) {
+        return message(msgType) != null;
+    }
+
+    /**
+     * Whether the field is allowed in messages of the MsgType, anywhere including repeating groups.
+     */
+    public boolean isAllowed(String msgType, int tag) {
+        MessageDefinition message = message(msgType);
+        return message != null && isDefined(tag) && message.isAllowed(tag);
+    }
+
+    /**
+     * The definition of the MsgType in the len bytes at offset, or null when it is not defined.
+     */
+    MessageDefinition message(ByteBuffer buffer, int offset, int len) {
+        int index = MsgTypeResolver.index(buffer, offset, len);
+        return index < 0 ? null : messages[index];
+    }
+
+    MessageDefinition message(String msgType) {
+        byte[] bytes = new byte[msgType.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) msgType.charAt(i);
+        }
+        return message(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Checks a value of a defined field against its type and enumeration.
+     *
+     * @return the SessionRejectReason, or NO_REJECT when the value is valid
+     */
+    long checkValue(int tag, ByteBuffer buffer, int offset, int len) {
+        if (!fieldTypes[tag].isValid(buffer, offset, len)) {
+            return SessionRejectReason.INCORRECT_DATA_FORMAT_FOR_VALUE;
+        }
+        long[] values = charValues[tag];
+        if (values != null) {
+            int value = buffer.get(offset);
+            if (len != 1 || value < 0 || (values[value >>> 6] & (1L << value)) == 0) {
+                return SessionRejectReason.VALUE_IS_INCORRECT_OUT_OF_RANGE_FOR_THIS_TAG;
+            }
+        }
+        return NO_REJECT;
+    }
+}
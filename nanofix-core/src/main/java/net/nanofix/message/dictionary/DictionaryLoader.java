@@ -0,0 +1,248 @@
+package net.nanofix.message.dictionary;
+
+import net.nanofix.message.MsgTypeResolver;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a QuickFIX style XML dictionary, with header, trailer, messages, components and fields
+ * sections, into a Dictionary. Components are expanded in place and repeating groups flattened,
+ * their fields allowed anywhere in the message but only required within each group.
+ */
+final class DictionaryLoader {
+
+    private final Map<String, Integer> fieldNumbers = new HashMap<>();
+    private final Map<String, Element> components = new HashMap<>();
+    private final Set<String> expanding = new HashSet<>();
+    private FieldType[] fieldTypes;
+    private long[][] charValues;
+
+    Dictionary load(InputStream in) throws IOException {
+        Element root = parse(in).getDocumentElement();
+        if (!"fix".equals(root.getTagName())) {
+            throw new IllegalArgumentException("Dictionary must have a fix root element");
+        }
+        String beginString = ("FIXT".equals(root.getAttribute("type")) ? "FIXT." : "FIX.")
+                + root.getAttribute("major") + "." + root.getAttribute("minor");
+        loadFields(requiredChild(root, "fields"));
+        Element componentsElement = child(root, "components");
+        if (componentsElement != null) {
+            for (Element component : children(componentsElement)) {
+                components.put(component.getAttribute("name"), component);
+            }
+        }
+        Layout common = new Layout(fieldTypes.length);
+        addMembers(requiredChild(root, "header"), common, true, false);
+        addMembers(requiredChild(root, "trailer"), common, true, false);
+
+        MessageDefinition[] messages = new MessageDefinition[MsgTypeResolver.TABLE_SIZE];
+        for (Element message : children(requiredChild(root, "messages"))) {
+            String msgType = message.getAttribute("msgtype");
+            byte[] bytes = msgType.getBytes(StandardCharsets.US_ASCII);
+            int index = MsgTypeResolver.index(ByteBuffer.wrap(bytes), 0, bytes.length);
+            if (index < 0) {
+                throw new IllegalArgumentException("MsgType of 1 or 2 ASCII chars expected, not '" + msgType + "'");
+            }
+            Layout layout = common.copy();
+            addMembers(message, layout, true, false);
+            messages[index] = layout.toDefinition(msgType, message.getAttribute("name"));
+        }
+        return new Dictionary(beginString, fieldTypes, charValues, messages);
+    }
+
+    private void loadFields(Element fields) {
+        List<Element> definitions = children(fields);
+        int maxTag = 0;
+        for (Element field : definitions) {
+            int tag = parseTag(field.getAttribute("number"));
+            fieldNumbers.put(field.getAttribute("name"), tag);
+            maxTag = Math.max(maxTag, tag);
+        }
+        fieldTypes = new FieldType[maxTag + 1];
+        charValues = new long[maxTag + 1][];
+        for (Element field : definitions) {
+            int tag = parseTag(field.getAttribute("number"));
+            String type = field.getAttribute("type");
+            fieldTypes[tag] = FieldType.of(type);
+            if (!type.startsWith("MULTIPLE")) {
+                charValues[tag] = charValues(children(field));
+            }
+        }
+    }
+
+    /**
+     * The enumerated values as a 128 bit mask, or null when there are none or any is not a single ASCII char.
+     */
+    private static long[] charValues(List<Element> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        long[] mask = new long[2];
+        for (Element value : values) {
+            String enumValue = value.getAttribute("enum");
+            if (enumValue.length() != 1 || enumValue.charAt(0) > 0x7F) {
+                return null;
+            }
+            mask[enumValue.charAt(0) >>> 6] |= 1L << enumValue.charAt(0);
+        }
+        return mask;
+    }
+
+    /**
+     * Adds the fields, groups and components of the element to the layout.
+     *
+     * @param required whether the fields the element requires are required in the message
+     * @param inGroup  whether the element is within a repeating group
+     */
+    private void addMembers(Element element, Layout layout, boolean required, boolean inGroup) {
+        for (Element member : children(element)) {
+            boolean memberRequired = required && !inGroup && "Y".equals(member.getAttribute("required"));
+            String name = member.getAttribute("name");
+            switch (member.getTagName()) {
+                case "field":
+                    layout.add(fieldNumber(name), memberRequired, inGroup);
+                    break;
+                case "group":
+                    layout.add(fieldNumber(name), memberRequired, inGroup);
+                    addMembers(member, layout, false, true);
+                    break;
+                case "component":
+                    Element component = components.get(name);
+                    if (component == null) {
+                        throw new IllegalArgumentException("Unknown component " + name);
+                    }
+                    if (!expanding.add(name)) {
+                        throw new IllegalArgumentException("Component " + name + " contains itself");
+                    }
+                    addMembers(component, layout, memberRequired, inGroup);
+                    expanding.remove(name);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected element " + member.getTagName() + " in " + element.getTagName());
+            }
+        }
+    }
+
+    private int fieldNumber(String name) {
+        Integer tag = fieldNumbers.get(name);
+        if (tag == null) {
+            throw new IllegalArgumentException("Unknown field " + name);
+        }
+        return tag;
+    }
+
+    private static int parseTag(String number) {
+        try {
+            int tag = Integer.parseInt(number);
+            if (tag > 0) {
+                return tag;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid field number '" + number + "'");
+    }
+
+    private static Document parse(InputStream in) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            // throws on fatal errors rather than also printing them
+            builder.setErrorHandler(new DefaultHandler());
+            return builder.parse(in);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalArgumentException("Invalid dictionary: " + e.getMessage(), e);
+        }
+    }
+
+    private static Element requiredChild(Element parent, String name) {
+        Element child = child(parent, name);
+        if (child == null) {
+            throw new IllegalArgumentException("Dictionary must have a " + name + " element");
+        }
+        return child;
+    }
+
+    private static Element child(Element parent, String name) {
+        for (Element child : children(parent)) {
+            if (name.equals(child.getTagName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
+                children.add((Element) node);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * The fields of a message as it is built.
+     */
+    private static final class Layout {
+
+        private final long[] allowed;
+        private final long[] repeatable;
+        private final Set<Integer> requiredTags;
+
+        Layout(int tagCount) {
+            this(new long[(tagCount + 63) >>> 6], new long[(tagCount + 63) >>> 6], new LinkedHashSet<>());
+        }
+
+        private Layout(long[] allowed, long[] repeatable, Set<Integer> requiredTags) {
+            this.allowed = allowed;
+            this.repeatable = repeatable;
+            this.requiredTags = requiredTags;
+        }
+
+        void add(int tag, boolean required, boolean inGroup) {
+            allowed[tag >>> 6] |= 1L << tag;
+            if (inGroup) {
+                repeatable[tag >>> 6] |= 1L << tag;
+            }
+            if (required) {
+                requiredTags.add(tag);
+            }
+        }
+
+        Layout copy() {
+            return new Layout(allowed.clone(), repeatable.clone(), new LinkedHashSet<>(requiredTags));
+        }
+
+        MessageDefinition toDefinition(String msgType, String name) {
+            int[] tags = new int[requiredTags.size()];
+            int i = 0;
+            for (int tag : requiredTags) {
+                tags[i++] = tag;
+            }
+            return new MessageDefinition(msgType, name, allowed, repeatable, tags);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package net.nanofix.message.dictionary;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The formats a field value is checked against, each covering the dictionary types that share it,
+ * e.g. PRICE, QTY and AMT are all FLOAT.
+ */
+public enum FieldType {
+
+    STRING {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            return true;
+        }
+    },
+    CHAR {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            return len == 1;
+        }
+    },
+    BOOLEAN {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            return len == 1 && (buffer.get(offset) == 'Y' || buffer.get(offset) == 'N');
+        }
+    },
+    INT {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            int start = len > 1 && buffer.get(offset) == '-' ? offset + 1 : offset;
+            return start < offset + len && digits(buffer, start, offset + len) == offset + len;
+        }
+    },
+    FLOAT {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            int end = offset + len;
+            int start = len > 1 && buffer.get(offset) == '-' ? offset + 1 : offset;
+            int index = digits(buffer, start, end);
+            int digitCount = index - start;
+            if (index < end && buffer.get(index) == '.') {
+                int fractionEnd = digits(buffer, index + 1, end);
+                digitCount += fractionEnd - index - 1;
+                index = fractionEnd;
+            }
+            return index == end && digitCount > 0;
+        }
+    },
+    /**
+     * yyyyMMdd, for UTCDATEONLY and LOCALMKTDATE.
+     */
+    DATE {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            return len == 8 && digits(buffer, offset, offset + 8) == offset + 8;
+        }
+    },
+    /**
+     * HH:mm:ss with an optional fraction of a second.
+     */
+    TIME {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            return isTime(buffer, offset, len);
+        }
+    },
+    /**
+     * yyyyMMdd-HH:mm:ss with an optional fraction of a second.
+     */
+    UTCTIMESTAMP {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            return len > 9 && DATE.isValid(buffer, offset, 8) && buffer.get(offset + 8) == '-'
+                    && isTime(buffer, offset + 9, len - 9);
+        }
+    },
+    /**
+     * yyyyMM with an optional day or week, e.g. 202012w2.
+     */
+    MONTHYEAR {
+        @Override
+        boolean isValid(ByteBuffer buffer, int offset, int len) {
+            return (len == 6 || len == 8) && digits(buffer, offset, offset + 6) == offset + 6;
+        }
+    };
+
+    /**
+     * True when the len bytes at offset are a value of this type.
+     */
+    abstract boolean isValid(ByteBuffer buffer, int offset, int len);
+
+    /**
+     * The type that checks a type named in a QuickFIX dictionary, STRING for any other.
+     */
+    public static FieldType of(String dictionaryType) {
+        switch (dictionaryType) {
+            case "CHAR":
+                return CHAR;
+            case "BOOLEAN":
+                return BOOLEAN;
+            case "INT":
+            case "LENGTH":
+            case "NUMINGROUP":
+            case "SEQNUM":
+            case "TAGNUM":
+            case "DAYOFMONTH":
+                return INT;
+            case "FLOAT":
+            case "PRICE":
+            case "PRICEOFFSET":
+            case "QTY":
+            case "AMT":
+            case "PERCENTAGE":
+                return FLOAT;
+            case "UTCDATEONLY":
+            case "UTCDATE":
+            case "LOCALMKTDATE":
+            case "DATE":
+                return DATE;
+            case "UTCTIMEONLY":
+            case "TIME":
+                return TIME;
+            case "UTCTIMESTAMP":
+                return UTCTIMESTAMP;
+            case "MONTHYEAR":
+                return MONTHYEAR;
+            default:
+                return STRING;
+        }
+    }
+
+    private static boolean isTime(ByteBuffer buffer, int offset, int len) {
+        if (len != 8 && (len < 10 || buffer.get(offset + 8) != '.' || digits(buffer, offset + 9, offset + len) != offset + len)) {
+            return false;
+        }
+        return digits(buffer, offset, offset + 2) == offset + 2 && buffer.get(offset + 2) == ':'
+                && digits(buffer, offset + 3, offset + 5) == offset + 5 && buffer.get(offset + 5) == ':'
+                && digits(buffer, offset + 6, offset + 8) == offset + 8;
+    }
+
+    /**
+     * @return the index of the first byte from start that is not a digit, or end
+     */
+    private static int digits(ByteBuffer buffer, int start, int end) {
+        int index = start;
+        while (index < end && buffer.get(index) >= '0' && buffer.get(index) <= '9') {
+            index++;
+        }
+        return index;
+    }
+}
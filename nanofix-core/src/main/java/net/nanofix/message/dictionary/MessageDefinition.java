@@ -0,0 +1,49 @@
+package net.nanofix.message.dictionary;
+
+/**
+ * The fields of one MsgType flattened into bitsets indexed by tag, the header and trailer included,
+ * so whether a field belongs to the message is a single bit test.
+ */
+final class MessageDefinition {
+
+    private final String msgType;
+    private final String name;
+    private final long[] allowed;
+    // fields of repeating groups, which may appear more than once
+    private final long[] repeatable;
+    private final int[] requiredTags;
+
+    MessageDefinition(String msgType, String name, long[] allowed, long[] repeatable, int[] requiredTags) {
+        this.msgType = msgType;
+        this.name = name;
+        this.allowed = allowed;
+        this.repeatable = repeatable;
+        this.requiredTags = requiredTags;
+    }
+
+    String msgType() {
+        return msgType;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * The tag must be defined in the dictionary.
+     */
+    boolean isAllowed(int tag) {
+        return (allowed[tag >>> 6] & (1L << tag)) != 0;
+    }
+
+    boolean isRepeatable(int tag) {
+        return (repeatable[tag >>> 6] & (1L << tag)) != 0;
+    }
+
+    /**
+     * The fields required outside of repeating groups, in the order they are defined.
+     */
+    int[] requiredTags() {
+        return requiredTags;
+    }
+}
@@ -0,0 +1,192 @@
+package net.nanofix.message.dictionary;
+
+import net.nanofix.field.FieldNames;
+import net.nanofix.message.FIXConstants.SessionRejectReason;
+import net.nanofix.message.MessageDecodeHandler;
+import net.nanofix.message.Tags;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Validates each field against a Dictionary as it is decoded, passing every callback on to the
+ * handler it wraps, and keeps the SessionRejectReason and RefTagID of the first problem found in
+ * the message for a Reject(3).
+ * <p>
+ * Each field costs a bit test to check it belongs to the MsgType, an array load for its type
+ * and a check of its value; required fields are checked when the CheckSum is reached. Tags
+ * seen are marked with a per message generation, so nothing is cleared between messages.
+ * <p>
+ * The result is for the message last decoded, reset on its BeginString. Not thread safe.
+ */
+public final class ValidatingDecodeHandler implements MessageDecodeHandler {
+
+    private static final int INVALID_TAG = -1;
+    private static final int MAX_TAG_LENGTH = 9;
+    // indexed by SessionRejectReason
+    private static final String[] REASON_TEXTS = {
+            "Invalid tag number", "Required tag missing", "Tag not defined for this message type", "Undefined tag",
+            "Tag specified without a value", "Value is incorrect (out of range) for this tag",
+            "Incorrect data format for value", "Decryption problem", "Signature problem", "CompID problem",
+            "SendingTime accuracy problem", "Invalid MsgType", "XML validation error", "Tag appears more than once"
+    };
+
+    private final Dictionary dictionary;
+    private final MessageDecodeHandler handler;
+    // the generation of the message each tag was last seen in
+    private final int[] generations;
+    private int generation;
+    private MessageDefinition message;
+    private long rejectReason = Dictionary.NO_REJECT;
+    private int refTagId;
+
+    public ValidatingDecodeHandler(Dictionary dictionary, MessageDecodeHandler handler) {
+        if (dictionary == null || handler == null) {
+            throw new IllegalArgumentException("Arguments 'dictionary' and 'handler' are required");
+        }
+        this.dictionary = dictionary;
+        this.handler = handler;
+        this.generations = new int[dictionary.maxTag() + 1];
+    }
+
+    @Override
+    public void onMessageStart(ByteBuffer buffer, int messageIndex) {
+        startMessage();
+        handler.onMessageStart(buffer, messageIndex);
+    }
+
+    @Override
+    public void onTag(ByteBuffer buffer, int tagIndex, int tagLen, int valueLen) {
+        int tag = parseTag(buffer, tagIndex, tagLen);
+        if (tag == Tags.BeginString) {
+            startMessage();
+        }
+        if (rejectReason == Dictionary.NO_REJECT) {
+            validate(tag, buffer, tagIndex + tagLen + 1, valueLen);
+        }
+        handler.onTag(buffer, tagIndex, tagLen, valueLen);
+    }
+
+    @Override
+    public void onError(int index, String message) {
+        handler.onError(index, message);
+    }
+
+    @Override
+    public void onMessageEnd(ByteBuffer buffer, int messageIndex, int messageLen) {
+        handler.onMessageEnd(buffer, messageIndex, messageLen);
+    }
+
+    /**
+     * True when no problem has been found in the message so far.
+     */
+    public boolean isValid() {
+        return rejectReason == Dictionary.NO_REJECT;
+    }
+
+    /**
+     * The SessionRejectReason(373) of the first problem found, or -1 when the message is valid.
+     */
+    public long sessionRejectReason() {
+        return rejectReason;
+    }
+
+    /**
+     * The RefTagID(371) of the first problem found, 0 for an invalid tag number or when the message is valid.
+     */
+    public int refTagId() {
+        return refTagId;
+    }
+
+    /**
+     * A description of the first problem found for the Text(58) of a Reject, or null when the message is valid.
+     */
+    public String rejectText() {
+        if (isValid()) {
+            return null;
+        }
+        String fieldName = FieldNames.getFieldName(refTagId);
+        return reasonText(rejectReason) + ", field " + refTagId + (fieldName == null ? "" : " (" + fieldName + ")");
+    }
+
+    private void validate(int tag, ByteBuffer buffer, int valueIndex, int valueLen) {
+        if (tag == INVALID_TAG) {
+            reject(SessionRejectReason.INVALID_TAG_NUMBER, 0);
+            return;
+        }
+        if (!dictionary.isDefined(tag)) {
+            reject(SessionRejectReason.UNDEFINED_TAG, tag);
+            return;
+        }
+        if (valueLen == 0) {
+            reject(SessionRejectReason.TAG_SPECIFIED_WITHOUT_A_VALUE, tag);
+            return;
+        }
+        if (tag == Tags.MsgType && message == null) {
+            message = dictionary.message(buffer, valueIndex, valueLen);
+            if (message == null) {
+                reject(SessionRejectReason.INVALID_MSGTYPE, tag);
+                return;
+            }
+        } else if (message != null && !message.isAllowed(tag)) {
+            reject(SessionRejectReason.TAG_NOT_DEFINED_FOR_THIS_MESSAGE_TYPE, tag);
+            return;
+        } else if (generations[tag] == generation && (message == null || !message.isRepeatable(tag))) {
+            reject(SessionRejectReason.TAG_APPEARS_MORE_THAN_ONCE, tag);
+            return;
+        }
+        long valueReason = dictionary.checkValue(tag, buffer, valueIndex, valueLen);
+        if (valueReason != Dictionary.NO_REJECT) {
+            reject(valueReason, tag);
+            return;
+        }
+        generations[tag] = generation;
+        if (tag == Tags.CheckSum && message != null) {
+            checkRequired();
+        }
+    }
+
+    private void checkRequired() {
+        for (int tag : message.requiredTags()) {
+            if (generations[tag] != generation) {
+                reject(SessionRejectReason.REQUIRED_TAG_MISSING, tag);
+                return;
+            }
+        }
+    }
+
+    private void reject(long reason, int tag) {
+        rejectReason = reason;
+        refTagId = tag;
+    }
+
+    private void startMessage() {
+        if (++generation == 0) {
+            // wrapped, so older marks could be taken for this message
+            Arrays.fill(generations, 0);
+            generation = 1;
+        }
+        message = null;
+        rejectReason = Dictionary.NO_REJECT;
+        refTagId = 0;
+    }
+
+    private static int parseTag(ByteBuffer buffer, int tagIndex, int tagLen) {
+        if (tagLen == 0 || tagLen > MAX_TAG_LENGTH || buffer.get(tagIndex) == '0') {
+            return INVALID_TAG;
+        }
+        int tag = 0;
+        for (int index = tagIndex; index < tagIndex + tagLen; index++) {
+            int digit = buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID_TAG;
+            }
+            tag = tag * 10 + digit;
+        }
+        return tag;
+    }
+
+    private static String reasonText(long reason) {
+        return reason < REASON_TEXTS.length ? REASON_TEXTS[(int) reason] : "Reject reason " + reason;
+    }
+}
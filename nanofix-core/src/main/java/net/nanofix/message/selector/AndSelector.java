@@ -0,0 +1,44 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.message.FieldValues;
+import net.nanofix.message.MessageFilter;
+
+import java.util.BitSet;
+
+/**
+ * Selects messages that all the selectors select. Rejects as soon as any of them rejects,
+ * even while others are undecided.
+ */
+public class AndSelector implements MessageSelector {
+
+    private final MessageSelector[] selectors;
+
+    public AndSelector(MessageSelector... selectors) {
+        if (selectors == null || selectors.length == 0) {
+            throw new IllegalArgumentException("Argument 'selectors' is null or empty");
+        }
+        this.selectors = selectors.clone();
+    }
+
+    @Override
+    public int evaluate(FieldValues fields) {
+        int result = MessageFilter.SELECTED;
+        for (MessageSelector selector : selectors) {
+            int selectorResult = selector.evaluate(fields);
+            if (selectorResult == MessageFilter.REJECTED) {
+                return MessageFilter.REJECTED;
+            }
+            if (selectorResult == MessageFilter.UNDECIDED) {
+                result = MessageFilter.UNDECIDED;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void addTags(BitSet tags) {
+        for (MessageSelector selector : selectors) {
+            selector.addTags(tags);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.message.FieldValues;
+import net.nanofix.message.MessageFilter;
+import net.nanofix.message.TagSlots;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A selector compiled by SelectorCompiler, which can also filter messages as they are decoded,
+ * see NanoFIXMessageDecoder.decode(ByteBuffer, MessageFilter, MessageDecodeHandler).
+ * <p>
+ * As a filter it keeps the position of the first occurrence of each tag the selector reads and
+ * evaluates the selector each time one is found, so e.g. 35 = D and 55 = VOD.L rejects an
+ * ExecutionReport at MsgType without looking at the rest of the message. It holds the state of
+ * the message being decoded, so should only be used by one decoder at a time.
+ */
+public final class CompiledSelector implements MessageSelector, MessageFilter {
+
+    private static final int NOT_FOUND = -1;
+
+    private final String expression;
+    private final MessageSelector selector;
+    private final TagSlots slots;
+    private final CurrentFields fields;
+
+    CompiledSelector(String expression, MessageSelector selector) {
+        this.expression = expression;
+        this.selector = selector;
+        BitSet tags = new BitSet();
+        selector.addTags(tags);
+        this.slots = new TagSlots(tags);
+        this.fields = new CurrentFields(slots.size());
+    }
+
+    @Override
+    public int evaluate(FieldValues fields) {
+        return selector.evaluate(fields);
+    }
+
+    @Override
+    public void addTags(BitSet tags) {
+        selector.addTags(tags);
+    }
+
+    @Override
+    public void onMessageStart(ByteBuffer buffer) {
+        fields.clear(buffer);
+    }
+
+    @Override
+    public int onField(int tag, int valueIndex, int valueLen) {
+        int slot = slots.slot(tag);
+        if (slot == TagSlots.NO_SLOT || !fields.add(slot, valueIndex, valueLen)) {
+            return UNDECIDED;
+        }
+        return selector.evaluate(fields);
+    }
+
+    @Override
+    public int onMessageEnd() {
+        fields.complete = true;
+        return selector.evaluate(fields);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * The fields the selector reads that have been found in the message so far.
+     */
+    private final class CurrentFields implements FieldValues {
+
+        private final int[] valueIndexes;
+        private final int[] valueLengths;
+        private ByteBuffer buffer;
+        private boolean complete;
+
+        CurrentFields(int size) {
+            this.valueIndexes = new int[size];
+            this.valueLengths = new int[size];
+            Arrays.fill(valueIndexes, NOT_FOUND);
+        }
+
+        void clear(ByteBuffer buffer) {
+            Arrays.fill(valueIndexes, NOT_FOUND);
+            this.buffer = buffer;
+            this.complete = false;
+        }
+
+        /**
+         * @return false when the tag has already been found
+         */
+        boolean add(int slot, int valueIndex, int valueLen) {
+            if (valueIndexes[slot] != NOT_FOUND) {
+                return false;
+            }
+            valueIndexes[slot] = valueIndex;
+            valueLengths[slot] = valueLen;
+            return true;
+        }
+
+        @Override
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        @Override
+        public int valueIndex(int tag) {
+            int slot = slots.slot(tag);
+            return slot == TagSlots.NO_SLOT ? NOT_FOUND : valueIndexes[slot];
+        }
+
+        @Override
+        public int valueLength(int tag) {
+            int index = valueIndex(tag);
+            return index == NOT_FOUND ? NOT_FOUND : valueLengths[slots.slot(tag)];
+        }
+
+        @Override
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.message.FieldValues;
+import net.nanofix.message.MessageFilter;
+import net.nanofix.message.MsgTypeResolver;
+import net.nanofix.util.ByteString;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Selects messages with the field equal to any of a set of values.
+ * <p>
+ * When every value is one or two ASCII chars, as MsgTypes and most enumerated fields are, the
+ * values are held as bits in a table indexed like MsgTypeResolver's, so a lookup is one load and
+ * one test whatever the number of values. Longer values are compared in turn, length first.
+ */
+public class FieldInSelector implements MessageSelector {
+
+    private final int tag;
+    private final ByteString[] values;
+    // one bit per MsgTypeResolver index, or null when a value is longer
+    private final long[] shortValues;
+
+    public FieldInSelector(int tag, Collection<ByteString> values) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("Argument 'values' is null or empty");
+        }
+        this.tag = tag;
+        this.values = values.toArray(new ByteString[0]);
+        this.shortValues = asShortValues(this.values);
+    }
+
+    @Override
+    public int evaluate(FieldValues fields) {
+        int index = fields.valueIndex(tag);
+        if (index < 0) {
+            return fields.isComplete() ? MessageFilter.REJECTED : MessageFilter.UNDECIDED;
+        }
+        return contains(fields.buffer(), index, fields.valueLength(tag))
+                ? MessageFilter.SELECTED
+                : MessageFilter.REJECTED;
+    }
+
+    @Override
+    public void addTags(BitSet tags) {
+        tags.set(tag);
+    }
+
+    private boolean contains(ByteBuffer buffer, int index, int len) {
+        if (shortValues != null) {
+            int shortIndex = MsgTypeResolver.index(buffer, index, len);
+            return shortIndex >= 0 && (shortValues[shortIndex >>> 6] & 1L << shortIndex) != 0;
+        }
+        for (ByteString value : values) {
+            if (value.contentEquals(buffer, index, len)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] asShortValues(ByteString[] values) {
+        long[] bits = new long[MsgTypeResolver.TABLE_SIZE / Long.SIZE];
+        for (ByteString value : values) {
+            int index = MsgTypeResolver.index(ByteBuffer.wrap(value.bytes()), 0, value.length());
+            if (index < 0) {
+                return null;
+            }
+            bits[index >>> 6] |= 1L << index;
+        }
+        return bits;
+    }
+}
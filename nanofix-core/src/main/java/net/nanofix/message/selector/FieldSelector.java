@@ -1,35 +1,72 @@
 package net.nanofix.message.selector;
 
 import net.nanofix.field.RawField;
-import net.nanofix.message.FIXMessage;
+import net.nanofix.message.FieldValues;
+import net.nanofix.message.MessageFilter;
 import net.nanofix.field.Field;
+import net.nanofix.util.ByteArrayUtil;
+import net.nanofix.util.ByteString;
+
+import java.util.BitSet;
 
 /**
  * User: Mark
  * Date: 31/03/12
  * Time: 11:38
+ * <p>
+ * Selects messages with the field equal to a value, or with the field at all for a tag only field.
  */
 public class FieldSelector implements MessageSelector {
 
-    private final Field field;
     private static final byte[] ANY_FIELD_VALUE = new byte[] { -1 };
 
+    private final int tag;
+    // null for any value
+    private final ByteString value;
+
     public FieldSelector(Field field) {
         if (field == null) {
             throw new IllegalArgumentException("Argument 'field' is null");
         }
-        this.field = field;
+        this.tag = field.getTag();
+        this.value = field.getValue() == ANY_FIELD_VALUE ? null : new ByteString(valueBytes(field.getValue()));
+    }
+
+    /**
+     * @param value the value to select, or null for any value
+     */
+    public FieldSelector(int tag, ByteString value) {
+        this.tag = tag;
+        this.value = value;
+    }
+
+    @Override
+    public int evaluate(FieldValues fields) {
+        int index = fields.valueIndex(tag);
+        if (index < 0) {
+            return fields.isComplete() ? MessageFilter.REJECTED : MessageFilter.UNDECIDED;
+        }
+        return value == null || value.contentEquals(fields.buffer(), index, fields.valueLength(tag))
+                ? MessageFilter.SELECTED
+                : MessageFilter.REJECTED;
     }
 
     @Override
-    public boolean select(FIXMessage msg) {
-        return false;
-//        Object value = msg.getFieldValue(field.getTag());
-//        return ANY_FIELD_VALUE == field.getValue()
-//                || value != null && field.getValue().equals(value);
+    public void addTags(BitSet tags) {
+        tags.set(tag);
     }
 
     public static Field getTagOnlyField(int tag) {
         return new RawField(tag, ANY_FIELD_VALUE);
     }
+
+    private static byte[] valueBytes(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        if (value instanceof Boolean) {
+            return ByteArrayUtil.asByteArray((Boolean) value ? "Y" : "N");
+        }
+        return ByteArrayUtil.asByteArray(String.valueOf(value));
+    }
 }
@@ -1,18 +1,38 @@
 package net.nanofix.message.selector;
 
-import net.nanofix.message.FIXMessage;
+import net.nanofix.message.FieldValues;
+import net.nanofix.message.MessageFilter;
+
+import java.util.BitSet;
 
 /**
  * User: Mark
  * Date: 31/03/12
  * Time: 11:37
+ * <p>
+ * Selects messages on their field values, compared in place in the buffer. A selector can be
+ * evaluated while the message is still being decoded, when it may not be able to decide yet.
+ * See SelectorCompiler for selectors written as expressions.
  */
 public interface MessageSelector {
 
+    /**
+     * @return MessageFilter.SELECTED or REJECTED, or UNDECIDED when the answer depends on a field
+     * that has not been seen yet
+     */
+    int evaluate(FieldValues fields);
+
+    /**
+     * Adds the tags the selector reads.
+     */
+    void addTags(BitSet tags);
+
     /**
      * Return true when the given message is selected
-     * @param msg given FIXMessage
+     * @param fields the fields of the whole message
      * @return true when selected, else false
      */
-    boolean select(FIXMessage msg);
+    default boolean select(FieldValues fields) {
+        return evaluate(fields) == MessageFilter.SELECTED;
+    }
 }
@@ -1,50 +1,50 @@
 package net.nanofix.message.selector;
 
-import net.nanofix.message.FIXMessage;
+import net.nanofix.message.Tags;
+import net.nanofix.util.ByteString;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * User: Mark
  * Date: 31/03/12
  * Time: 11:38
+ * <p>
+ * Selects messages of any of the MsgTypes. MsgType is always the third field, so a decode with this
+ * selector as its filter can reject a message before reading the body.
  */
-public class MsgTypeSelector implements MessageSelector {
-
-    private final List<String> msgTypes = new ArrayList<String>();
+public class MsgTypeSelector extends FieldInSelector {
 
     public MsgTypeSelector(String msgType) {
-        add(msgType);
+        this(Collections.singletonList(msgType));
     }
 
     public MsgTypeSelector(List<String> msgTypes) {
+        super(Tags.MsgType, asByteStrings(msgTypes));
+    }
+
+    private static List<ByteString> asByteStrings(List<String> msgTypes) {
         if (msgTypes == null)
             throw new IllegalArgumentException("Argument 'msgTypes' is null");
         if (msgTypes.isEmpty())
             throw new IllegalArgumentException("Argument 'msgTypes' is empty");
 
+        List<ByteString> values = new ArrayList<ByteString>();
         for (String msgType : msgTypes) {
-            add(msgType);
-        }
-    }
-
-    private void add(String msgType) {
-        if (msgType == null) {
-            throw new IllegalArgumentException("Argument 'msgType' is null");
-        }
-        if (msgType.isEmpty()) {
-            throw new IllegalArgumentException("Argument 'msgType' is an empty string");
-        }
-        if (msgTypes.contains(msgType)) {
-            throw new IllegalArgumentException("Duplicate msgType specified '" + msgType + "'");
+            if (msgType == null) {
+                throw new IllegalArgumentException("Argument 'msgType' is null");
+            }
+            if (msgType.isEmpty()) {
+                throw new IllegalArgumentException("Argument 'msgType' is an empty string");
+            }
+            ByteString value = ByteString.of(msgType);
+            if (values.contains(value)) {
+                throw new IllegalArgumentException("Duplicate msgType specified '" + msgType + "'");
+            }
+            values.add(value);
         }
-        msgTypes.add(msgType);
-    }
-
-    @Override
-    public boolean select(FIXMessage msg) {
-        throw new UnsupportedOperationException();
-        //return msgTypes.contains(msg.getMsgType());
+        return values;
     }
 }
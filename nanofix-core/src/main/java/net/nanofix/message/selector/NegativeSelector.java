@@ -1,11 +1,14 @@
 package net.nanofix.message.selector;
 
-import net.nanofix.message.FIXMessage;
+import net.nanofix.message.FieldValues;
+import net.nanofix.message.MessageFilter;
+
+import java.util.BitSet;
 
 /**
  * Used to negate the result of the underlying selector.
  * For example, the underlying selector would return all messages matching a selection criteria, so this selector would
- * return all messages that don't match the selection criteria.
+ * return all messages that don't match the selection criteria. While the underlying selector is undecided so is this one.
  */
 public class NegativeSelector implements MessageSelector {
 
@@ -19,7 +22,14 @@ public class NegativeSelector implements MessageSelector {
     }
 
     @Override
-    public boolean select(FIXMessage msg) {
-        return !selector.select(msg);
+    public int evaluate(FieldValues fields) {
+        int result = selector.evaluate(fields);
+        // SELECTED and REJECTED are 1 and 0
+        return result == MessageFilter.UNDECIDED ? result : result ^ 1;
+    }
+
+    @Override
+    public void addTags(BitSet tags) {
+        selector.addTags(tags);
     }
 }
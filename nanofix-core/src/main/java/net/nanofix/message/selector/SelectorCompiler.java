@@ -0,0 +1,208 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.util.ByteString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles selector expressions such as
+ * <pre>
+ * 35 in (D,G,F) and 55 = VOD.L and not 59 = 3
+ * </pre>
+ * into a tree of selectors that compare field values in place in the buffer.
+ * <ul>
+ * <li>{@code tag = value} and {@code tag != value}, a value with spaces or any of {@code (),=!} goes in single quotes</li>
+ * <li>{@code tag in (value, ...)}</li>
+ * <li>{@code tag} on its own for a field that is present</li>
+ * <li>{@code not}, {@code and} and {@code or}, binding in that order, and parentheses</li>
+ * </ul>
+ * Keywords are not case sensitive, values are. A field that is absent equals no value,
+ * so {@code tag != value} selects messages without the field.
+ */
+public final class SelectorCompiler {
+
+    private static final int MAX_TAG = 99_999;
+    private static final String DELIMITERS = "(),=!'";
+
+    private SelectorCompiler() {
+        // can't touch this
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not valid, saying where
+     */
+    public static CompiledSelector compile(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Argument 'expression' is null");
+        }
+        return new CompiledSelector(expression, new Parser(expression).parse());
+    }
+
+    private static final class Parser {
+
+        private final String expression;
+        private int index;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        MessageSelector parse() {
+            MessageSelector selector = or();
+            skipWhitespace();
+            if (index < expression.length()) {
+                throw error("Unexpected '" + expression.charAt(index) + "'");
+            }
+            return selector;
+        }
+
+        private MessageSelector or() {
+            List<MessageSelector> selectors = new ArrayList<MessageSelector>();
+            selectors.add(and());
+            while (acceptKeyword("or")) {
+                selectors.add(and());
+            }
+            return selectors.size() == 1
+                    ? selectors.get(0)
+                    : new OrSelector(selectors.toArray(new MessageSelector[0]));
+        }
+
+        private MessageSelector and() {
+            List<MessageSelector> selectors = new ArrayList<MessageSelector>();
+            selectors.add(unary());
+            while (acceptKeyword("and")) {
+                selectors.add(unary());
+            }
+            return selectors.size() == 1
+                    ? selectors.get(0)
+                    : new AndSelector(selectors.toArray(new MessageSelector[0]));
+        }
+
+        private MessageSelector unary() {
+            if (acceptKeyword("not")) {
+                return new NegativeSelector(unary());
+            }
+            if (accept("(")) {
+                MessageSelector selector = or();
+                expect(")");
+                return selector;
+            }
+            return predicate();
+        }
+
+        private MessageSelector predicate() {
+            int tag = tag();
+            if (accept("=")) {
+                return new FieldSelector(tag, value());
+            }
+            if (accept("!=")) {
+                return new NegativeSelector(new FieldSelector(tag, value()));
+            }
+            if (acceptKeyword("in")) {
+                expect("(");
+                List<ByteString> values = new ArrayList<ByteString>();
+                do {
+                    values.add(value());
+                } while (accept(","));
+                expect(")");
+                return new FieldInSelector(tag, values);
+            }
+            return new FieldSelector(tag, null);
+        }
+
+        private int tag() {
+            skipWhitespace();
+            int end = wordEnd();
+            if (end == index) {
+                throw error("Tag expected");
+            }
+            int tag = 0;
+            for (int i = index; i < end; i++) {
+                char c = expression.charAt(i);
+                if (c < '0' || c > '9' || tag > MAX_TAG) {
+                    throw error("Tag of 1 to " + MAX_TAG + " expected");
+                }
+                tag = tag * 10 + c - '0';
+            }
+            if (tag < 1 || tag > MAX_TAG) {
+                throw error("Tag of 1 to " + MAX_TAG + " expected");
+            }
+            index = end;
+            return tag;
+        }
+
+        private ByteString value() {
+            skipWhitespace();
+            int start;
+            int end;
+            if (accept("'")) {
+                start = index;
+                end = expression.indexOf('\'', start);
+                if (end < 0) {
+                    throw error("Closing quote expected");
+                }
+                index = end + 1;
+            } else {
+                start = index;
+                end = wordEnd();
+                if (end == start) {
+                    throw error("Value expected");
+                }
+                index = end;
+            }
+            for (int i = start; i < end; i++) {
+                if (expression.charAt(i) > 0x7F) {
+                    index = i;
+                    throw error("ASCII value expected");
+                }
+            }
+            return ByteString.of(expression.substring(start, end));
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            skipWhitespace();
+            int end = wordEnd();
+            if (end - index == keyword.length() && expression.regionMatches(true, index, keyword, 0, keyword.length())) {
+                index = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean accept(String symbol) {
+            skipWhitespace();
+            if (expression.startsWith(symbol, index)) {
+                index += symbol.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String symbol) {
+            if (!accept(symbol)) {
+                throw error("'" + symbol + "' expected");
+            }
+        }
+
+        private int wordEnd() {
+            int end = index;
+            while (end < expression.length()
+                    && !Character.isWhitespace(expression.charAt(end))
+                    && DELIMITERS.indexOf(expression.charAt(end)) < 0) {
+                end++;
+            }
+            return end;
+        }
+
+        private void skipWhitespace() {
+            while (index < expression.length() && Character.isWhitespace(expression.charAt(index))) {
+                index++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at index " + index + " in '" + expression + "'");
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.message.FieldValues;
+import net.nanofix.util.ByteString;
+import net.nanofix.util.ByteStringPool;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Matches a message against many subscriptions at once, each one or more fields that must equal
+ * a value, such as a MsgType and a Symbol, or none at all for a wildcard that matches every message.
+ * <p>
+ * Each subscription is filed under one of its fields, the one whose value has the fewest subscriptions
+ * so far, in a hash table per tag from value bytes to the set of subscriptions, looked up in place in the
+ * buffer. Matching looks up the value of each filed tag in the message and checks the other fields of
+ * the subscriptions found, so subscriptions to a Symbol are only looked at for messages on that Symbol
+ * however many share a MsgType. The cost follows the tags filed under and the subscriptions found,
+ * not the number of subscriptions.
+ * <p>
+ * Subscription ids are small ints reused after unsubscribe, so callers can keep their consumers in an array.
+ * Values stay in the tables once subscribed, so they should come from a bounded set. Not thread safe.
+ */
+public final class SubscriptionIndex {
+
+    private static final int FREE = -1;
+
+    private int[] tags = new int[0];
+    private ValueTable[] tables = new ValueTable[0];
+    private final BitSet wildcards = new BitSet();
+    private final BitSet freeIds = new BitSet();
+
+    // the field each subscription is filed under, FREE once unsubscribed
+    private int[] keyFields = new int[16];
+    private int[][] subscribedTags = new int[16][];
+    private ByteString[][] subscribedValues = new ByteString[16][];
+    private int nextId;
+    private int size;
+    private int wildcardCount;
+
+    /**
+     * Subscribes to every message.
+     */
+    public int subscribe() {
+        return subscribe(new int[0], new ByteString[0]);
+    }
+
+    public int subscribe(int tag, ByteString value) {
+        return subscribe(new int[] { tag }, new ByteString[] { value });
+    }
+
+    public int subscribe(int tag1, ByteString value1, int tag2, ByteString value2) {
+        return subscribe(new int[] { tag1, tag2 }, new ByteString[] { value1, value2 });
+    }
+
+    /**
+     * Subscribes to messages with each of the tags equal to the value at the same position.
+     *
+     * @return the subscription id
+     */
+    public int subscribe(int[] tags, ByteString[] values) {
+        if (tags == null || values == null || tags.length != values.length) {
+            throw new IllegalArgumentException("Arguments 'tags' and 'values' must be the same length");
+        }
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] < 1 || values[i] == null) {
+                throw new IllegalArgumentException("Invalid field " + tags[i] + "=" + values[i]);
+            }
+            for (int j = 0; j < i; j++) {
+                if (tags[i] == tags[j]) {
+                    throw new IllegalArgumentException("Duplicate tag " + tags[i]);
+                }
+            }
+        }
+        int id = newId();
+        subscribedTags[id] = tags.clone();
+        subscribedValues[id] = values.clone();
+        if (tags.length == 0) {
+            keyFields[id] = 0;
+            wildcards.set(id);
+            wildcardCount++;
+        } else {
+            int keyField = 0;
+            int fewest = Integer.MAX_VALUE;
+            for (int i = 0; i < tags.length; i++) {
+                ValueTable table = findTable(tags[i]);
+                int count = table == null ? 0 : table.count(values[i]);
+                if (count < fewest) {
+                    keyField = i;
+                    fewest = count;
+                }
+            }
+            keyFields[id] = keyField;
+            table(tags[keyField]).subscribers(values[keyField]).set(id);
+        }
+        size++;
+        return id;
+    }
+
+    public void unsubscribe(int id) {
+        if (id < 0 || id >= nextId || keyFields[id] == FREE) {
+            throw new IllegalArgumentException("Unknown subscription " + id);
+        }
+        if (subscribedTags[id].length == 0) {
+            wildcards.clear(id);
+            wildcardCount--;
+        } else {
+            int keyField = keyFields[id];
+            findTable(subscribedTags[id][keyField]).subscribers(subscribedValues[id][keyField]).clear(id);
+        }
+        keyFields[id] = FREE;
+        subscribedTags[id] = null;
+        subscribedValues[id] = null;
+        freeIds.set(id);
+        size--;
+    }
+
+    /**
+     * Sets the ids of the subscriptions matching the message in matches, clearing it first.
+     *
+     * @return the number of subscriptions matched
+     */
+    public int match(FieldValues message, BitSet matches) {
+        matches.clear();
+        matches.or(wildcards);
+        ByteBuffer buffer = message.buffer();
+        int matchCount = wildcardCount;
+        for (int i = 0; i < tags.length; i++) {
+            int valueIndex = message.valueIndex(tags[i]);
+            if (valueIndex < 0) {
+                continue;
+            }
+            BitSet subscribers = tables[i].find(buffer, valueIndex, message.valueLength(tags[i]));
+            if (subscribers == null) {
+                continue;
+            }
+            for (int id = subscribers.nextSetBit(0); id >= 0; id = subscribers.nextSetBit(id + 1)) {
+                if (matchesOtherFields(id, message)) {
+                    matches.set(id);
+                    matchCount++;
+                }
+            }
+        }
+        return matchCount;
+    }
+
+    /**
+     * @return the number of subscriptions
+     */
+    public int size() {
+        return size;
+    }
+
+    private boolean matchesOtherFields(int id, FieldValues message) {
+        int[] fieldTags = subscribedTags[id];
+        for (int i = 0; i < fieldTags.length; i++) {
+            if (i == keyFields[id]) {
+                continue;
+            }
+            int valueIndex = message.valueIndex(fieldTags[i]);
+            if (valueIndex < 0
+                    || !subscribedValues[id][i].contentEquals(message.buffer(), valueIndex, message.valueLength(fieldTags[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int newId() {
+        int id = freeIds.nextSetBit(0);
+        if (id >= 0) {
+            freeIds.clear(id);
+            return id;
+        }
+        if (nextId == keyFields.length) {
+            int capacity = nextId * 2;
+            keyFields = Arrays.copyOf(keyFields, capacity);
+            subscribedTags = Arrays.copyOf(subscribedTags, capacity);
+            subscribedValues = Arrays.copyOf(subscribedValues, capacity);
+        }
+        return nextId++;
+    }
+
+    private ValueTable findTable(int tag) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i] == tag) {
+                return tables[i];
+            }
+        }
+        return null;
+    }
+
+    private ValueTable table(int tag) {
+        ValueTable table = findTable(tag);
+        if (table != null) {
+            return table;
+        }
+        tags = Arrays.copyOf(tags, tags.length + 1);
+        tables = Arrays.copyOf(tables, tables.length + 1);
+        tags[tags.length - 1] = tag;
+        tables[tables.length - 1] = new ValueTable();
+        return tables[tables.length - 1];
+    }
+
+    /**
+     * The subscriptions wanting each value of one tag, by the id of the value in a ByteStringPool,
+     * so a value in a buffer is found without copying it.
+     */
+    private static final class ValueTable {
+
+        private final ByteStringPool values = new ByteStringPool(8);
+        private BitSet[] subscribers = new BitSet[8];
+
+        BitSet find(ByteBuffer buffer, int offset, int len) {
+            int id = values.idOf(buffer, offset, len);
+            return id == ByteStringPool.NOT_FOUND ? null : subscribers[id];
+        }
+
+        int count(ByteString value) {
+            int id = values.idOf(value);
+            return id == ByteStringPool.NOT_FOUND ? 0 : subscribers[id].cardinality();
+        }
+
+        BitSet subscribers(ByteString value) {
+            int id = values.idOf(values.intern(value));
+            if (id == subscribers.length) {
+                subscribers = Arrays.copyOf(subscribers, id * 2);
+            }
+            if (subscribers[id] == null) {
+                subscribers[id] = new BitSet();
+            }
+            return subscribers[id];
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.nanofix.message.util;
+
+import net.nanofix.util.FIXBytes;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes the chars of a CharSequence as ASCII straight into a ByteBuffer at its position,
+ * returning the sum of the bytes written so the caller can keep its running checksum.
+ * Nothing is allocated, so a StringBuilder can be reused for every message.
+ */
+public final class AsciiWriter {
+
+    private static final char MAX_ASCII = 0x7F;
+
+    private AsciiWriter() {
+        // can't touch this
+    }
+
+    /**
+     * Writes the chars from start up to end. Chars above 0x7F and SOH are rejected, and the
+     * buffer's position is then left where it was.
+     *
+     * @throws IllegalArgumentException if a char is not ASCII or is SOH
+     * @throws BufferOverflowException  if the chars do not fit
+     */
+    public static int putAscii(ByteBuffer buffer, CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d) out of bounds for length %d", start, end, value.length()));
+        }
+        int index = buffer.position();
+        if (end - start > buffer.limit() - index) {
+            throw new BufferOverflowException();
+        }
+        int sum = buffer.hasArray()
+                ? putAscii(buffer.array(), buffer.arrayOffset() + index, value, start, end)
+                : putAsciiAbsolute(buffer, index, value, start, end);
+        buffer.position(index + end - start);
+        return sum;
+    }
+
+    private static int putAscii(byte[] bytes, int offset, CharSequence value, int start, int end) {
+        int sum = 0;
+        for (int i = start; i < end; i++) {
+            char c = checkAscii(value, i);
+            bytes[offset++] = (byte) c;
+            sum += c;
+        }
+        return sum;
+    }
+
+    private static int putAsciiAbsolute(ByteBuffer buffer, int index, CharSequence value, int start, int end) {
+        int sum = 0;
+        for (int i = start; i < end; i++) {
+            char c = checkAscii(value, i);
+            buffer.put(index++, (byte) c);
+            sum += c;
+        }
+        return sum;
+    }
+
+    private static char checkAscii(CharSequence value, int index) {
+        char c = value.charAt(index);
+        if (c > MAX_ASCII || c == FIXBytes.SOH) {
+            throw new IllegalArgumentException(
+                    String.format("ASCII expected at index %d: 0x%04X", index, (int) c));
+        }
+        return c;
+    }
+}
@@ -29,6 +29,49 @@ public final class ChecksumCalculator {
         return checksum % 256;
     }
 
+    /**
+     * Sums the unsigned bytes from fromIndex up to, but not including, toIndex.
+     */
+    public static int sum(ByteBuffer buffer, int fromIndex, int toIndex) {
+        if (VectorScanner.AVAILABLE && buffer.hasArray()) {
+            return VectorScanner.sum(buffer, fromIndex, toIndex);
+        }
+        return swarSum(buffer, fromIndex, toIndex);
+    }
+
+    /**
+     * Sums a word of eight bytes at a time, then any trailing bytes one at a time.
+     */
+    static int swarSum(ByteBuffer buffer, int fromIndex, int toIndex) {
+        int sum = 0;
+        int index = fromIndex;
+        for (; index + Long.BYTES <= toIndex; index += Long.BYTES) {
+            sum += DelimiterScanner.sumBytes(buffer.getLong(index));
+        }
+        for (; index < toIndex; index++) {
+            sum += buffer.get(index) & 0xFF;
+        }
+        return sum;
+    }
+
+    /**
+     * Sums the unsigned bytes in the array.
+     */
+    public static int sum(byte[] bytes) {
+        int sum = 0;
+        for (byte aByte : bytes) {
+            sum += aByte & 0xFF;
+        }
+        return sum;
+    }
+
+    /**
+     * The three byte checksum value for a running sum of message bytes.
+     */
+    public static byte[] checksumBytes(int sum) {
+        return CHECKSUMS[sum & 0xFF];
+    }
+
     public static byte[] calculateChecksum(ByteBuffer[] buffers) {
         int checksum = 0;
         if (buffers != null) {
@@ -0,0 +1,165 @@
+package net.nanofix.message.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static net.nanofix.message.ByteBufferUtil2.NOT_FOUND_INDEX;
+
+/**
+ * Finds a delimiter byte (e.g. SOH or '=') in a ByteBuffer a word at a time (SWAR).
+ * <p>
+ * Eight bytes are read with a single absolute getLong() and XORed with the wanted byte
+ * repeated in every lane, so matching bytes become zero. The zero byte test used is the
+ * carry free variant, so there are no false positives and the first match can be taken
+ * from either end of the word depending on the byte order of the buffer.
+ * Any trailing bytes (fewer than eight) are checked one at a time.
+ * <p>
+ * Works with heap and direct buffers as only the absolute get methods are used.
+ * <p>
+ * The indexOfAndSum variant also adds up the bytes as they are scanned, so the FIX checksum
+ * can be kept without reading the message a second time.
+ * <p>
+ * On Java 21 the multi-release jar holds a Vector API version of VectorScanner, which is used
+ * instead for heap buffers when the jdk.incubator.vector module has been added to the JVM.
+ */
+public final class DelimiterScanner {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long LOW_BYTES = 0x00FF00FF00FF00FFL;
+    private static final long LOW_SHORTS = 0x0001000100010001L;
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    private DelimiterScanner() {
+        // can't touch this
+    }
+
+    /**
+     * Returns the index of the first occurrence of value from startIndex up to,
+     * but not including, the buffer position.
+     */
+    public static int indexOf(ByteBuffer buffer, int startIndex, byte value) {
+        return indexOf(buffer, startIndex, buffer.position(), value);
+    }
+
+    /**
+     * Returns the index of the first occurrence of value from startIndex up to,
+     * but not including, toIndex.
+     */
+    public static int indexOf(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        if (VectorScanner.AVAILABLE && buffer.hasArray()) {
+            return VectorScanner.indexOf(buffer, startIndex, toIndex, value);
+        }
+        return swarIndexOf(buffer, startIndex, toIndex, value);
+    }
+
+    static int swarIndexOf(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        final long pattern = pattern(value);
+        final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        int index = startIndex;
+        for (; index + Long.BYTES <= toIndex; index += Long.BYTES) {
+            final long matches = matches(buffer.getLong(index), pattern);
+            if (matches != 0) {
+                return index + firstMatch(matches, bigEndian);
+            }
+        }
+        for (; index < toIndex; index++) {
+            if (buffer.get(index) == value) return index;
+        }
+        return NOT_FOUND_INDEX;
+    }
+
+    /**
+     * Same as indexOf but also sums the unsigned bytes scanned, from startIndex up to and including
+     * the matching byte, or up to toIndex when there is no match.
+     * Both are packed into the returned long, use index() and sum() to unpack them.
+     */
+    public static long indexOfAndSum(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        if (VectorScanner.AVAILABLE && buffer.hasArray()) {
+            return VectorScanner.indexOfAndSum(buffer, startIndex, toIndex, value);
+        }
+        return swarIndexOfAndSum(buffer, startIndex, toIndex, value);
+    }
+
+    static long swarIndexOfAndSum(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        final long pattern = pattern(value);
+        final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        int sum = 0;
+        int index = startIndex;
+        for (; index + Long.BYTES <= toIndex; index += Long.BYTES) {
+            final long word = buffer.getLong(index);
+            final long matches = matches(word, pattern);
+            if (matches != 0) {
+                sum += sumBytes(word & upToFirstMatch(matches, bigEndian));
+                return pack(index + firstMatch(matches, bigEndian), sum);
+            }
+            sum += sumBytes(word);
+        }
+        for (; index < toIndex; index++) {
+            final byte aByte = buffer.get(index);
+            sum += aByte & 0xFF;
+            if (aByte == value) return pack(index, sum);
+        }
+        return pack(NOT_FOUND_INDEX, sum);
+    }
+
+    /**
+     * The index unpacked from the result of indexOfAndSum.
+     */
+    public static int index(long indexAndSum) {
+        return (int) indexAndSum;
+    }
+
+    /**
+     * The sum unpacked from the result of indexOfAndSum.
+     */
+    public static int sum(long indexAndSum) {
+        return (int) (indexAndSum >>> 32);
+    }
+
+    static long pack(int index, int sum) {
+        return ((long) sum << 32) | (index & INDEX_MASK);
+    }
+
+    /**
+     * Adds up the eight unsigned bytes of a word, pairs first then the four 16 bit lanes with one multiply.
+     */
+    static int sumBytes(long word) {
+        final long pairs = (word & LOW_BYTES) + ((word >>> 8) & LOW_BYTES);
+        return (int) ((pairs * LOW_SHORTS) >>> 48);
+    }
+
+    /**
+     * Mask covering the bytes in memory order up to and including the first match.
+     */
+    static long upToFirstMatch(long matches, boolean bigEndian) {
+        return bigEndian
+                ? -(Long.highestOneBit(matches) >>> 7)
+                : (Long.lowestOneBit(matches) << 1) - 1;
+    }
+
+    /**
+     * The given byte copied into all eight lanes of a long.
+     */
+    static long pattern(byte value) {
+        return (value & 0xFFL) * ONES;
+    }
+
+    /**
+     * Returns a word with the high bit set in every lane where word equals pattern.
+     */
+    static long matches(long word, long pattern) {
+        final long input = word ^ pattern;
+        final long tmp = (input & LOW_BITS) + LOW_BITS;
+        return ~(tmp | input | LOW_BITS);
+    }
+
+    /**
+     * Offset of the first matching byte in memory order.
+     */
+    static int firstMatch(long matches, boolean bigEndian) {
+        return (bigEndian
+                ? Long.numberOfLeadingZeros(matches)
+                : Long.numberOfTrailingZeros(matches)) >>> 3;
+    }
+}
@@ -0,0 +1,169 @@
+package net.nanofix.message.util;
+
+import net.nanofix.util.Decimal;
+import net.nanofix.util.FIXBytes;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes numbers as ASCII straight into a ByteBuffer at its position, returning the sum of
+ * the bytes written so the caller can keep its running checksum.
+ * <p>
+ * Digits are written two at a time from a table of the pairs 00 to 99, working back from the
+ * end of the number once its length is known, so nothing is allocated whatever the value.
+ */
+public final class NumberWriter {
+
+    // the ASCII digits of 00 to 99, two bytes per pair
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+    // 10^0 to 10^18, the largest power of ten a long can hold
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i * 2] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[i * 2 + 1] = (byte) ('0' + i % 10);
+        }
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private NumberWriter() {
+        // can't touch this
+    }
+
+    /**
+     * Writes the tag followed by '=', the start of every field.
+     */
+    public static int putTag(ByteBuffer buffer, int tag) {
+        int sum = putInt(buffer, tag);
+        buffer.put(FIXBytes.EQUALS);
+        return sum + FIXBytes.EQUALS;
+    }
+
+    public static int putInt(ByteBuffer buffer, int value) {
+        return putLong(buffer, value);
+    }
+
+    /**
+     * The number of bytes putLong writes for the value.
+     */
+    public static int length(long value) {
+        return value < 0 ? 1 + digitCount(value) : digitCount(-value);
+    }
+
+    public static int putLong(ByteBuffer buffer, long value) {
+        int index = buffer.position();
+        int sum = 0;
+        // digits are taken from the negative value so Long.MIN_VALUE needs no special case
+        long negativeValue = value;
+        if (value < 0) {
+            buffer.put(index++, (byte) '-');
+            sum += '-';
+        } else {
+            negativeValue = -value;
+        }
+        int end = index + digitCount(negativeValue);
+        sum += putDigits(buffer, end, negativeValue, end - index);
+        buffer.position(end);
+        return sum;
+    }
+
+    /**
+     * Writes a value of zero or more as exactly digits digits, zero padded, at the index
+     * without moving the position, e.g. to fill in a count reserved earlier.
+     *
+     * @throws IllegalArgumentException if the value is negative or has more digits
+     */
+    public static int putZeroPadded(ByteBuffer buffer, int index, long value, int digits) {
+        if (value < 0 || length(value) > digits) {
+            throw new IllegalArgumentException("Value " + value + " does not fit in " + digits + " digits");
+        }
+        return putDigits(buffer, index + digits, -value, digits);
+    }
+
+    /**
+     * Writes mantissa * 10^-scale with exactly scale digits after the decimal point,
+     * e.g. a mantissa of -5 with a scale of 2 is written as -0.05.
+     */
+    public static int putDecimal(ByteBuffer buffer, long mantissa, int scale) {
+        if (scale < 0 || scale > Decimal.MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + Decimal.MAX_SCALE + ": " + scale);
+        }
+        int index = buffer.position();
+        int sum = 0;
+        long negativeValue = mantissa;
+        if (mantissa < 0) {
+            buffer.put(index++, (byte) '-');
+            sum += '-';
+        } else {
+            negativeValue = -mantissa;
+        }
+        long power = POWERS_OF_TEN[scale];
+        long integerPart = negativeValue / power;
+        int end = index + digitCount(integerPart);
+        sum += putDigits(buffer, end, integerPart, end - index);
+        if (scale > 0) {
+            buffer.put(end, (byte) '.');
+            sum += '.';
+            end += 1 + scale;
+            sum += putDigits(buffer, end, negativeValue % power, scale);
+        }
+        buffer.position(end);
+        return sum;
+    }
+
+    /**
+     * Writes exactly digits digits of a value that is zero or negative, zero padded,
+     * ending just before end.
+     */
+    private static int putDigits(ByteBuffer buffer, int end, long negativeValue, int digits) {
+        int start = end - digits;
+        int index = end;
+        int sum = 0;
+        // long division only while the value is too big for an int
+        while (negativeValue < Integer.MIN_VALUE) {
+            long quotient = negativeValue / 100;
+            int pair = (int) (quotient * 100 - negativeValue);
+            negativeValue = quotient;
+            index -= 2;
+            sum += putPair(buffer, index, pair);
+        }
+        int value = (int) negativeValue;
+        while (index - start >= 2) {
+            int quotient = value / 100;
+            int pair = quotient * 100 - value;
+            value = quotient;
+            index -= 2;
+            sum += putPair(buffer, index, pair);
+        }
+        if (index > start) {
+            byte digit = (byte) ('0' - value);
+            buffer.put(start, digit);
+            sum += digit;
+        }
+        return sum;
+    }
+
+    private static int putPair(ByteBuffer buffer, int index, int pair) {
+        byte tens = DIGIT_PAIRS[pair * 2];
+        byte units = DIGIT_PAIRS[pair * 2 + 1];
+        buffer.put(index, tens);
+        buffer.put(index + 1, units);
+        return tens + units;
+    }
+
+    /**
+     * The number of digits in a value that is zero or negative.
+     */
+    private static int digitCount(long negativeValue) {
+        for (int count = 1; count < POWERS_OF_TEN.length; count++) {
+            if (negativeValue > -POWERS_OF_TEN[count]) {
+                return count;
+            }
+        }
+        return POWERS_OF_TEN.length;
+    }
+}
@@ -0,0 +1,36 @@
+package net.nanofix.message.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The Vector API scanner is only in the Java 21 version of the multi-release jar,
+ * see src/main/java21. On earlier JVMs it is never available and the word at a time
+ * code in DelimiterScanner and ChecksumCalculator is used instead.
+ * <p>
+ * AVAILABLE is set from a method rather than a constant so javac doesn't fold the vector
+ * branch out of the callers, which have to pick up the Java 21 version at runtime.
+ */
+final class VectorScanner {
+
+    static final boolean AVAILABLE = isAvailable();
+
+    private VectorScanner() {
+        // can't touch this
+    }
+
+    static int indexOf(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        return DelimiterScanner.swarIndexOf(buffer, startIndex, toIndex, value);
+    }
+
+    static long indexOfAndSum(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        return DelimiterScanner.swarIndexOfAndSum(buffer, startIndex, toIndex, value);
+    }
+
+    static int sum(ByteBuffer buffer, int fromIndex, int toIndex) {
+        return ChecksumCalculator.swarSum(buffer, fromIndex, toIndex);
+    }
+
+    private static boolean isAvailable() {
+        return false;
+    }
+}
@@ -8,6 +8,8 @@ import net.nanofix.settings.SessionSettings;
 import net.nanofix.socket.SocketConnector;
 import net.nanofix.socket.SocketListener;
 import net.nanofix.socket.SocketState;
+import net.nanofix.time.EpochClock;
+import net.nanofix.time.SystemEpochClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,11 +30,19 @@ public class NanoSession implements Session, SocketListener {
     private final FIXMessage logoutMessage;
 
     public NanoSession(SessionSettings settings, SessionListener listener) {
+        this(settings, listener, SystemEpochClock.INSTANCE);
+    }
+
+    /**
+     * @param clock stamps the SendingTime of the messages sent, a CachedClock when the session
+     *              runs on an event loop that updates it once per duty cycle
+     */
+    public NanoSession(SessionSettings settings, SessionListener listener, EpochClock clock) {
         this.settings = settings;
         this.listener = listener;
         // TODO need to create socket connector in a factory from the settings
         this.socketConnector = null; //new NettySocketConnector(this, settings, this);
-        this.fixMessageFactory = new DefaultFIXMessageFactory(settings);
+        this.fixMessageFactory = new DefaultFIXMessageFactory(settings, clock);
 
         // create messages
         this.logonMessage = fixMessageFactory.createLogonMessage();
@@ -0,0 +1,79 @@
+package net.nanofix.time;
+
+/**
+ * Holds the wall clock and monotonic time sampled by the last {@link #update()}.
+ * <p>
+ * The event loop calls update once per duty cycle and every timestamp taken while sending or
+ * receiving in that cycle is then a volatile read, rather than a call to the system clocks.
+ * The times are only as fresh as the last update. Single writer, any number of readers.
+ * <p>
+ * epochNanos() and nanoTime() are read independently, so calling one after the other may give
+ * times from different updates. epochNanosAt() reads the pair from a single update, retrying
+ * while an update is in progress, as the sequence number is odd during one.
+ */
+public final class CachedClock implements EpochClock, NanoClock {
+
+    private final EpochClock epochClock;
+    private final NanoClock nanoClock;
+
+    private volatile long sequence;
+    private volatile long epochNanos;
+    private volatile long nanoTime;
+
+    /**
+     * Caches the system clocks.
+     */
+    public CachedClock() {
+        this(SystemEpochClock.INSTANCE, SystemNanoClock.INSTANCE);
+    }
+
+    public CachedClock(EpochClock epochClock, NanoClock nanoClock) {
+        this.epochClock = epochClock;
+        this.nanoClock = nanoClock;
+        update();
+    }
+
+    /**
+     * Samples both clocks.
+     */
+    public void update() {
+        update(epochClock.epochNanos(), nanoClock.nanoTime());
+    }
+
+    /**
+     * Sets both times, for an event loop that has already read the clocks.
+     */
+    public void update(long epochNanos, long nanoTime) {
+        long next = sequence + 1;
+        sequence = next;
+        this.epochNanos = epochNanos;
+        this.nanoTime = nanoTime;
+        sequence = next + 1;
+    }
+
+    /**
+     * The wall clock time at a monotonic time, e.g. one taken when a message was received,
+     * from the offset between the two clocks at the last update.
+     */
+    public long epochNanosAt(long nanoTime) {
+        long sequence;
+        long epochNanos;
+        long updateNanoTime;
+        do {
+            sequence = this.sequence;
+            epochNanos = this.epochNanos;
+            updateNanoTime = this.nanoTime;
+        } while ((sequence & 1) != 0 || sequence != this.sequence);
+        return epochNanos + (nanoTime - updateNanoTime);
+    }
+
+    @Override
+    public long epochNanos() {
+        return epochNanos;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanoTime;
+    }
+}
@@ -0,0 +1,25 @@
+package net.nanofix.time;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall clock time since the epoch, for SendingTime and the other UTCTimestamps.
+ *
+ * @see SystemEpochClock
+ * @see CachedClock
+ * @see VirtualClock
+ */
+public interface EpochClock {
+
+    /**
+     * Nanoseconds since the epoch, as precise as the clock is.
+     */
+    long epochNanos();
+
+    /**
+     * The time since the epoch in the given unit, rounded down.
+     */
+    default long epochTime(TimeUnit timeUnit) {
+        return timeUnit.convert(epochNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,17 @@
+package net.nanofix.time;
+
+/**
+ * Monotonic time for measuring intervals such as heartbeats and timeouts,
+ * not related to the wall clock.
+ *
+ * @see SystemNanoClock
+ * @see CachedClock
+ * @see VirtualClock
+ */
+public interface NanoClock {
+
+    /**
+     * Nanoseconds from an arbitrary origin.
+     */
+    long nanoTime();
+}
@@ -0,0 +1,22 @@
+package net.nanofix.time;
+
+import java.time.Instant;
+
+/**
+ * The precise system wall clock, microseconds or better from Java 9 and milliseconds on Java 8.
+ * Each call asks the operating system, see {@link CachedClock} for a cheaper clock.
+ */
+public final class SystemEpochClock implements EpochClock {
+
+    public static final SystemEpochClock INSTANCE = new SystemEpochClock();
+
+    private SystemEpochClock() {
+        // can't touch this
+    }
+
+    @Override
+    public long epochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+}
@@ -0,0 +1,18 @@
+package net.nanofix.time;
+
+/**
+ * {@link System#nanoTime()}.
+ */
+public final class SystemNanoClock implements NanoClock {
+
+    public static final SystemNanoClock INSTANCE = new SystemNanoClock();
+
+    private SystemNanoClock() {
+        // can't touch this
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+}
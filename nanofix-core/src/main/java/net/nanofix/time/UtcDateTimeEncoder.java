@@ -43,7 +43,13 @@ public class UtcDateTimeEncoder {
     private void encodeDate(long epochDays, ByteBuffer buffer, int offset) {
         midnightMillis = epochDays * MILLIS_PER_DAY;
         nextMidnightMillis = midnightMillis + MILLIS_PER_DAY;
+        putDate(epochDays, buffer, offset);
+    }
 
+    /**
+     * Writes the date as yyyyMMdd followed by '-'.
+     */
+    static void putDate(long epochDays, ByteBuffer buffer, int offset) {
         // adjust to 0000-03-01 so leap day is at end of four year cycle
         final long zeroDay = epochDays + DAYS_UNTIL_START_OF_UNIX_EPOCH - 60;
         long yearEstimate = (400 * zeroDay + 591) / DAYS_IN_400_YEAR_CYCLE;
@@ -0,0 +1,136 @@
+package net.nanofix.time;
+
+import io.nano.core.time.TimeUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a UTCTimestamp, yyyyMMdd-HH:mm:ss with 0, 3, 6 or 9 digits of a second after a '.',
+ * into nanoseconds since the epoch, which holds dates up to 2262.
+ * <p>
+ * The eight date bytes are read as one long and compared with the last date seen, so the epoch
+ * day is only worked out when the date changes. HH:mm:ss is also read as one long and its digits
+ * checked and combined in pairs a word at a time (SWAR).
+ * <p>
+ * Not thread safe.
+ */
+public final class UtcTimestampDecoder {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1);
+    private static final int DATE_LENGTH = 8;
+    private static final int TIME_OFFSET = 9;
+    private static final int FRACTION_OFFSET = 18;
+    private static final int SECONDS_LENGTH = 17;
+
+    // HH:mm:ss read little endian, so the first byte is the lowest
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+    private static final long SIXES = 0x0606060606060606L;
+    private static final long COLONS_MASK = 0x0000FF0000FF0000L;
+    private static final long COLONS = 0x00003A00003A0000L;
+    private static final long DIGITS_MASK = ~COLONS_MASK;
+
+    private static final long[] FRACTION_SCALES = {
+            NANOS_PER_SECOND, 100_000_000L, 10_000_000L, 1_000_000L, 100_000L, 10_000L, 1_000L, 100L, 10L, 1L
+    };
+
+    private static final String INVALID_TIMESTAMP_MESSAGE = "UTCTimestamp expected";
+
+    // any eight bytes can be read as the date, so no value of cachedDate can mean none yet
+    private boolean dateCached;
+    private long cachedDate;
+    private long cachedDayNanos;
+
+    /**
+     * Decodes the len bytes at offset.
+     *
+     * @return nanoseconds since the epoch
+     * @throws NumberFormatException if the bytes are not a UTCTimestamp
+     */
+    public long decode(ByteBuffer buffer, int offset, int len) {
+        int fractionDigits = len - FRACTION_OFFSET;
+        if (len != SECONDS_LENGTH && fractionDigits != 3 && fractionDigits != 6 && fractionDigits != 9) {
+            throw new NumberFormatException(INVALID_TIMESTAMP_MESSAGE);
+        }
+        boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        long date = littleEndian(buffer.getLong(offset), bigEndian);
+        if (date != cachedDate || !dateCached) {
+            cacheDate(buffer, offset, date);
+        }
+        if (buffer.get(offset + DATE_LENGTH) != '-') {
+            throw new NumberFormatException(INVALID_TIMESTAMP_MESSAGE);
+        }
+        long nanos = cachedDayNanos
+                + secondOfDay(littleEndian(buffer.getLong(offset + TIME_OFFSET), bigEndian)) * NANOS_PER_SECOND;
+        if (len == SECONDS_LENGTH) {
+            return nanos;
+        }
+        if (buffer.get(offset + SECONDS_LENGTH) != '.') {
+            throw new NumberFormatException(INVALID_TIMESTAMP_MESSAGE);
+        }
+        return nanos + digits(buffer, offset + FRACTION_OFFSET, fractionDigits) * FRACTION_SCALES[fractionDigits];
+    }
+
+    /**
+     * Decodes the len bytes at offset.
+     *
+     * @return milliseconds since the epoch, any finer digits dropped
+     */
+    public long decodeMillis(ByteBuffer buffer, int offset, int len) {
+        return Math.floorDiv(decode(buffer, offset, len), TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private void cacheDate(ByteBuffer buffer, int offset, long date) {
+        int year = (int) digits(buffer, offset, 4);
+        int month = (int) digits(buffer, offset + 4, 2);
+        int day = (int) digits(buffer, offset + 6, 2);
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new NumberFormatException(INVALID_TIMESTAMP_MESSAGE);
+        }
+        cachedDayNanos = TimeUtil.toEpochDay(year, month, day) * NANOS_PER_DAY;
+        cachedDate = date;
+        dateCached = true;
+    }
+
+    /**
+     * The seconds since midnight of HH:mm:ss read as a little endian long.
+     */
+    static long secondOfDay(long time) {
+        // digits have a high nibble of 3 and stay below 0x40 when 6 is added
+        if ((time & COLONS_MASK) != COLONS
+                || (time & HIGH_NIBBLES & DIGITS_MASK) != (ZEROS & DIGITS_MASK)
+                || ((time + SIXES) & HIGH_NIBBLES & DIGITS_MASK) != (ZEROS & DIGITS_MASK)) {
+            throw new NumberFormatException(INVALID_TIMESTAMP_MESSAGE);
+        }
+        long digits = time - ZEROS;
+        // each byte becomes ten times itself plus the next, so bytes 0, 3 and 6 hold HH, mm and ss
+        long pairs = digits * 10 + (digits >>> 8);
+        int hours = (int) (pairs & 0xFF);
+        int minutes = (int) ((pairs >>> 24) & 0xFF);
+        // 60 for a leap second
+        int seconds = (int) ((pairs >>> 48) & 0xFF);
+        if (hours > 23 || minutes > 59 || seconds > 60) {
+            throw new NumberFormatException(INVALID_TIMESTAMP_MESSAGE);
+        }
+        return hours * 3600L + minutes * 60L + seconds;
+    }
+
+    private static long digits(ByteBuffer buffer, int offset, int len) {
+        long value = 0;
+        for (int index = offset; index < offset + len; index++) {
+            int digit = buffer.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(INVALID_TIMESTAMP_MESSAGE);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static long littleEndian(long word, boolean bigEndian) {
+        return bigEndian ? Long.reverseBytes(word) : word;
+    }
+}
@@ -0,0 +1,129 @@
+package net.nanofix.time;
+
+import io.nano.core.buffer.ByteBufferUtil;
+import net.nanofix.message.util.NumberWriter;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a UTCTimestamp as yyyyMMdd-HH:mm:ss followed by the fraction of a second to the precision
+ * of the time unit, i.e. .sss for MILLISECONDS, .ssssss for MICROSECONDS and .sssssssss for NANOSECONDS.
+ * <p>
+ * The yyyyMMdd-HH:mm:ss prefix is cached per second, so most timestamps only need the prefix
+ * copied and their fraction written. When the slot already holds the last timestamp written by
+ * this encoder, update() only rewrites the fraction.
+ * <p>
+ * Both return the sum of the bytes written, the sum of the prefix being cached with it, so a
+ * checksum can be kept without reading the timestamp back.
+ * <p>
+ * Not thread safe.
+ */
+public final class UtcTimestampEncoder {
+
+    private static final int PREFIX_LENGTH = 17;
+    private static final long SECONDS_PER_DAY = TimeUnit.DAYS.toSeconds(1);
+
+    private static final byte COLON = ':';
+    private static final byte PERIOD = '.';
+
+    private final TimeUnit timeUnit;
+    private final long unitsPerSecond;
+    private final int fractionDigits;
+    private final int length;
+    private final byte[] prefix = new byte[PREFIX_LENGTH];
+    private final ByteBuffer prefixBuffer = ByteBuffer.wrap(prefix);
+
+    private int prefixSum;
+    private long cachedSecond = Long.MIN_VALUE;
+    private long cachedDay = Long.MIN_VALUE;
+
+    public UtcTimestampEncoder(TimeUnit timeUnit) {
+        this.timeUnit = timeUnit;
+        this.unitsPerSecond = timeUnit.convert(1, TimeUnit.SECONDS);
+        switch (timeUnit) {
+            case SECONDS:
+                fractionDigits = 0;
+                break;
+            case MILLISECONDS:
+                fractionDigits = 3;
+                break;
+            case MICROSECONDS:
+                fractionDigits = 6;
+                break;
+            case NANOSECONDS:
+                fractionDigits = 9;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported timestamp precision: " + timeUnit);
+        }
+        this.length = fractionDigits == 0 ? PREFIX_LENGTH : PREFIX_LENGTH + 1 + fractionDigits;
+    }
+
+    public TimeUnit timeUnit() {
+        return timeUnit;
+    }
+
+    /**
+     * The number of bytes written for every timestamp.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Writes the timestamp, given in the time unit since the epoch, at offset.
+     *
+     * @return the sum of the bytes written, there are always length() of them
+     */
+    public int encode(long timestamp, ByteBuffer buffer, int offset) {
+        long second = Math.floorDiv(timestamp, unitsPerSecond);
+        if (second != cachedSecond) {
+            cachePrefix(second);
+        }
+        for (int i = 0; i < PREFIX_LENGTH; i++) {
+            buffer.put(offset + i, prefix[i]);
+        }
+        return prefixSum + putFraction(timestamp, buffer, offset);
+    }
+
+    /**
+     * Like encode but for a slot holding the last timestamp written by this encoder, where only
+     * the fraction needs writing while the second is the same.
+     */
+    public int update(long timestamp, ByteBuffer buffer, int offset) {
+        if (Math.floorDiv(timestamp, unitsPerSecond) != cachedSecond) {
+            return encode(timestamp, buffer, offset);
+        }
+        return prefixSum + putFraction(timestamp, buffer, offset);
+    }
+
+    private int putFraction(long timestamp, ByteBuffer buffer, int offset) {
+        if (fractionDigits == 0) {
+            return 0;
+        }
+        buffer.put(offset + PREFIX_LENGTH, PERIOD);
+        return PERIOD + NumberWriter.putZeroPadded(buffer, offset + PREFIX_LENGTH + 1,
+                Math.floorMod(timestamp, unitsPerSecond), fractionDigits);
+    }
+
+    private void cachePrefix(long second) {
+        long day = Math.floorDiv(second, SECONDS_PER_DAY);
+        if (day != cachedDay) {
+            UtcDateTimeEncoder.putDate(day, prefixBuffer, 0);
+            cachedDay = day;
+        }
+        int secondOfDay = (int) Math.floorMod(second, SECONDS_PER_DAY);
+        ByteBufferUtil.putNumber(secondOfDay / 3600, 2, prefixBuffer, 9);
+        prefixBuffer.put(11, COLON);
+        ByteBufferUtil.putNumber(secondOfDay / 60 % 60, 2, prefixBuffer, 12);
+        prefixBuffer.put(14, COLON);
+        ByteBufferUtil.putNumber(secondOfDay % 60, 2, prefixBuffer, 15);
+        int sum = 0;
+        for (byte b : prefix) {
+            sum += b;
+        }
+        prefixSum = sum;
+        cachedSecond = second;
+    }
+}
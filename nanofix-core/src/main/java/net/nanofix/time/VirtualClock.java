@@ -0,0 +1,47 @@
+package net.nanofix.time;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock that only moves when told to, so tests can control SendingTime, heartbeats and timeouts.
+ * The monotonic time starts at zero and moves with the wall clock.
+ */
+public final class VirtualClock implements EpochClock, NanoClock {
+
+    private volatile long epochNanos;
+    private volatile long nanoTime;
+
+    public VirtualClock() {
+        this(0L);
+    }
+
+    public VirtualClock(long epochNanos) {
+        this.epochNanos = epochNanos;
+    }
+
+    /**
+     * Sets the wall clock, which may go backwards, leaving the monotonic time as it is.
+     */
+    public void epochNanos(long epochNanos) {
+        this.epochNanos = epochNanos;
+    }
+
+    /**
+     * Moves both times on by the duration.
+     */
+    public void advance(long duration, TimeUnit timeUnit) {
+        long nanos = timeUnit.toNanos(duration);
+        epochNanos += nanos;
+        nanoTime += nanos;
+    }
+
+    @Override
+    public long epochNanos() {
+        return epochNanos;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanoTime;
+    }
+}
@@ -7,34 +7,6 @@ package net.nanofix.util;
  */
 public class ByteArrayUtil {
 
-    private static final byte[][] BYTE_ARRAY_1 = new byte[10][1];
-    private static final byte[][] BYTE_ARRAY_2 = new byte[100][2];
-    private static final byte[][] BYTE_ARRAY_3 = new byte[1000][3];
-    private static final byte[][] BYTE_ARRAY_4 = new byte[10000][4];
-
-    private static final boolean INTEGER_CACHE_DISABLED = Boolean.getBoolean("io.nano.integer.cache.disabled");
-
-    private static final byte ZERO = (byte) '0';
-
-    static {
-        // populate the 1 byte array
-        for (int i=0;i<10;i++) {
-            BYTE_ARRAY_1[i] = ByteArrayUtil.as1ByteArray(i);
-        }
-        // populate the 2 bytes array
-        for (int i=0;i<100;i++) {
-            BYTE_ARRAY_2[i] = ByteArrayUtil.as2ByteArray(i);
-        }
-        // populate the 3 bytes array
-        for (int i=0;i<1000;i++) {
-            BYTE_ARRAY_3[i] = ByteArrayUtil.as3ByteArray(i);
-        }
-        // populate the 2 bytes array
-        for (int i=0;i<10000;i++) {
-            BYTE_ARRAY_4[i] = ByteArrayUtil.as4ByteArray(i);
-        }
-    }
-
     public static boolean isDigit(byte aByte) {
         return aByte >= '0' && aByte <= '9';
     }
@@ -108,21 +80,24 @@ public class ByteArrayUtil {
         return bytes;
     }
 
+    /**
+     * Allocates, use NumberWriter to write numbers into a buffer.
+     */
     public static byte[] asByteArray(int value) {
         if (value < 0) {
             return intToBytesAsString(value);
         }
         if (value <= 9) {
-            return INTEGER_CACHE_DISABLED ? as1ByteArray(value) : BYTE_ARRAY_1[value];
+            return as1ByteArray(value);
         }
         if (value <= 99) {
-            return INTEGER_CACHE_DISABLED ? as2ByteArray(value) : BYTE_ARRAY_2[value];
+            return as2ByteArray(value);
         }
         if (value <= 999) {
-            return INTEGER_CACHE_DISABLED ? as3ByteArray(value) : BYTE_ARRAY_3[value];
+            return as3ByteArray(value);
         }
         if (value <= 9999) {
-            return INTEGER_CACHE_DISABLED ? as4ByteArray(value) : BYTE_ARRAY_4[value];
+            return as4ByteArray(value);
         }
         else {
             return intToBytesAsString(value);
@@ -1,9 +1,25 @@
 package net.nanofix.util;
 
-public class ByteString {
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An ASCII string held as bytes, ready to be written to a buffer.
+ * <p>
+ * The hash is cached and is the same as String.hashCode() of the ASCII text, and it can be worked out
+ * for a buffer region with {@link #hashCode(ByteBuffer, int, int)}, so a decoded value can be looked up
+ * and compared with {@link #contentEquals(ByteBuffer, int, int)} without copying it out.
+ * As a CharSequence each byte is one char.
+ */
+public class ByteString implements CharSequence {
 
     private final byte[] bytes;
+    private int hash;
 
+    /**
+     * Wraps the bytes, which are not copied and should not be changed after.
+     */
     public ByteString(byte[] bytes) {
         this.bytes = bytes;
     }
@@ -12,8 +28,94 @@ public class ByteString {
         return new ByteString(ByteArrayUtil.asByteArray(string));
     }
 
+    /**
+     * Copies the len bytes at offset in the buffer.
+     */
+    public static ByteString copyOf(ByteBuffer buffer, int offset, int len) {
+        byte[] bytes = new byte[len];
+        for (int i = 0; i < len; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new ByteString(bytes);
+    }
+
     public byte[] bytes() {
         return bytes;
     }
 
+    public byte byteAt(int index) {
+        return bytes[index];
+    }
+
+    /**
+     * Whether the len bytes at offset in the buffer are the same as these.
+     */
+    public boolean contentEquals(ByteBuffer buffer, int offset, int len) {
+        if (len != bytes.length) {
+            return false;
+        }
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int arrayOffset = buffer.arrayOffset() + offset;
+            for (int i = 0; i < len; i++) {
+                if (array[arrayOffset + i] != bytes[i]) return false;
+            }
+        } else {
+            for (int i = 0; i < len; i++) {
+                if (buffer.get(offset + i) != bytes[i]) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The hash a ByteString of the len bytes at offset in the buffer would have.
+     */
+    public static int hashCode(ByteBuffer buffer, int offset, int len) {
+        int h = 0;
+        for (int i = offset; i < offset + len; i++) {
+            h = 31 * h + (buffer.get(i) & 0xFF);
+        }
+        return h;
+    }
+
+    @Override
+    public int length() {
+        return bytes.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes[index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new ByteString(Arrays.copyOfRange(bytes, start, end));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ByteString)) return false;
+        ByteString that = (ByteString) o;
+        return hashCode() == that.hashCode() && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (byte b : bytes) {
+                h = 31 * h + (b & 0xFF);
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
 }
@@ -0,0 +1,140 @@
+package net.nanofix.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Maps decoded buffer regions to one canonical ByteString per value, so values such as CompIDs,
+ * Symbols and Accounts can be compared by identity or used as map keys.
+ * <p>
+ * An open addressing table with linear probing, keyed by the ByteString hash. Once a value has been
+ * seen interning it again only hashes and compares the region, nothing is allocated. The table grows
+ * to stay at most half full, so the pool should only be given values from a bounded set.
+ * <p>
+ * Each value also gets an id, counting up from 0 in the order values are first interned, so data
+ * kept per value can go in an array indexed by idOf().
+ * <p>
+ * Not thread safe.
+ */
+public final class ByteStringPool {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private ByteString[] table;
+    // the id of the value in each slot
+    private int[] ids;
+    private int mask;
+    private int size;
+
+    public ByteStringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ByteStringPool(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        this.table = new ByteString[capacity];
+        this.ids = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * The canonical ByteString for the len bytes at offset in the buffer, copied out the first time they are seen.
+     */
+    public ByteString intern(ByteBuffer buffer, int offset, int len) {
+        int slot = slot(buffer, offset, len);
+        ByteString value = table[slot];
+        if (value == null) {
+            value = ByteString.copyOf(buffer, offset, len);
+            insert(slot, value);
+        }
+        return value;
+    }
+
+    /**
+     * The canonical ByteString equal to the value, which becomes it when there is none yet.
+     */
+    public ByteString intern(ByteString value) {
+        int slot = slot(value);
+        ByteString existing = table[slot];
+        if (existing != null) {
+            return existing;
+        }
+        insert(slot, value);
+        return value;
+    }
+
+    /**
+     * The id of the value held in the len bytes at offset, or NOT_FOUND when it has not been interned.
+     */
+    public int idOf(ByteBuffer buffer, int offset, int len) {
+        int slot = slot(buffer, offset, len);
+        return table[slot] == null ? NOT_FOUND : ids[slot];
+    }
+
+    /**
+     * The id of the value, or NOT_FOUND when it has not been interned.
+     */
+    public int idOf(ByteString value) {
+        int slot = slot(value);
+        return table[slot] == null ? NOT_FOUND : ids[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // the slot holding the value, or the empty slot it would go in
+    private int slot(ByteBuffer buffer, int offset, int len) {
+        int hash = ByteString.hashCode(buffer, offset, len);
+        int slot = index(hash);
+        ByteString value;
+        while ((value = table[slot]) != null) {
+            if (value.hashCode() == hash && value.contentEquals(buffer, offset, len)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int slot(ByteString value) {
+        int slot = index(value.hashCode());
+        ByteString existing;
+        while ((existing = table[slot]) != null && !existing.equals(value)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, ByteString value) {
+        table[slot] = value;
+        ids[slot] = size;
+        if (++size * 2 > table.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        ByteString[] oldTable = table;
+        int[] oldIds = ids;
+        table = new ByteString[oldTable.length * 2];
+        ids = new int[oldTable.length * 2];
+        mask = table.length - 1;
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] != null) {
+                int slot = index(oldTable[i].hashCode());
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = oldTable[i];
+                ids[slot] = oldIds[i];
+            }
+        }
+    }
+
+    private int index(int hash) {
+        // spreads the high bits as short ASCII values mostly differ in the low ones
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
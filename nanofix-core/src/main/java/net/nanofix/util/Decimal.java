@@ -0,0 +1,183 @@
+package net.nanofix.util;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * A mutable fixed point decimal, the value being mantissa * 10^-scale, for prices and quantities
+ * without going through BigDecimal or String. Reuse one instance per field to stay allocation free.
+ * <p>
+ * Parsing keeps up to 18 significant digits, so the mantissa always fits in a long. Leading zeros
+ * and trailing zeros after the decimal point are dropped, so 0100.500 parses as 1005 with a scale of 1.
+ */
+public final class Decimal {
+
+    public static final int MAX_DIGITS = 18;
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private long mantissa;
+    private int scale;
+
+    public Decimal() {
+    }
+
+    public Decimal(long mantissa, int scale) {
+        set(mantissa, scale);
+    }
+
+    public Decimal set(long mantissa, int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        this.mantissa = mantissa;
+        this.scale = scale;
+        return this;
+    }
+
+    public long mantissa() {
+        return mantissa;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * Parses a FIX float value, an optional sign then digits with an optional decimal point.
+     *
+     * @throws NumberFormatException when the value is not a number or has more than 18 significant digits
+     */
+    public Decimal parse(ByteBuffer buffer, int index, int len) {
+        final int end = index + len;
+        boolean negative = false;
+        if (index < end) {
+            byte sign = buffer.get(index);
+            if (sign == '-' || sign == '+') {
+                negative = sign == '-';
+                index++;
+            }
+        }
+        long value = 0L;
+        int valueScale = 0;
+        int digits = 0;
+        // zeros after the decimal point not yet known to be followed by another digit
+        int pendingZeros = 0;
+        boolean fraction = false;
+        boolean anyDigits = false;
+        for (; index < end; index++) {
+            byte aByte = buffer.get(index);
+            if (aByte == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            int digit = aByte - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Decimal number expected");
+            }
+            anyDigits = true;
+            if (!fraction) {
+                if (value != 0 || digit != 0) {
+                    value = value * 10 + digit;
+                    digits++;
+                }
+            } else if (digit == 0) {
+                pendingZeros++;
+            } else {
+                if (value != 0) {
+                    digits += pendingZeros;
+                }
+                digits++;
+                if (valueScale + pendingZeros + 1 > MAX_SCALE) {
+                    throw new NumberFormatException("Decimal number has more than " + MAX_SCALE + " decimal places");
+                }
+                value = value * POWERS_OF_TEN[pendingZeros + 1] + digit;
+                valueScale += pendingZeros + 1;
+                pendingZeros = 0;
+            }
+            if (digits > MAX_DIGITS) {
+                throw new NumberFormatException("Decimal number has more than " + MAX_DIGITS + " significant digits");
+            }
+        }
+        if (!anyDigits) {
+            throw new NumberFormatException("Decimal number expected");
+        }
+        this.mantissa = negative ? -value : value;
+        this.scale = valueScale;
+        return this;
+    }
+
+    /**
+     * The value as a mantissa with the given scale, e.g. a price in ticks.
+     *
+     * @throws ArithmeticException when the value can't be held exactly at that scale
+     */
+    public long toScaledLong(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        if (scale >= this.scale) {
+            return Math.multiplyExact(mantissa, POWERS_OF_TEN[scale - this.scale]);
+        }
+        long divisor = POWERS_OF_TEN[this.scale - scale];
+        if (mantissa % divisor != 0) {
+            throw new ArithmeticException("Decimal " + this + " can't be held with a scale of " + scale);
+        }
+        return mantissa / divisor;
+    }
+
+    public double toDouble() {
+        return (double) mantissa / POWERS_OF_TEN[scale];
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(mantissa, scale);
+    }
+
+    /**
+     * Equal when the values are the same, whatever the scale, so 1.50 equals 1.5.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Decimal)) return false;
+        Decimal that = (Decimal) o;
+        return stripZerosMantissa(mantissa, scale) == stripZerosMantissa(that.mantissa, that.scale)
+                && stripZerosScale(mantissa, scale) == stripZerosScale(that.mantissa, that.scale);
+    }
+
+    @Override
+    public int hashCode() {
+        long stripped = stripZerosMantissa(mantissa, scale);
+        return 31 * (int) (stripped ^ (stripped >>> 32)) + stripZerosScale(mantissa, scale);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private static long stripZerosMantissa(long mantissa, int scale) {
+        while (scale > 0 && mantissa % 10 == 0) {
+            mantissa /= 10;
+            scale--;
+        }
+        return mantissa;
+    }
+
+    private static int stripZerosScale(long mantissa, int scale) {
+        while (scale > 0 && mantissa % 10 == 0) {
+            mantissa /= 10;
+            scale--;
+        }
+        return scale;
+    }
+}
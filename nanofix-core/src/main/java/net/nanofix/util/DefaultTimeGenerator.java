@@ -1,36 +1,53 @@
 package net.nanofix.util;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import net.nanofix.time.EpochClock;
+import net.nanofix.time.SystemEpochClock;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
 /**
  * User: Mark
  * Date: 26/04/12
  * Time: 16:28
+ * <p>
+ * Thread safe, the formatters are immutable.
  */
 public class DefaultTimeGenerator implements DateTimeGenerator  {
 
-    private static final DateFormat utcTimestampFormat = newUtcFormatter("yyyyMMdd-HH:mm:ss");
-    private static final DateFormat utcTimestampFormatMillis = newUtcFormatter("yyyyMMdd-HH:mm:ss.SSS");
+    private static final DateTimeFormatter utcTimestampFormat = newUtcFormatter("yyyyMMdd-HH:mm:ss");
+    private static final DateTimeFormatter utcTimestampFormatMillis = newUtcFormatter("yyyyMMdd-HH:mm:ss.SSS");
+
+    private final EpochClock clock;
 
-    private static DateFormat newUtcFormatter(String pattern) {
-        SimpleDateFormat format = new SimpleDateFormat(pattern);
-        format.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return format;
+    public DefaultTimeGenerator() {
+        this(SystemEpochClock.INSTANCE);
+    }
+
+    public DefaultTimeGenerator(EpochClock clock) {
+        this.clock = clock;
+    }
+
+    private static DateTimeFormatter newUtcFormatter(String pattern) {
+        return DateTimeFormatter.ofPattern(pattern).withZone(ZoneOffset.UTC);
     }
 
     @Override
     public String getUtcTime(boolean includeMilliSeconds) {
-        return getUtcTime(new Date(), includeMilliSeconds);
-
+        return format(Instant.ofEpochMilli(clock.epochTime(TimeUnit.MILLISECONDS)), includeMilliSeconds);
     }
 
     @Override
     public String getUtcTime(Date date, boolean includeMilliSeconds) {
+        return format(date.toInstant(), includeMilliSeconds);
+    }
+
+    private static String format(Instant instant, boolean includeMilliSeconds) {
         return includeMilliSeconds
-                ? utcTimestampFormatMillis.format(date)
-                : utcTimestampFormat.format(date);
+                ? utcTimestampFormatMillis.format(instant)
+                : utcTimestampFormat.format(instant);
     }
 }
@@ -1,5 +1,6 @@
 package net.nanofix.util;
 
+import net.nanofix.message.DecodedFIXMessage;
 import net.nanofix.message.FIXConstants.*;
 import net.nanofix.message.FIXMessage;
 import net.nanofix.message.MissingFieldException;
@@ -99,6 +100,50 @@ public class FIXMessageUtil {
 //        return value;
     }
 
+    /**
+     * Returns the field value as a String from the decoded message for the given field if the field exists.
+     * Or the default value if it doesn't exist.
+     *
+     * @param msg The given decoded FIX message
+     * @param tag The field number to extract the value for
+     * @param defaultValue The default value to return if the field does not exist
+     * @return The field value or default value
+     */
+    public static String getStringFieldValue(DecodedFIXMessage msg, int tag, String defaultValue) {
+        String value;
+        try {
+            if (msg.hasField(tag)) {
+                StringBuilder sb = new StringBuilder(msg.valueLength(tag));
+                msg.getChars(tag, sb);
+                value = sb.toString();
+            } else {
+                value = defaultValue;
+            }
+        } catch (MissingFieldException e) {
+            value = defaultValue;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the field value as a boolean from the decoded message for the given field if the field exists.
+     * Or the default value if it doesn't exist.
+     *
+     * @param msg The given decoded FIX message
+     * @param tag The field number to extract the value for
+     * @param defaultValue The default value to return if the field does not exist
+     * @return The field value or default value
+     */
+    public static boolean getBooleanFieldValue(DecodedFIXMessage msg, int tag, boolean defaultValue) {
+        boolean value;
+        try {
+            value = msg.hasField(tag) ? msg.getBoolean(tag) : defaultValue;
+        } catch (MissingFieldException e) {
+            value = defaultValue;
+        }
+        return value;
+    }
+
     /**
      * Returns the field value as a boolean from the message for the given field if the field exists.
      * Or the default value if it doesn't exist.
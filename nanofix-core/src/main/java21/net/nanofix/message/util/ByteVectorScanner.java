@@ -0,0 +1,104 @@
+package net.nanofix.message.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds a delimiter byte and sums bytes a whole vector at a time (32 bytes with AVX2, 64 with AVX-512)
+ * using jdk.incubator.vector. Only works on the backing array of heap buffers, anything left over that
+ * is shorter than a vector goes to the word at a time code in DelimiterScanner.
+ * <p>
+ * Bytes are zero extended and added into 16 bit lanes, which are only reduced to an int at the end
+ * or before they could overflow.
+ */
+final class ByteVectorScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    // each vector adds at most 2 * 255 to a 16 bit lane
+    private static final int VECTORS_PER_REDUCE = 64;
+
+    private ByteVectorScanner() {
+        // can't touch this
+    }
+
+    static int indexOf(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        final byte[] array = buffer.array();
+        final int offset = buffer.arrayOffset();
+        int index = startIndex;
+        for (; index + LANES <= toIndex; index += LANES) {
+            final VectorMask<Byte> matches = ByteVector.fromArray(SPECIES, array, offset + index).eq(value);
+            if (matches.anyTrue()) {
+                return index + matches.firstTrue();
+            }
+        }
+        return DelimiterScanner.swarIndexOf(buffer, index, toIndex, value);
+    }
+
+    static long indexOfAndSum(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        final byte[] array = buffer.array();
+        final int offset = buffer.arrayOffset();
+        ShortVector lanes = ShortVector.zero(SHORT_SPECIES);
+        int sum = 0;
+        int vectors = 0;
+        int index = startIndex;
+        for (; index + LANES <= toIndex; index += LANES) {
+            final ByteVector bytes = ByteVector.fromArray(SPECIES, array, offset + index);
+            final VectorMask<Byte> matches = bytes.eq(value);
+            if (matches.anyTrue()) {
+                final int firstMatch = matches.firstTrue();
+                // only the bytes up to and including the match count
+                final ByteVector scanned = ByteVector.zero(SPECIES).blend(bytes, SPECIES.indexInRange(0, firstMatch + 1));
+                return DelimiterScanner.pack(index + firstMatch, sum + reduce(add(lanes, scanned)));
+            }
+            lanes = add(lanes, bytes);
+            if (++vectors == VECTORS_PER_REDUCE) {
+                sum += reduce(lanes);
+                lanes = ShortVector.zero(SHORT_SPECIES);
+                vectors = 0;
+            }
+        }
+        final long tail = DelimiterScanner.swarIndexOfAndSum(buffer, index, toIndex, value);
+        return DelimiterScanner.pack(DelimiterScanner.index(tail), sum + reduce(lanes) + DelimiterScanner.sum(tail));
+    }
+
+    static int sum(ByteBuffer buffer, int fromIndex, int toIndex) {
+        final byte[] array = buffer.array();
+        final int offset = buffer.arrayOffset();
+        ShortVector lanes = ShortVector.zero(SHORT_SPECIES);
+        int sum = 0;
+        int vectors = 0;
+        int index = fromIndex;
+        for (; index + LANES <= toIndex; index += LANES) {
+            lanes = add(lanes, ByteVector.fromArray(SPECIES, array, offset + index));
+            if (++vectors == VECTORS_PER_REDUCE) {
+                sum += reduce(lanes);
+                lanes = ShortVector.zero(SHORT_SPECIES);
+                vectors = 0;
+            }
+        }
+        return sum + reduce(lanes) + ChecksumCalculator.swarSum(buffer, index, toIndex);
+    }
+
+    /**
+     * Adds the unsigned bytes to the 16 bit lanes, the low half of the bytes then the high half.
+     */
+    private static ShortVector add(ShortVector lanes, ByteVector bytes) {
+        return lanes.add((ShortVector) bytes.convert(VectorOperators.ZERO_EXTEND_B2S, 0))
+                .add((ShortVector) bytes.convert(VectorOperators.ZERO_EXTEND_B2S, 1));
+    }
+
+    private static int reduce(ShortVector lanes) {
+        return ((IntVector) lanes.convert(VectorOperators.ZERO_EXTEND_S2I, 0))
+                .add((IntVector) lanes.convert(VectorOperators.ZERO_EXTEND_S2I, 1))
+                .reduceLanes(VectorOperators.ADD);
+    }
+}
@@ -0,0 +1,36 @@
+package net.nanofix.message.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Java 21 version of VectorScanner, used from the multi-release jar.
+ * <p>
+ * Only available when the JVM has been started with --add-modules jdk.incubator.vector,
+ * and can be turned off with -Dnanofix.vector=false. All of the Vector API types are kept in
+ * ByteVectorScanner, so this class still loads when the incubator module is missing.
+ */
+final class VectorScanner {
+
+    static final boolean AVAILABLE = isAvailable();
+
+    private VectorScanner() {
+        // can't touch this
+    }
+
+    static int indexOf(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        return ByteVectorScanner.indexOf(buffer, startIndex, toIndex, value);
+    }
+
+    static long indexOfAndSum(ByteBuffer buffer, int startIndex, int toIndex, byte value) {
+        return ByteVectorScanner.indexOfAndSum(buffer, startIndex, toIndex, value);
+    }
+
+    static int sum(ByteBuffer buffer, int fromIndex, int toIndex) {
+        return ByteVectorScanner.sum(buffer, fromIndex, toIndex);
+    }
+
+    private static boolean isAvailable() {
+        return Boolean.parseBoolean(System.getProperty("nanofix.vector", "true"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
@@ -0,0 +1,150 @@
+package net.nanofix.message;
+
+import net.nanofix.util.ByteString;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static net.nanofix.util.FIXBytes.PIPE;
+import static net.nanofix.util.FIXBytes.SOH;
+
+class ContiguousFIXMessageTest {
+
+    private static final ByteString SENDER_COMP_ID = ByteString.of("CLIENT");
+    private static final ByteString TARGET_COMP_ID = ByteString.of("BROKER");
+
+    private final MessageHeader header = new MessageHeader(ByteBuffer.allocate(256));
+    private final ByteBuffer buffer = ByteBuffer.allocate(256);
+    private final ContiguousFIXMessage msg = new ContiguousFIXMessage(header, buffer);
+
+    @Test
+    void logonMessage() {
+        setHeader(MsgTypes.Logon, 42);
+        msg.addIntField(Tags.EncryptMethod, 0);
+        msg.addIntField(Tags.HeartBtInt, 30);
+        msg.addBooleanField(Tags.ResetSeqNumFlag, true);
+        msg.addStringField(Tags.Username, ByteString.of("user1"));
+
+        // three digits reserved for BodyLength with two used, so the message starts one byte in
+        Assertions.assertThat(asString(msg.buffers())).isEqualTo(
+                "8=FIX.4.2|9=84|35=A|49=CLIENT|56=BROKER|34=42|52=19700101-00:00:00.000|98=0|" +
+                        "108=30|141=Y|553=user1|10=148|");
+        Assertions.assertThat(msg.messageStart()).isEqualTo(1);
+    }
+
+    @Test
+    void bufferIsReused() {
+        setHeader(MsgTypes.Logon, 42);
+        msg.addIntField(Tags.HeartBtInt, 30);
+        msg.buffers();
+
+        buffer.clear();
+        setHeader(MsgTypes.Heartbeat, 11);
+        msg.addStringField(Tags.TestReqID, ByteString.of("test-req-id"));
+        Assertions.assertThat(asString(msg.buffers())).isEqualTo(
+                "8=FIX.4.2|9=72|35=0|49=CLIENT|56=BROKER|34=11|52=19700101-00:00:00.000|" +
+                        "112=test-req-id|10=108|");
+    }
+
+    @Test
+    void headerOnlyMessage() {
+        setHeader(MsgTypes.Heartbeat, 11);
+        Assertions.assertThat(asString(msg.buffers())).isEqualTo(
+                "8=FIX.4.2|9=56|35=0|49=CLIENT|56=BROKER|34=11|52=19700101-00:00:00.000|10=109|");
+    }
+
+    @Test
+    void bodyLengthUsingAllReservedDigits() {
+        setHeader(MsgTypes.Heartbeat, 11);
+        msg.addStringField(Tags.TestReqID, ByteString.of(repeat('x', 100)));
+        ByteBuffer message = msg.buffers()[0];
+        Assertions.assertThat(msg.messageStart()).isZero();
+        assertDecodes(message);
+    }
+
+    @Test
+    void repeatingGroup() {
+        setHeader(MsgTypes.MarketDataSnapshotFullRefresh, 42);
+        // left open by a message abandoned part way, then forgotten when the buffer is cleared
+        msg.beginGroup(Tags.NoMDEntries);
+        buffer.clear();
+
+        msg.addStringField(Tags.Symbol, ByteString.of("VOD.L"));
+        msg.beginGroup(Tags.NoMDEntries);
+        msg.beginGroupEntry();
+        msg.addCharField(Tags.MDEntryType, '0');
+        msg.addDecimalField(Tags.MDEntryPx, 10125, 2);
+        msg.beginGroupEntry();
+        msg.addCharField(Tags.MDEntryType, '1');
+        msg.addDecimalField(Tags.MDEntryPx, 10150, 2);
+        Assertions.assertThat(msg.endGroup()).isEqualTo(2);
+        Assertions.assertThatThrownBy(msg::endGroup).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(asString(msg.buffers())).isEqualTo(
+                "8=FIX.4.2|9=106|35=W|49=CLIENT|56=BROKER|34=42|52=19700101-00:00:00.000|55=VOD.L|268=02|" +
+                        "269=0|270=101.25|269=1|270=101.50|10=040|");
+    }
+
+    @Test
+    void decodes() {
+        setHeader(MsgTypes.NewOrderSingle, 7);
+        header.senderSubId(ByteString.of("DESK"));
+        msg.addDecimalField(Tags.Price, 10125, 2);
+        msg.addLongField(Tags.OrderQty, 500);
+        assertDecodes(msg.buffers()[0]);
+    }
+
+    private void setHeader(MsgType msgType, int msgSeqNum) {
+        header.beginString(BeginStrings.FIX_4_2);
+        header.msgType(msgType);
+        header.senderCompId(SENDER_COMP_ID);
+        header.targetCompId(TARGET_COMP_ID);
+        header.msgSeqNum(msgSeqNum);
+    }
+
+    private void assertDecodes(ByteBuffer message) {
+        ByteBuffer copy = ByteBuffer.allocate(message.remaining());
+        copy.put(message.duplicate());
+        RecordingHandler handler = new RecordingHandler();
+        new NanoFIXMessageDecoder().decode(copy, handler);
+        Assertions.assertThat(handler.error).isNull();
+        Assertions.assertThat(handler.lastTag).isEqualTo(Tags.CheckSum);
+    }
+
+    private static String asString(ByteBuffer[] buffers) {
+        Assertions.assertThat(buffers).hasSize(1);
+        ByteBuffer message = buffers[0];
+        byte[] bytes = new byte[message.remaining()];
+        message.duplicate().get(bytes);
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == SOH) {
+                bytes[i] = PIPE;
+            }
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static class RecordingHandler implements MessageDecodeHandler {
+        int lastTag;
+        String error;
+
+        @Override
+        public void onTag(ByteBuffer buffer, int tagIndex, int tagLen, int valueLen) {
+            lastTag = ByteBufferUtil2.toTag(buffer, tagIndex, tagLen);
+        }
+
+        @Override
+        public void onError(int index, String message) {
+            error = message;
+        }
+    }
+}
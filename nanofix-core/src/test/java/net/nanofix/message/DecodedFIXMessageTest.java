@@ -0,0 +1,162 @@
+package net.nanofix.message;
+
+import io.nano.core.buffer.ByteBufferUtil;
+import net.nanofix.util.ByteString;
+import net.nanofix.util.ByteStringPool;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+class DecodedFIXMessageTest {
+
+    private static final String LOGON =
+            "8=FIX.4.2|9=84|35=A|49=CLIENT|56=BROKER|34=42|52=19700101-00:00:00.000|98=0|" +
+                    "108=30|141=Y|553=user1|10=148|";
+
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+
+    @BeforeEach
+    void setUp() {
+        buffer.clear();
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(LOGON));
+        decoder.decode(buffer, message);
+    }
+
+    @Test
+    void hasField() {
+        Assertions.assertThat(message.error()).isNull();
+        Assertions.assertThat(message.fieldCount()).isEqualTo(12);
+        Assertions.assertThat(message.hasField(Tags.HeartBtInt)).isTrue();
+        Assertions.assertThat(message.hasField(Tags.TestReqID)).isFalse();
+    }
+
+    @Test
+    void getIntAndLong() throws Exception {
+        Assertions.assertThat(message.getInt(Tags.HeartBtInt)).isEqualTo(30);
+        Assertions.assertThat(message.getLong(Tags.MsgSeqNum)).isEqualTo(42L);
+    }
+
+    @Test
+    void getBoolean() throws Exception {
+        Assertions.assertThat(message.getBoolean(Tags.ResetSeqNumFlag)).isTrue();
+    }
+
+    @Test
+    void getChar() throws Exception {
+        Assertions.assertThat(message.getChar(Tags.EncryptMethod)).isEqualTo('0');
+        Assertions.assertThatThrownBy(() -> message.getChar(Tags.HeartBtInt))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getTimestamp() throws Exception {
+        Assertions.assertThat(message.getTimestamp(Tags.SendingTime)).isEqualTo(0L);
+    }
+
+    @Test
+    void getChars() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        message.getChars(Tags.Username, sb);
+        Assertions.assertThat(sb.toString()).isEqualTo("user1");
+    }
+
+    @Test
+    void getCharsAboveAscii() throws Exception {
+        buffer.clear();
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(
+                "8=FIX.4.2|9=77|35=A|49=CLIENT|56=BROKER|34=42|52=19700101-00:00:00.000|98=0|108=30|" +
+                        "553=jos\u00e9|10=174|"));
+        decoder.decode(buffer, message);
+        StringBuilder sb = new StringBuilder();
+        message.getChars(Tags.Username, sb);
+        Assertions.assertThat(sb.toString()).isEqualTo("jos\u00e9");
+    }
+
+    @Test
+    void valueEquals() {
+        Assertions.assertThat(message.valueEquals(Tags.SenderCompID, ByteString.of("CLIENT"))).isTrue();
+        Assertions.assertThat(message.valueEquals(Tags.SenderCompID, ByteString.of("CLIENT2"))).isFalse();
+        Assertions.assertThat(message.valueEquals(Tags.MsgType, MsgTypes.Logon)).isTrue();
+        Assertions.assertThat(message.valueEquals(Tags.TestReqID, ByteString.of("CLIENT"))).isFalse();
+    }
+
+    @Test
+    void getByteString() throws Exception {
+        ByteStringPool pool = new ByteStringPool();
+        ByteString sender = message.getByteString(Tags.SenderCompID, pool);
+        Assertions.assertThat(sender.toString()).isEqualTo("CLIENT");
+        Assertions.assertThat(message.getByteString(Tags.SenderCompID, pool)).isSameAs(sender);
+    }
+
+    @Test
+    void getDataIntoView() throws Exception {
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        Assertions.assertThat(message.getData(Tags.Username, view)).isSameAs(view);
+        Assertions.assertThat(ByteString.copyOf(view, view.position(), view.remaining()))
+                .isEqualTo(ByteString.of("user1"));
+        message.getData(Tags.SenderCompID, view);
+        Assertions.assertThat(ByteString.copyOf(view, view.position(), view.remaining()))
+                .isEqualTo(ByteString.of("CLIENT"));
+        Assertions.assertThatThrownBy(() -> message.getData(Tags.TestReqID, view))
+                .isInstanceOf(MissingFieldException.class);
+    }
+
+    @Test
+    void missingField() {
+        Assertions.assertThatThrownBy(() -> message.getInt(Tags.TestReqID))
+                .isInstanceOf(MissingFieldException.class);
+    }
+
+    @Test
+    void fieldsFromPreviousMessageAreForgotten() {
+        buffer.clear();
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(FIXMessageStrings.HEARTBEAT));
+        decoder.decode(buffer, message);
+        Assertions.assertThat(message.hasField(Tags.HeartBtInt)).isFalse();
+        Assertions.assertThat(message.hasField(Tags.TestReqID)).isTrue();
+    }
+
+    @Test
+    void generationWrap() {
+        message.generation(-1);
+        buffer.clear();
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(FIXMessageStrings.HEARTBEAT));
+        decoder.decode(buffer, message);
+        Assertions.assertThat(message.hasField(Tags.TestReqID)).isTrue();
+        Assertions.assertThat(message.hasField(Tags.Account)).isFalse();
+        Assertions.assertThat(message.hasField(Tags.HeartBtInt)).isFalse();
+        Assertions.assertThat(message.valueIndex(Tags.Account)).isEqualTo(-1);
+    }
+
+    @Test
+    void tagAboveMaxFieldNum() throws Exception {
+        buffer.clear();
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(
+                "8=FIX.4.2|9=20|35=0|5001=1|9999=-7|10=137|"));
+        decoder.decode(buffer, message);
+        Assertions.assertThat(message.getInt(5001)).isEqualTo(1);
+        Assertions.assertThat(message.getInt(9999)).isEqualTo(-7);
+        Assertions.assertThat(message.hasField(5002)).isFalse();
+    }
+
+    @Test
+    void numberOutOfRange() throws Exception {
+        buffer.clear();
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(
+                "8=FIX.4.2|9=80|35=0|5001=2147483647|5002=2147483648|5003=-2147483649|" +
+                        "5004=18446744073709551616|10=092|"));
+        decoder.decode(buffer, message);
+        Assertions.assertThat(message.getInt(5001)).isEqualTo(Integer.MAX_VALUE);
+        Assertions.assertThatThrownBy(() -> message.getInt(5002))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> message.getInt(5003))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThat(message.getLong(5003)).isEqualTo(-2147483649L);
+        Assertions.assertThatThrownBy(() -> message.getLong(5004))
+                .isInstanceOf(NumberFormatException.class);
+    }
+}
@@ -0,0 +1,37 @@
+package net.nanofix.message;
+
+import io.nano.core.buffer.ByteBufferUtil;
+import net.nanofix.settings.SessionSettingsBuilder;
+import net.nanofix.time.VirtualClock;
+import net.nanofix.util.ByteString;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+class DefaultFIXMessageFactoryTest {
+
+    @Test
+    void sendingTimeFromClock() {
+        VirtualClock clock = new VirtualClock(1582988172987654321L);
+        FIXMessageFactory factory = new DefaultFIXMessageFactory(new SessionSettingsBuilder()
+                .fixVersion(FIXVersion.FIX44)
+                .senderCompId("CLIENT")
+                .targetCompId("BROKER")
+                .heartbeatInterval(30)
+                .build(), clock);
+        FIXMessage msg = factory.createMessage();
+        Assertions.assertThat(msg.header().clock()).isSameAs(clock);
+
+        clock.advance(1, TimeUnit.SECONDS);
+        msg.header().beginString(BeginStrings.FIX_4_4);
+        msg.header().msgType(MsgTypes.Heartbeat);
+        msg.header().senderCompId(ByteString.of("CLIENT"));
+        msg.header().targetCompId(ByteString.of("BROKER"));
+        msg.header().msgSeqNum(3);
+        msg.header().sendingTimeNow();
+        String text = new String(ByteBufferUtil.asByteArray(msg.buffers()), StandardCharsets.US_ASCII);
+        Assertions.assertThat(text.replace('\u0001', '|')).contains("|52=20200229-14:56:13.987|");
+    }
+}
@@ -0,0 +1,169 @@
+package net.nanofix.message;
+
+import io.nano.core.buffer.ByteBufferUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+class GroupCursorTest {
+
+    private static final String MD_INCREMENTAL_REFRESH =
+            "8=FIX.4.2|9=131|35=X|49=A|56=B|34=5|268=3|" +
+                    "279=0|269=0|55=VOD.L|270=101.5|271=100|" +
+                    "279=1|269=1|55=VOD.L|270=102|271=200|" +
+                    "279=2|269=0|55=VOD.L|278=ID3|10=021|";
+
+    private static final String MASS_QUOTE =
+            "8=FIX.4.2|9=125|35=i|49=A|56=B|34=6|117=Q1|296=2|" +
+                    "302=S1|295=2|299=E1|55=AAA|132=1.1|299=E2|55=BBB|132=1.2|" +
+                    "302=S2|295=1|299=E3|55=CCC|133=2.5|10=175|";
+
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+
+    @Test
+    void iteratesEntries() throws Exception {
+        decode(MD_INCREMENTAL_REFRESH);
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        Assertions.assertThat(cursor.wrap(message)).isEqualTo(3);
+
+        Assertions.assertThat(cursor.next()).isTrue();
+        Assertions.assertThat(cursor.getInt(Tags.MDUpdateAction)).isEqualTo(0);
+        Assertions.assertThat(cursor.getLong(Tags.MDEntrySize)).isEqualTo(100L);
+        Assertions.assertThat(valueOf(cursor, Tags.MDEntryPx)).isEqualTo("101.5");
+
+        Assertions.assertThat(cursor.next()).isTrue();
+        Assertions.assertThat(cursor.getInt(Tags.MDUpdateAction)).isEqualTo(1);
+        Assertions.assertThat(cursor.getLong(Tags.MDEntrySize)).isEqualTo(200L);
+
+        Assertions.assertThat(cursor.next()).isTrue();
+        Assertions.assertThat(valueOf(cursor, Tags.MDEntryID)).isEqualTo("ID3");
+        Assertions.assertThat(cursor.hasField(Tags.MDEntryPx)).isFalse();
+
+        Assertions.assertThat(cursor.next()).isFalse();
+        Assertions.assertThat(cursor.error()).isNull();
+        Assertions.assertThat(cursor.endIndex()).isEqualTo(MD_INCREMENTAL_REFRESH.indexOf("10="));
+    }
+
+    @Test
+    void iteratesNestedGroups() throws Exception {
+        decode(MASS_QUOTE);
+        GroupCursor quoteSets = new GroupCursor(GroupLayouts.QUOTE_SETS);
+        Assertions.assertThat(quoteSets.wrap(message)).isEqualTo(2);
+        StringBuilder quotes = new StringBuilder();
+        while (quoteSets.next()) {
+            quoteSets.getChars(Tags.QuoteSetID, quotes);
+            GroupCursor quoteEntries = quoteSets.group(Tags.NoQuoteEntries);
+            while (quoteEntries.next()) {
+                quotes.append(' ');
+                quoteEntries.getChars(Tags.QuoteEntryID, quotes);
+            }
+            quotes.append(';');
+        }
+        Assertions.assertThat(quoteSets.error()).isNull();
+        Assertions.assertThat(quotes.toString()).isEqualTo("S1 E1 E2;S2 E3;");
+    }
+
+    @Test
+    void getCharsAboveAscii() throws Exception {
+        decode("8=FIX.4.2|9=55|35=X|49=A|56=B|34=5|268=1|279=0|269=0|55=VOD.L|278=\u00e9t\u00e9|10=013|");
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        cursor.wrap(message);
+        Assertions.assertThat(cursor.next()).isTrue();
+        Assertions.assertThat(valueOf(cursor, Tags.MDEntryID)).isEqualTo("\u00e9t\u00e9");
+    }
+
+    @Test
+    void skipsNestedGroupsNotRead() throws Exception {
+        decode(MASS_QUOTE);
+        GroupCursor quoteSets = new GroupCursor(GroupLayouts.QUOTE_SETS);
+        quoteSets.wrap(message);
+        Assertions.assertThat(quoteSets.next()).isTrue();
+        Assertions.assertThat(quoteSets.next()).isTrue();
+        Assertions.assertThat(valueOf(quoteSets, Tags.QuoteSetID)).isEqualTo("S2");
+        Assertions.assertThat(quoteSets.group(Tags.NoQuoteEntries).count()).isEqualTo(1);
+    }
+
+    @Test
+    void missingGroupIsEmpty() {
+        decode(FIXMessageStrings.HEARTBEAT);
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        Assertions.assertThat(cursor.wrap(message)).isEqualTo(0);
+        Assertions.assertThat(cursor.next()).isFalse();
+        Assertions.assertThat(cursor.error()).isNull();
+    }
+
+    @Test
+    void fewerEntriesThanCount() {
+        decode("8=FIX.4.2|9=47|35=X|49=A|56=B|34=5|268=2|279=0|269=0|55=VOD.L|10=234|");
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        cursor.wrap(message);
+        Assertions.assertThat(cursor.next()).isTrue();
+        Assertions.assertThat(cursor.next()).isFalse();
+        Assertions.assertThat(cursor.error()).isEqualTo("Repeating group has fewer entries than its count");
+    }
+
+    @Test
+    void entryMustStartWithDelimiter() {
+        decode("8=FIX.4.2|9=47|35=X|49=A|56=B|34=5|268=1|269=0|279=0|55=VOD.L|10=233|");
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        cursor.wrap(message);
+        Assertions.assertThat(cursor.next()).isFalse();
+        Assertions.assertThat(cursor.error()).isEqualTo("Repeating group entry must start with the delimiter tag");
+    }
+
+    @Test
+    void nestedCountMustBeANumber() {
+        decode("8=FIX.4.2|9=68|35=i|49=A|56=B|34=6|117=Q1|296=1|302=S1|295=X|299=E1|55=AAA|132=1.1|10=226|");
+        GroupCursor cursor = new GroupCursor(GroupLayouts.QUOTE_SETS);
+        cursor.wrap(message);
+        Assertions.assertThat(cursor.next()).isFalse();
+        Assertions.assertThat(cursor.error()).isEqualTo("Repeating group count is not a number");
+    }
+
+    @Test
+    void countMustBeANumber() {
+        decode("8=FIX.4.2|9=47|35=X|49=A|56=B|34=5|268=Y|279=0|269=0|55=VOD.L|10=017|");
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        Assertions.assertThat(cursor.wrap(message)).isEqualTo(0);
+        Assertions.assertThat(cursor.next()).isFalse();
+        Assertions.assertThat(cursor.error()).isEqualTo("Repeating group count is not a number");
+    }
+
+    @Test
+    void generationWrap() throws Exception {
+        decode(MD_INCREMENTAL_REFRESH);
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        cursor.wrap(message);
+        cursor.generation(-1);
+        Assertions.assertThat(cursor.next()).isTrue();
+        Assertions.assertThat(cursor.getLong(Tags.MDEntrySize)).isEqualTo(100L);
+        Assertions.assertThat(cursor.hasField(Tags.MDEntryID)).isFalse();
+        Assertions.assertThat(cursor.valueIndex(Tags.MDEntryID)).isEqualTo(-1);
+    }
+
+    @Test
+    void missingFieldInEntry() {
+        decode(MD_INCREMENTAL_REFRESH);
+        GroupCursor cursor = new GroupCursor(GroupLayouts.MD_INCREMENTAL_ENTRIES);
+        cursor.wrap(message);
+        cursor.next();
+        Assertions.assertThatThrownBy(() -> cursor.getInt(Tags.NumberOfOrders))
+                .isInstanceOf(MissingFieldException.class);
+    }
+
+    private void decode(String msgText) {
+        buffer.clear();
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(msgText));
+        decoder.decode(buffer, message);
+        Assertions.assertThat(message.error()).isNull();
+    }
+
+    private static String valueOf(GroupCursor cursor, int tag) throws MissingFieldException {
+        StringBuilder value = new StringBuilder();
+        cursor.getChars(tag, value);
+        return value.toString();
+    }
+}
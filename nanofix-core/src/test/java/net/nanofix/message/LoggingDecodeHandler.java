@@ -20,6 +20,21 @@ class LoggingDecodeHandler implements MessageDecodeHandler {
         ));
     }
 
+    // overridden rather than inherited as Mockito 1.9 can't call a default method on a spy
+    @Override
+    public void onMessageStart(ByteBuffer buffer, int messageIndex) {
+        System.out.println(String.format("onMessageStart: messageIndex=%d", messageIndex));
+    }
+
+    @Override
+    public void onMessageEnd(ByteBuffer buffer, int messageIndex, int messageLen) {
+        System.out.println(String.format(
+                "onMessageEnd: messageIndex=%d messageLen=%d",
+                messageIndex,
+                messageLen
+        ));
+    }
+
     @Override
     public void onError(int index, String message) {
         System.out.println(String.format(
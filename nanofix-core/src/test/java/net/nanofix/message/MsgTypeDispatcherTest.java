@@ -0,0 +1,42 @@
+package net.nanofix.message;
+
+import io.nano.core.buffer.ByteBufferUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+class MsgTypeDispatcherTest {
+
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+    private final StringBuilder handled = new StringBuilder();
+    private final MsgTypeDispatcher dispatcher = new MsgTypeDispatcher(msg -> handled.append("default;"))
+            .register(MsgTypes.Heartbeat, msg -> handled.append("heartbeat;"))
+            .register(MsgTypes.NewOrderMultileg, msg -> handled.append("multileg;"));
+
+    @Test
+    void dispatchesByMsgType() {
+        dispatch("8=FIX.4.4|9=5|35=0|10=163|");
+        dispatch("8=FIX.4.4|9=6|35=AB|10=247|");
+        dispatch("8=FIX.4.4|9=5|35=D|10=183|");
+        dispatch("8=FIX.4.4|9=7|35=ABC|10=059|");
+        dispatch("8=FIX.4.4|9=5|34=1|10=163|");
+        Assertions.assertThat(handled.toString()).isEqualTo("heartbeat;multileg;default;default;default;");
+    }
+
+    @Test
+    void replacingTheDefaultHandlerKeepsRegisteredHandlers() {
+        dispatcher.defaultHandler(msg -> handled.append("other;"));
+        dispatch("8=FIX.4.4|9=5|35=D|10=183|");
+        dispatch("8=FIX.4.4|9=5|35=0|10=163|");
+        Assertions.assertThat(handled.toString()).isEqualTo("other;heartbeat;");
+    }
+
+    private void dispatch(String fix) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(fix));
+        decoder.decode(buffer, message);
+        dispatcher.dispatch(message);
+    }
+}
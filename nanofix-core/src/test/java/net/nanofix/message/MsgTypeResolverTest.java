@@ -0,0 +1,53 @@
+package net.nanofix.message;
+
+import io.nano.core.buffer.ByteBufferUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class MsgTypeResolverTest {
+
+    private final MsgTypeResolver resolver = new MsgTypeResolver();
+
+    @Test
+    void resolvesEveryMsgType() throws Exception {
+        for (Field field : MsgTypes.class.getFields()) {
+            MsgType msgType = (MsgType) field.get(null);
+            ByteBuffer buffer = ByteBuffer.wrap(("35=" + msgType.value()).getBytes(StandardCharsets.US_ASCII));
+            Assertions.assertThat(resolver.resolve(buffer, 3, msgType.length())).isSameAs(msgType);
+        }
+    }
+
+    @Test
+    void unknownOrInvalid() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{'U', '9', 'A', 'B', 'C', (byte) 0xC3, 'A'});
+        Assertions.assertThat(resolver.resolve(buffer, 0, 2)).isNull();
+        Assertions.assertThat(resolver.resolve(buffer, 2, 3)).isNull();
+        Assertions.assertThat(resolver.resolve(buffer, 2, 0)).isNull();
+        Assertions.assertThat(resolver.resolve(buffer, 5, 2)).isNull();
+        Assertions.assertThat(resolver.resolve(buffer, 2, 2)).isSameAs(MsgTypes.NewOrderMultileg);
+    }
+
+    @Test
+    void registerUserDefined() {
+        MsgType custom = new MsgType("U9", "Custom");
+        resolver.register(custom);
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{'U', '9'});
+        Assertions.assertThat(resolver.resolve(buffer, 0, 2)).isSameAs(custom);
+        Assertions.assertThatThrownBy(() -> resolver.register(new MsgType("U10")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resolveDecodedMessage() {
+        DecodedFIXMessage message = new DecodedFIXMessage();
+        Assertions.assertThat(resolver.resolve(message)).isNull();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        ByteBufferUtil.putBytes(buffer, FIXMessageStrings.asValidByteArray(FIXMessageStrings.HEARTBEAT));
+        new NanoFIXMessageDecoder().decode(buffer, message);
+        Assertions.assertThat(resolver.resolve(message)).isSameAs(MsgTypes.Heartbeat);
+    }
+}
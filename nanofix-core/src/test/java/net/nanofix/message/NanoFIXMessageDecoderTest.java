@@ -1,6 +1,7 @@
 package net.nanofix.message;
 
 import io.nano.core.buffer.ByteBufferUtil;
+import net.nanofix.message.selector.SelectorCompiler;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -8,11 +9,23 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class NanoFIXMessageDecoderTest {
 
+    private static final String NEW_ORDER_SINGLE =
+            "8=FIX.4.2|9=59|35=D|49=CLIENT|56=BROKER|34=2|11=ORD1|55=VOD.L|54=1|38=100|10=112|";
+
+    // the XmlData(213) value holds SOH and what looks like a CheckSum field
+    private static final String XML_MESSAGE =
+            "8=FIX.4.4|9=60|35=n|49=BROKER|56=CLIENT|34=2|212=13|213=<a>|10=1|</a>|58=x|10=165|";
+
     private MessageStringBuilder stringBuilder = new MessageStringBuilder();
     private NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
     private ByteBuffer buffer = ByteBuffer.allocate(1024);
@@ -95,10 +108,38 @@ class NanoFIXMessageDecoderTest {
 
     @Test
     void checksumMissing() {
+        String msgText = FIXMessageStrings.HEARTBEAT.replace("10=109|", "");
+        prepareBuffer(msgText);
+        decoder.decode(buffer, decodeHandler);
+        verify(decodeHandler).onError(msgText.length(), "CheckSum(10) not found, the message is incomplete");
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void checksumNotWhereBodyLengthSays() {
+        String msgText = FIXMessageStrings.HEARTBEAT.replace("9=72|", "9=71|");
+        prepareBuffer(msgText);
+        decoder.decode(buffer, decodeHandler);
+        verify(decodeHandler).onError(msgText.indexOf("10=109") - 1, "BodyLength(9) value is incorrect");
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void bodyLengthTooLargeForBuffer() {
+        buffer = ByteBuffer.allocate(64);
+        prepareBuffer("8=FIX.4.3|9=72|35=0|49=CLIENT|");
+        decoder.decode(buffer, decodeHandler);
+        verify(decodeHandler).onError(10, "BodyLength(9) value is too large for the buffer");
     }
 
     @Test
     void checksumIncorrect() {
+        String msgText = FIXMessageStrings.HEARTBEAT.replace("10=109|", "10=108|");
+        prepareBuffer(msgText);
+        decoder.decode(buffer, decodeHandler);
+        verify(decodeHandler)
+                .onError(msgText.indexOf("10=108"), "Invalid checksum!");
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
     }
 
     @Test
@@ -109,12 +150,305 @@ class NanoFIXMessageDecoderTest {
         Assertions.assertThat(stringBuilder.asString()).isEqualTo(msgText);
     }
 
+    @Test
+    void decodeHeartbeatSplitAcrossReads() {
+        byte[] bytes = FIXMessageStrings.asValidByteArray(FIXMessageStrings.HEARTBEAT);
+        for (int split = 1; split < bytes.length; split++) {
+            NanoFIXMessageDecoder resumableDecoder = new NanoFIXMessageDecoder(true);
+            MessageStringBuilder builder = new MessageStringBuilder();
+            buffer.clear();
+            buffer.put(bytes, 0, split);
+            resumableDecoder.decode(buffer, builder);
+            Assertions.assertThat(resumableDecoder.hasPartialMessage()).isTrue();
+            buffer.put(bytes, split, bytes.length - split);
+            resumableDecoder.decode(buffer, builder);
+            Assertions.assertThat(resumableDecoder.hasPartialMessage()).isFalse();
+            Assertions.assertThat(builder.asString()).isEqualTo(FIXMessageStrings.HEARTBEAT);
+        }
+    }
+
+    @Test
+    void partialMessageNotPassedToHandler() {
+        NanoFIXMessageDecoder resumableDecoder = new NanoFIXMessageDecoder(true);
+        prepareBuffer(FIXMessageStrings.HEARTBEAT.substring(0, FIXMessageStrings.HEARTBEAT.length() - 1));
+        resumableDecoder.decode(buffer, decodeHandler);
+        Assertions.assertThat(resumableDecoder.hasPartialMessage()).isTrue();
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+        verify(decodeHandler, never()).onError(anyInt(), anyString());
+    }
+
+    @Test
+    void decodeHeartbeatOneByteAtATime() {
+        NanoFIXMessageDecoder resumableDecoder = new NanoFIXMessageDecoder(true);
+        byte[] bytes = FIXMessageStrings.asValidByteArray(FIXMessageStrings.HEARTBEAT);
+        buffer.clear();
+        for (byte aByte : bytes) {
+            buffer.put(aByte);
+            resumableDecoder.decode(buffer, stringBuilder);
+        }
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo(FIXMessageStrings.HEARTBEAT);
+    }
+
     @Test
     void decodeLogon() {
     }
 
     @Test
     void decodeMultipleMessages() {
+        String msgText = FIXMessageStrings.HEARTBEAT;
+        prepareBuffer(msgText + msgText + msgText);
+        int consumed = decoder.decodeMessages(buffer, stringBuilder);
+        Assertions.assertThat(consumed).isEqualTo(buffer.position());
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo(msgText + msgText + msgText);
+    }
+
+    @Test
+    void decodeMultipleMessagesReportsMessageBoundaries() {
+        String msgText = FIXMessageStrings.HEARTBEAT;
+        int msgLen = msgText.length();
+        prepareBuffer(msgText + msgText);
+        decoder.decodeMessages(buffer, decodeHandler);
+        verify(decodeHandler).onMessageStart(buffer, 0);
+        verify(decodeHandler).onMessageEnd(buffer, 0, msgLen);
+        verify(decodeHandler).onMessageStart(buffer, msgLen);
+        verify(decodeHandler).onMessageEnd(buffer, msgLen, msgLen);
+    }
+
+    @Test
+    void decodeMultipleMessagesLeavesTrailingPartialMessage() {
+        NanoFIXMessageDecoder resumableDecoder = new NanoFIXMessageDecoder(true);
+        String msgText = FIXMessageStrings.HEARTBEAT;
+        int msgLen = msgText.length();
+        prepareBuffer(msgText + msgText.substring(0, 30));
+        Assertions.assertThat(resumableDecoder.decodeMessages(buffer, stringBuilder)).isEqualTo(msgLen);
+
+        // compact the consumed message away and append the rest of the partial message
+        buffer.flip();
+        buffer.position(msgLen);
+        buffer.compact();
+        buffer.put(FIXMessageStrings.asValidByteArray(msgText.substring(30)));
+        Assertions.assertThat(resumableDecoder.decodeMessages(buffer, stringBuilder)).isEqualTo(msgLen);
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo(msgText + msgText);
+    }
+
+    @Test
+    void decodeProjectionOnlyPassesProjectedFields() {
+        prepareBuffer(NEW_ORDER_SINGLE);
+        decoder.decode(buffer, new FieldProjection(55, 11), stringBuilder);
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo("11=ORD1|55=VOD.L|");
+    }
+
+    @Test
+    void decodeProjectionSkipsRestOfBody() {
+        // the malformed field after the projected fields is only summed, never tokenized
+        prepareBuffer("8=FIX.4.2|9=59|35=D|49=CLIENT|56=BROKER|34=2|11=ORD1|55=VOD.L|junk|38=100|10=081|");
+        decoder.decode(buffer, new FieldProjection(11, 55), decodeHandler);
+        verify(decodeHandler, never()).onError(anyInt(), anyString());
+        verify(decodeHandler, times(2)).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void decodeProjectionChecksumIncorrect() {
+        String msgText = NEW_ORDER_SINGLE.replace("10=112|", "10=111|");
+        prepareBuffer(msgText);
+        decoder.decode(buffer, new FieldProjection(11), decodeHandler);
+        verify(decodeHandler).onError(msgText.indexOf("10=111"), "Invalid checksum!");
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void decodeProjectionIncompleteMessage() {
+        prepareBuffer(NEW_ORDER_SINGLE.substring(0, NEW_ORDER_SINGLE.length() - 3));
+        decoder.decode(buffer, new FieldProjection(11), decodeHandler);
+        verify(decodeHandler).onError(buffer.position(), "CheckSum(10) not found, the message is incomplete");
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void decodeProjectionLeavesPartialMessage() {
+        NanoFIXMessageDecoder resumableDecoder = new NanoFIXMessageDecoder(true);
+        prepareBuffer(NEW_ORDER_SINGLE.substring(0, NEW_ORDER_SINGLE.length() - 3));
+        resumableDecoder.decode(buffer, new FieldProjection(11), decodeHandler);
+        Assertions.assertThat(resumableDecoder.hasPartialMessage()).isTrue();
+        verify(decodeHandler, never()).onError(anyInt(), anyString());
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void decodeProjectionReportsMessageBoundaries() {
+        prepareBuffer(NEW_ORDER_SINGLE);
+        decoder.decode(buffer, new FieldProjection(11), decodeHandler);
+        verify(decodeHandler).onMessageStart(buffer, 0);
+        verify(decodeHandler).onMessageEnd(buffer, 0, NEW_ORDER_SINGLE.length());
+    }
+
+    @Test
+    void decodeProjectionIntoDecodedMessage() throws MissingFieldException {
+        FieldProjection projection = new FieldProjection(Tags.MsgSeqNum, Tags.TestReqID);
+        DecodedFIXMessage message = new DecodedFIXMessage();
+        prepareBuffer(FIXMessageStrings.HEARTBEAT);
+        decoder.decode(buffer, projection, message);
+        Assertions.assertThat(message.getInt(Tags.MsgSeqNum)).isEqualTo(11);
+        Assertions.assertThat(message.hasField(Tags.TestReqID)).isTrue();
+
+        // fields of the previous message are forgotten
+        prepareBuffer(NEW_ORDER_SINGLE);
+        decoder.decode(buffer, projection, message);
+        Assertions.assertThat(message.getInt(Tags.MsgSeqNum)).isEqualTo(2);
+        Assertions.assertThat(message.hasField(Tags.TestReqID)).isFalse();
+        Assertions.assertThat(message.error()).isNull();
+    }
+
+    @Test
+    void decodeFilterPassesSelectedMessage() {
+        prepareBuffer(NEW_ORDER_SINGLE);
+        int result = decoder.decode(buffer, SelectorCompiler.compile("35 = D and 55 = VOD.L"), stringBuilder);
+        Assertions.assertThat(result).isEqualTo(NEW_ORDER_SINGLE.length());
+        Assertions.assertThat(decoder.hasSelectedMessage()).isTrue();
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo(NEW_ORDER_SINGLE);
+    }
+
+    @Test
+    void decodeFilterRejectsBeforeRestOfBody() {
+        // the malformed field after the deciding MsgType is never tokenized
+        String msgText = "8=FIX.4.2|9=59|35=D|49=CLIENT|56=BROKER|34=2|11=ORD1|55=VOD.L|junk|38=100|10=081|";
+        prepareBuffer(msgText);
+        int result = decoder.decode(buffer, SelectorCompiler.compile("35 in (G, F)"), decodeHandler);
+        Assertions.assertThat(result).isEqualTo(msgText.length());
+        Assertions.assertThat(decoder.hasSelectedMessage()).isFalse();
+        verify(decodeHandler, never()).onError(anyInt(), anyString());
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void decodeFilterDecidesAbsentFieldAtChecksum() {
+        prepareBuffer(NEW_ORDER_SINGLE);
+        Assertions.assertThat(decoder.decode(buffer, SelectorCompiler.compile("59"), stringBuilder))
+                .isEqualTo(NEW_ORDER_SINGLE.length());
+        Assertions.assertThat(decoder.hasSelectedMessage()).isFalse();
+        Assertions.assertThat(decoder.decode(buffer, SelectorCompiler.compile("not 59"), stringBuilder))
+                .isEqualTo(NEW_ORDER_SINGLE.length());
+        Assertions.assertThat(decoder.hasSelectedMessage()).isTrue();
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo(NEW_ORDER_SINGLE);
+    }
+
+    @Test
+    void decodeFilterIgnoresIncompleteMessage() {
+        prepareBuffer(NEW_ORDER_SINGLE.substring(0, 25));
+        int result = decoder.decode(buffer, SelectorCompiler.compile("55 = VOD.L"), decodeHandler);
+        Assertions.assertThat(result).isEqualTo(NanoFIXMessageDecoder.PARTIAL_MESSAGE);
+        Assertions.assertThat(decoder.hasSelectedMessage()).isFalse();
+        verify(decodeHandler, never()).onError(anyInt(), anyString());
+        verify(decodeHandler, never()).onTag(any(ByteBuffer.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void decodeFilterSkipsRejectedMessageInStream() {
+        // rejected on BeginString with only the header arrived, the rest is skipped as it comes in
+        prepareBuffer(NEW_ORDER_SINGLE.substring(0, 20));
+        int result = decoder.decode(buffer, SelectorCompiler.compile("8 = FIX.4.4"), decodeHandler);
+        Assertions.assertThat(result).isEqualTo(NEW_ORDER_SINGLE.length());
+        Assertions.assertThat(decoder.hasSelectedMessage()).isFalse();
+
+        prepareBuffer(NEW_ORDER_SINGLE + FIXMessageStrings.HEARTBEAT);
+        Assertions.assertThat(decoder.decode(buffer, SelectorCompiler.compile("35 = 0"), decodeHandler))
+                .isEqualTo(NEW_ORDER_SINGLE.length());
+        buffer.flip();
+        buffer.position(NEW_ORDER_SINGLE.length());
+        buffer.compact();
+        Assertions.assertThat(decoder.decode(buffer, SelectorCompiler.compile("35 = 0"), stringBuilder))
+                .isEqualTo(FIXMessageStrings.HEARTBEAT.length());
+        Assertions.assertThat(decoder.hasSelectedMessage()).isTrue();
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo(FIXMessageStrings.HEARTBEAT);
+        verify(decodeHandler, never()).onError(anyInt(), anyString());
+    }
+
+    @Test
+    void decodeFilterReportsInvalidMessage() {
+        prepareBuffer("8=FIX.4.2|9=59|49=CLIENT|35=D|56=BROKER|34=2|11=ORD1|55=VOD.L|54=1|38=100|10=112|");
+        int result = decoder.decode(buffer, SelectorCompiler.compile("55 = VOD.L"), decodeHandler);
+        Assertions.assertThat(result).isEqualTo(NanoFIXMessageDecoder.INVALID_MESSAGE);
+        Assertions.assertThat(decoder.hasSelectedMessage()).isFalse();
+        verify(decodeHandler).onError(15, "MsgType(35) must be the third field in the message");
+    }
+
+    @Test
+    void decodeDataFieldContainingSoh() throws MissingFieldException {
+        prepareBuffer(XML_MESSAGE);
+        DecodedFIXMessage message = new DecodedFIXMessage();
+        decoder.decode(buffer, message);
+        Assertions.assertThat(message.error()).isNull();
+        Assertions.assertThat(message.isComplete()).isTrue();
+        Assertions.assertThat(message.valueLength(Tags.XmlData)).isEqualTo(13);
+        Assertions.assertThat(message.valueIndex(Tags.Text)).isEqualTo(XML_MESSAGE.indexOf("58=") + 3);
+        ByteBuffer data = message.getData(Tags.XmlData);
+        Assertions.assertThat(data.isReadOnly()).isTrue();
+        Assertions.assertThat(new String(ByteBufferUtil2.asByteArray(data, 0, data.remaining())))
+                .isEqualTo("<a>\u000110=1\u0001</a>");
+    }
+
+    @Test
+    void decodeDataFieldOneByteAtATime() {
+        NanoFIXMessageDecoder resumableDecoder = new NanoFIXMessageDecoder(true);
+        byte[] bytes = FIXMessageStrings.asValidByteArray(XML_MESSAGE);
+        buffer.clear();
+        for (byte aByte : bytes) {
+            buffer.put(aByte);
+            resumableDecoder.decode(buffer, stringBuilder);
+        }
+        Assertions.assertThat(stringBuilder.asString().replace('\u0001', '|')).isEqualTo(XML_MESSAGE);
+    }
+
+    @Test
+    void decodeDataFieldScannedWithoutDataFields() {
+        prepareBuffer(XML_MESSAGE);
+        DecodedFIXMessage message = new DecodedFIXMessage();
+        new NanoFIXMessageDecoder(false, DataFields.NONE).decode(buffer, message);
+        // the SOH in the value ends the field early
+        Assertions.assertThat(message.valueLength(Tags.XmlData)).isEqualTo(3);
+    }
+
+    @Test
+    void dataFieldLengthIncorrect() {
+        String msgText = "8=FIX.4.4|9=60|35=n|49=BROKER|56=CLIENT|34=2|212=12|213=<a>|10=1|</a>|58=x|10=164|";
+        prepareBuffer(msgText);
+        decoder.decode(buffer, decodeHandler);
+        verify(decodeHandler).onError(msgText.indexOf("213="), "Length field value does not match the data field");
+    }
+
+    @Test
+    void dataFieldLengthPastChecksum() {
+        String msgText = "8=FIX.4.4|9=60|35=n|49=BROKER|56=CLIENT|34=2|212=99|213=<a>|10=1|</a>|58=x|10=179|";
+        prepareBuffer(msgText);
+        NanoFIXMessageDecoder resumableDecoder = new NanoFIXMessageDecoder(true);
+        resumableDecoder.decode(buffer, decodeHandler);
+        // an error rather than waiting for bytes that would belong to the next message
+        verify(decodeHandler).onError(msgText.indexOf("213="), "Length field value does not match the data field");
+        Assertions.assertThat(resumableDecoder.hasPartialMessage()).isFalse();
+    }
+
+    @Test
+    void dataFieldLengthInvalid() {
+        String msgText = "8=FIX.4.4|9=60|35=n|49=BROKER|56=CLIENT|34=2|212=1x|213=<a>|10=1|</a>|58=x|10=234|";
+        prepareBuffer(msgText);
+        decoder.decode(buffer, decodeHandler);
+        verify(decodeHandler).onError(msgText.indexOf("212="), "Length field value is invalid");
+    }
+
+    @Test
+    void decodeProjectionAfterDataField() {
+        prepareBuffer(XML_MESSAGE);
+        decoder.decode(buffer, new FieldProjection(58), stringBuilder);
+        Assertions.assertThat(stringBuilder.asString()).isEqualTo("58=x|");
+    }
+
+    @Test
+    void decodeFilterAfterDataField() {
+        prepareBuffer(XML_MESSAGE);
+        Assertions.assertThat(decoder.decode(buffer, SelectorCompiler.compile("58 = x"), decodeHandler))
+                .isEqualTo(XML_MESSAGE.length());
+        Assertions.assertThat(decoder.hasSelectedMessage()).isTrue();
+        verify(decodeHandler, never()).onError(anyInt(), anyString());
     }
 
     private void prepareBuffer(String msgText) {
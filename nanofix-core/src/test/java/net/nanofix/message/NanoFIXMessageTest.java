@@ -1,6 +1,7 @@
 package net.nanofix.message;
 
 import io.nano.core.buffer.ByteBufferUtil;
+import net.nanofix.time.VirtualClock;
 import net.nanofix.util.ByteArrayUtil;
 import net.nanofix.util.ByteString;
 import org.junit.jupiter.api.Assertions;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 
 import static net.nanofix.util.FIXBytes.PIPE;
 import static net.nanofix.util.FIXBytes.SOH;
@@ -68,6 +70,256 @@ class NanoFIXMessageTest {
                 bytes);
     }
 
+    @Test
+    void decimalFields() {
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.NewOrderSingle);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(7);
+        msg.addDecimalField(Tags.Price, 10125, 2);
+        msg.addDecimalField(Tags.OrderQty, 500, 0);
+        msg.addDecimalField(Tags.StopPx, -5, 3);
+        byte[] bytes = ByteBufferUtil.asByteArray(msg.buffers());
+
+        assertByteArray(
+                "8=FIX.4.2|9=82|35=D|49=CLIENT|56=BROKER|34=7|52=19700101-00:00:00.000|" +
+                        "44=101.25|38=500|99=-0.005|10=048|",
+                bytes);
+    }
+
+    @Test
+    void charSequenceFields() {
+        StringBuilder clOrdId = new StringBuilder("ORDER-").append(1001);
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.NewOrderSingle);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(7);
+        msg.addCharSequenceField(Tags.ClOrdID, clOrdId);
+        msg.addCharSequenceField(Tags.Symbol, "VOD.L,BARC.L", 6, 12);
+        // a rejected value leaves nothing behind
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> msg.addCharSequenceField(Tags.Account, "Z\u00fcrich"));
+        byte[] bytes = ByteBufferUtil.asByteArray(msg.buffers());
+
+        assertByteArray(
+                "8=FIX.4.2|9=79|35=D|49=CLIENT|56=BROKER|34=7|52=19700101-00:00:00.000|" +
+                        "11=ORDER-1001|55=BARC.L|10=160|",
+                bytes);
+    }
+
+    @Test
+    void charFields() {
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.NewOrderSingle);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(7);
+        msg.addCharField(Tags.Side, '1');
+        msg.addCharField(Tags.OrdType, '2');
+        Assertions.assertThrows(IllegalArgumentException.class, () -> msg.addCharField(Tags.TimeInForce, '\u0001'));
+        byte[] bytes = ByteBufferUtil.asByteArray(msg.buffers());
+
+        assertByteArray(
+                "8=FIX.4.2|9=65|35=D|49=CLIENT|56=BROKER|34=7|52=19700101-00:00:00.000|" +
+                        "54=1|40=2|10=002|",
+                bytes);
+    }
+
+    @Test
+    void nestedRepeatingGroups() throws Exception {
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().beginString(BeginStrings.FIX_4_4);
+        msg.header().msgType(MsgTypes.MassQuote);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(7);
+        msg.addStringField(Tags.QuoteID, ByteString.of("Q1"));
+        msg.beginGroup(Tags.NoQuoteSets);
+        msg.beginGroupEntry();
+        msg.addStringField(Tags.QuoteSetID, ByteString.of("S1"));
+        msg.beginGroup(Tags.NoQuoteEntries);
+        msg.beginGroupEntry();
+        msg.addStringField(Tags.QuoteEntryID, ByteString.of("E1"));
+        msg.addStringField(Tags.Symbol, ByteString.of("AAA"));
+        msg.addDecimalField(Tags.BidPx, 110, 2);
+        msg.beginGroupEntry();
+        msg.addStringField(Tags.QuoteEntryID, ByteString.of("E2"));
+        msg.addStringField(Tags.Symbol, ByteString.of("BBB"));
+        msg.addDecimalField(Tags.BidPx, 120, 2);
+        Assertions.assertEquals(2, msg.endGroup());
+        msg.beginGroupEntry();
+        msg.addStringField(Tags.QuoteSetID, ByteString.of("S2"));
+        msg.beginGroup(Tags.NoQuoteEntries);
+        msg.beginGroupEntry();
+        msg.addStringField(Tags.QuoteEntryID, ByteString.of("E3"));
+        msg.addStringField(Tags.Symbol, ByteString.of("CCC"));
+        msg.addDecimalField(Tags.OfferPx, 250, 2);
+        Assertions.assertEquals(1, msg.endGroup());
+        Assertions.assertEquals(2, msg.endGroup());
+        byte[] bytes = ByteBufferUtil.asByteArray(msg.buffers());
+
+        // the counts written are read back
+        DecodedFIXMessage decoded = new DecodedFIXMessage();
+        ByteBuffer decodeBuffer = ByteBuffer.allocate(256);
+        decodeBuffer.put(bytes);
+        decoder.decode(decodeBuffer, decoded);
+        GroupCursor quoteSets = new GroupCursor(GroupLayouts.QUOTE_SETS);
+        Assertions.assertEquals(2, quoteSets.wrap(decoded));
+        Assertions.assertTrue(quoteSets.next());
+        Assertions.assertEquals(2, quoteSets.group(Tags.NoQuoteEntries).count());
+
+        assertByteArray(
+                "8=FIX.4.4|9=166|35=i|49=CLIENT|56=BROKER|34=7|52=19700101-00:00:00.000|117=Q1|296=02|" +
+                        "302=S1|295=02|299=E1|55=AAA|132=1.10|299=E2|55=BBB|132=1.20|" +
+                        "302=S2|295=01|299=E3|55=CCC|133=2.50|10=143|",
+                bytes);
+    }
+
+    @Test
+    void emptyRepeatingGroupIsLeftOut() {
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().beginString(BeginStrings.FIX_4_4);
+        msg.header().msgType(MsgTypes.MarketDataSnapshotFullRefresh);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(7);
+        msg.addStringField(Tags.Symbol, ByteString.of("VOD.L"));
+        msg.beginGroup(Tags.NoMDEntries);
+        Assertions.assertEquals(0, msg.endGroup());
+        Assertions.assertThrows(IllegalStateException.class, msg::endGroup);
+
+        assertByteArray(
+                "8=FIX.4.4|9=64|35=W|49=CLIENT|56=BROKER|34=7|52=19700101-00:00:00.000|55=VOD.L|10=117|",
+                ByteBufferUtil.asByteArray(msg.buffers()));
+    }
+
+    @Test
+    void repeatingGroupCountDigits() {
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.MarketDataSnapshotFullRefresh);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(42);
+        msg.addStringField(Tags.Symbol, ByteString.of("VOD.L"));
+        msg.beginGroup(Tags.NoMDEntries, 4);
+        msg.beginGroupEntry();
+        msg.addCharField(Tags.MDEntryType, '0');
+        msg.addDecimalField(Tags.MDEntryPx, 10125, 2);
+        msg.beginGroupEntry();
+        msg.addCharField(Tags.MDEntryType, '1');
+        msg.addDecimalField(Tags.MDEntryPx, 10150, 2);
+        msg.endGroup();
+
+        assertByteArray(
+                "8=FIX.4.2|9=108|35=W|49=CLIENT|56=BROKER|34=42|52=19700101-00:00:00.000|55=VOD.L|268=0002|" +
+                        "269=0|270=101.25|269=1|270=101.50|10=138|",
+                ByteBufferUtil.asByteArray(msg.buffers()));
+
+        buffer.clear();
+        msg.beginGroup(Tags.NoMDEntries, 1);
+        for (int i = 0; i < 9; i++) {
+            msg.beginGroupEntry();
+            msg.addCharField(Tags.MDEntryType, '0');
+        }
+        Assertions.assertThrows(IllegalStateException.class, msg::beginGroupEntry);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> msg.beginGroup(Tags.NoMDEntries, 10));
+    }
+
+    @Test
+    void defaultCountDigitsFitTheBuffer() {
+        ByteBuffer largeBuffer = ByteBuffer.allocate(16 * 1024);
+        FIXMessage msg = new NanoFIXMessage(header, largeBuffer);
+        msg.beginGroup(Tags.NoMDEntries);
+        for (int i = 0; i < 1500; i++) {
+            msg.beginGroupEntry();
+            msg.addCharField(Tags.MDEntryType, '0');
+        }
+        Assertions.assertEquals(1500, msg.endGroup());
+        Assertions.assertEquals("268=1500", new String(ByteBufferUtil.asByteArray(largeBuffer, 0, 8)));
+        Assertions.assertEquals(2, FixMessageAssembler.groupCountDigits(256));
+        Assertions.assertEquals(1, FixMessageAssembler.groupCountDigits(0));
+    }
+
+    @Test
+    void microsecondTimestamps() {
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().beginString(BeginStrings.FIX_4_4);
+        msg.header().msgType(MsgTypes.NewOrderSingle);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(7);
+        msg.header().sendingTimeUnit(TimeUnit.MICROSECONDS);
+        msg.header().sendingTime(1582988172987654L);
+        msg.addTimestamp(Tags.TransactTime, 1582988172987654321L, TimeUnit.NANOSECONDS);
+        byte[] bytes = ByteBufferUtil.asByteArray(msg.buffers());
+
+        assertByteArray(
+                "8=FIX.4.4|9=89|35=D|49=CLIENT|56=BROKER|34=7|52=20200229-14:56:12.987654|" +
+                        "60=20200229-14:56:12.987654321|10=058|",
+                bytes);
+    }
+
+    @Test
+    void sendingTimeFromClock() {
+        VirtualClock clock = new VirtualClock(1582988172987654321L);
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().clock(clock);
+        msg.header().beginString(BeginStrings.FIX_4_4);
+        msg.header().msgType(MsgTypes.Heartbeat);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(3);
+        msg.header().sendingTimeUnit(TimeUnit.MICROSECONDS);
+        msg.header().sendingTimeNow();
+        assertByteArray(
+                "8=FIX.4.4|9=58|35=0|49=CLIENT|56=BROKER|34=3|52=20200229-14:56:12.987654|10=010|",
+                ByteBufferUtil.asByteArray(msg.buffers()));
+    }
+
+    @Test
+    void templateHeader() {
+        FIXMessage msg = new NanoFIXMessage(header, buffer);
+        msg.header().templateMode(true);
+        msg.header().beginString(BeginStrings.FIX_4_2);
+        msg.header().msgType(MsgTypes.Logon);
+        msg.header().senderCompId(SENDER_COMP_ID);
+        msg.header().targetCompId(TARGET_COMP_ID);
+        msg.header().msgSeqNum(9);
+        msg.header().sendingTime(0);
+        msg.addIntField(Tags.EncryptMethod, 0);
+        msg.addIntField(Tags.HeartBtInt, 30);
+        msg.addStringField(Tags.Username, ByteString.of("user1"));
+        assertByteArray(
+                "8=FIX.4.2|9=77|35=A|49=CLIENT|56=BROKER|52=19700101-00:00:00.000|34=9|98=0|" +
+                        "108=30|553=user1|10=060|",
+                ByteBufferUtil.asByteArray(msg.buffers()));
+
+        // the next day with a wider MsgSeqNum and another MsgType patches the template
+        buffer.clear();
+        msg.header().msgType(MsgTypes.Heartbeat);
+        msg.header().msgSeqNum(10);
+        msg.header().sendingTime(24 * 60 * 60 * 1000 + 1);
+        msg.addStringField(Tags.TestReqID, ByteString.of("test-req-id"));
+        assertByteArray(
+                "8=FIX.4.2|9=72|35=0|49=CLIENT|56=BROKER|52=19700102-00:00:00.001|34=10|" +
+                        "112=test-req-id|10=109|",
+                ByteBufferUtil.asByteArray(msg.buffers()));
+
+        // a new session field rebuilds it
+        buffer.clear();
+        msg.header().senderSubId(ByteString.of("DESK"));
+        msg.header().msgSeqNum(11);
+        assertByteArray(
+                "8=FIX.4.2|9=64|35=0|49=CLIENT|56=BROKER|50=DESK|52=19700102-00:00:00.001|34=11|10=056|",
+                ByteBufferUtil.asByteArray(msg.buffers()));
+    }
+
     private void assertByteArray(String expected, byte[] actualBytes) {
         ByteBuffer buffer = ByteBuffer.wrap(actualBytes);
         decoder.decode(buffer, visitor);
@@ -0,0 +1,49 @@
+package net.nanofix.message;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+class TagSlotsTest {
+
+    @Test
+    void slotsInTagOrder() {
+        BitSet tags = new BitSet();
+        tags.set(55);
+        tags.set(11);
+        tags.set(5001);
+        TagSlots slots = new TagSlots(tags);
+        Assertions.assertThat(slots.size()).isEqualTo(3);
+        Assertions.assertThat(slots.slot(11)).isEqualTo(0);
+        Assertions.assertThat(slots.slot(55)).isEqualTo(1);
+        Assertions.assertThat(slots.slot(5001)).isEqualTo(2);
+    }
+
+    @Test
+    void slotsInGivenOrder() {
+        TagSlots slots = new TagSlots(269, 270, 271);
+        Assertions.assertThat(slots.slot(269)).isEqualTo(0);
+        Assertions.assertThat(slots.slot(271)).isEqualTo(2);
+        Assertions.assertThat(slots.contains(270)).isTrue();
+    }
+
+    @Test
+    void tagsNotInTheSet() {
+        TagSlots slots = new TagSlots(269, 270);
+        Assertions.assertThat(slots.slot(1)).isEqualTo(TagSlots.NO_SLOT);
+        Assertions.assertThat(slots.slot(-1)).isEqualTo(TagSlots.NO_SLOT);
+        Assertions.assertThat(slots.slot(Integer.MAX_VALUE)).isEqualTo(TagSlots.NO_SLOT);
+        Assertions.assertThat(slots.contains(271)).isFalse();
+    }
+
+    @Test
+    void invalidTags() {
+        Assertions.assertThatThrownBy(() -> new TagSlots(269, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid tag -1");
+        Assertions.assertThatThrownBy(() -> new TagSlots(269, 270, 269))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Tag 269 appears twice");
+    }
+}
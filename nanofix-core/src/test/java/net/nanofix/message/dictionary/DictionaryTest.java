@@ -0,0 +1,95 @@
+package net.nanofix.message.dictionary;
+
+import net.nanofix.message.Tags;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+class DictionaryTest {
+
+    private static final String FIELDS = "<fields>" +
+            "<field number=\"8\" name=\"BeginString\" type=\"STRING\"/>" +
+            "<field number=\"10\" name=\"CheckSum\" type=\"STRING\"/>" +
+            "<field number=\"35\" name=\"MsgType\" type=\"STRING\"/>" +
+            "<field number=\"55\" name=\"Symbol\" type=\"STRING\"/>" +
+            "</fields>";
+
+    private final Dictionary dictionary = TestDictionaries.fix44();
+
+    @Test
+    void fields() {
+        Assertions.assertThat(dictionary.beginString()).isEqualTo("FIX.4.4");
+        Assertions.assertThat(dictionary.maxTag()).isEqualTo(628);
+        Assertions.assertThat(dictionary.isDefined(Tags.Symbol)).isTrue();
+        Assertions.assertThat(dictionary.isDefined(Tags.Account)).isFalse();
+        Assertions.assertThat(dictionary.isDefined(0)).isFalse();
+        Assertions.assertThat(dictionary.isDefined(9999)).isFalse();
+        Assertions.assertThat(dictionary.fieldType(Tags.OrderQty)).isEqualTo(FieldType.FLOAT);
+        Assertions.assertThat(dictionary.fieldType(Tags.BodyLength)).isEqualTo(FieldType.INT);
+        Assertions.assertThat(dictionary.fieldType(Tags.TradeDate)).isEqualTo(FieldType.DATE);
+        Assertions.assertThat(dictionary.fieldType(Tags.Account)).isNull();
+    }
+
+    @Test
+    void messages() {
+        Assertions.assertThat(dictionary.hasMsgType("D")).isTrue();
+        Assertions.assertThat(dictionary.hasMsgType("AS")).isTrue();
+        Assertions.assertThat(dictionary.hasMsgType("8")).isFalse();
+        Assertions.assertThat(dictionary.message("D").name()).isEqualTo("NewOrderSingle");
+    }
+
+    @Test
+    void allowedFields() {
+        // header, trailer, component and group fields are all allowed
+        Assertions.assertThat(dictionary.isAllowed("D", Tags.SenderCompID)).isTrue();
+        Assertions.assertThat(dictionary.isAllowed("D", Tags.HopCompID)).isTrue();
+        Assertions.assertThat(dictionary.isAllowed("D", Tags.CheckSum)).isTrue();
+        Assertions.assertThat(dictionary.isAllowed("D", Tags.Symbol)).isTrue();
+        Assertions.assertThat(dictionary.isAllowed("D", Tags.PartyRole)).isTrue();
+        Assertions.assertThat(dictionary.isAllowed("D", Tags.TestReqID)).isFalse();
+        Assertions.assertThat(dictionary.isAllowed("0", Tags.Symbol)).isFalse();
+        Assertions.assertThat(dictionary.isAllowed("8", Tags.Symbol)).isFalse();
+    }
+
+    @Test
+    void requiredFields() {
+        // required fields in groups and optional components are only required within them
+        Assertions.assertThat(dictionary.message("D").requiredTags()).containsExactly(
+                Tags.BeginString, Tags.BodyLength, Tags.MsgType, Tags.SenderCompID, Tags.TargetCompID,
+                Tags.MsgSeqNum, Tags.SendingTime, Tags.CheckSum,
+                Tags.ClOrdID, Tags.Symbol, Tags.Side, Tags.TransactTime, Tags.OrdType);
+        Assertions.assertThat(dictionary.message("D").isRepeatable(Tags.PartyID)).isTrue();
+        Assertions.assertThat(dictionary.message("D").isRepeatable(Tags.NoPartyIDs)).isFalse();
+    }
+
+    @Test
+    void invalidDictionaries() {
+        assertInvalid("<fix/>", "Dictionary must have a fields element");
+        assertInvalid("<dictionary/>", "Dictionary must have a fix root element");
+        assertInvalid("<fix>", "Invalid dictionary");
+        assertInvalid(dictionary("<message name=\"X\" msgtype=\"X\"><field name=\"Account\" required=\"Y\"/></message>"),
+                "Unknown field Account");
+        assertInvalid(dictionary("<message name=\"X\" msgtype=\"X\"><component name=\"Instrument\"/></message>"),
+                "Unknown component Instrument");
+        assertInvalid(dictionary("<message name=\"X\" msgtype=\"XYZ\"/>"),
+                "MsgType of 1 or 2 ASCII chars expected, not 'XYZ'");
+        assertInvalid("<fix><header/><trailer/><messages><message name=\"X\" msgtype=\"X\">" +
+                        "<component name=\"Loop\"/></message></messages>" +
+                        "<components><component name=\"Loop\"><component name=\"Loop\"/></component></components>" +
+                        FIELDS + "</fix>",
+                "Component Loop contains itself");
+    }
+
+    private static String dictionary(String messages) {
+        return "<fix type=\"FIX\" major=\"4\" minor=\"4\"><header/><trailer/><messages>" + messages + "</messages>" +
+                FIELDS + "</fix>";
+    }
+
+    private static void assertInvalid(String xml, String message) {
+        Assertions.assertThatThrownBy(() -> Dictionary.load(new ByteArrayInputStream(xml.getBytes(StandardCharsets.US_ASCII))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith(message);
+    }
+}
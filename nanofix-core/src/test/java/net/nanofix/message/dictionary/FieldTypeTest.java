@@ -0,0 +1,69 @@
+package net.nanofix.message.dictionary;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class FieldTypeTest {
+
+    @Test
+    void dictionaryTypes() {
+        Assertions.assertThat(FieldType.of("PRICE")).isEqualTo(FieldType.FLOAT);
+        Assertions.assertThat(FieldType.of("NUMINGROUP")).isEqualTo(FieldType.INT);
+        Assertions.assertThat(FieldType.of("LOCALMKTDATE")).isEqualTo(FieldType.DATE);
+        Assertions.assertThat(FieldType.of("UTCTIMEONLY")).isEqualTo(FieldType.TIME);
+        Assertions.assertThat(FieldType.of("MULTIPLEVALUESTRING")).isEqualTo(FieldType.STRING);
+    }
+
+    @Test
+    void intValues() {
+        assertValid(FieldType.INT, "0", "42", "-7", "007");
+        assertInvalid(FieldType.INT, "", "-", "1.0", "4x", "+1");
+    }
+
+    @Test
+    void floatValues() {
+        assertValid(FieldType.FLOAT, "0", "101.25", "-0.005", ".5", "5.", "-.5");
+        assertInvalid(FieldType.FLOAT, "", ".", "-", "1.2.3", "1e5", "1,5");
+    }
+
+    @Test
+    void charAndBooleanValues() {
+        assertValid(FieldType.CHAR, "1", "A");
+        assertInvalid(FieldType.CHAR, "", "AB");
+        assertValid(FieldType.BOOLEAN, "Y", "N");
+        assertInvalid(FieldType.BOOLEAN, "y", "YN", "1");
+    }
+
+    @Test
+    void dateAndTimeValues() {
+        assertValid(FieldType.DATE, "20200229");
+        assertInvalid(FieldType.DATE, "2020022", "2020-02-29", "202002290");
+        assertValid(FieldType.TIME, "14:56:12", "14:56:12.987", "14:56:12.987654321");
+        assertInvalid(FieldType.TIME, "14:56", "14:56:12.", "14-56-12", "14:56:12:987");
+        assertValid(FieldType.UTCTIMESTAMP, "20200229-14:56:12", "20200229-14:56:12.987654");
+        assertInvalid(FieldType.UTCTIMESTAMP, "20200229", "20200229-", "20200229 14:56:12", "2020022-14:56:12");
+        assertValid(FieldType.MONTHYEAR, "202012", "20201231", "202012w2");
+        assertInvalid(FieldType.MONTHYEAR, "2020", "20201", "2020-12");
+    }
+
+    private static void assertValid(FieldType type, String... values) {
+        for (String value : values) {
+            Assertions.assertThat(isValid(type, value)).as(value).isTrue();
+        }
+    }
+
+    private static void assertInvalid(FieldType type, String... values) {
+        for (String value : values) {
+            Assertions.assertThat(isValid(type, value)).as(value).isFalse();
+        }
+    }
+
+    private static boolean isValid(FieldType type, String value) {
+        // at an offset, with bytes either side that would pass
+        byte[] bytes = ("11" + value + "11").getBytes(StandardCharsets.US_ASCII);
+        return type.isValid(ByteBuffer.wrap(bytes), 2, value.length());
+    }
+}
@@ -0,0 +1,28 @@
+package net.nanofix.message.dictionary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+final class TestDictionaries {
+
+    private static Dictionary fix44;
+
+    private TestDictionaries() {
+        // can't touch this
+    }
+
+    /**
+     * A cut down FIX 4.4 dictionary from FIX44-test.xml, loaded once.
+     */
+    static synchronized Dictionary fix44() {
+        if (fix44 == null) {
+            try (InputStream in = TestDictionaries.class.getResourceAsStream("/FIX44-test.xml")) {
+                fix44 = Dictionary.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return fix44;
+    }
+}
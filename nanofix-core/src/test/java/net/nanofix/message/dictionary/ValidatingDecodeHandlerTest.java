@@ -0,0 +1,133 @@
+package net.nanofix.message.dictionary;
+
+import net.nanofix.message.DecodedFIXMessage;
+import net.nanofix.message.FIXConstants.SessionRejectReason;
+import net.nanofix.message.NanoFIXMessageDecoder;
+import net.nanofix.message.Tags;
+import net.nanofix.util.ByteArrayUtil;
+import net.nanofix.util.ByteString;
+import net.nanofix.util.FIXBytes;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+class ValidatingDecodeHandlerTest {
+
+    private static final String NEW_ORDER_SINGLE =
+            "8=FIX.4.4|9=177|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=ORD1|" +
+                    "453=2|448=DESK1|447=D|452=1|448=TRADER1|447=D|452=11|55=VOD.L|54=1|" +
+                    "60=20200229-14:56:12.987|38=100|40=2|44=101.25|10=157|";
+
+    private final Dictionary dictionary = TestDictionaries.fix44();
+    private final NanoFIXMessageDecoder decoder = new NanoFIXMessageDecoder();
+    private final DecodedFIXMessage message = new DecodedFIXMessage();
+    private ValidatingDecodeHandler handler;
+
+    @Test
+    void validMessages() {
+        assertValid(NEW_ORDER_SINGLE);
+        assertValid("8=FIX.4.4|9=78|35=AS|49=CLIENT|56=BROKER|34=3|52=20200229-14:56:12.987|70=ALLOC1|" +
+                "75=20200229|10=077|");
+        assertValid("8=FIX.4.4|9=51|35=0|49=CLIENT|56=BROKER|34=4|52=20200229-14:56:12|10=143|");
+        // the handler it wraps still sees every field
+        Assertions.assertThat(message.valueEquals(Tags.SenderCompID, ByteString.of("CLIENT"))).isTrue();
+    }
+
+    @Test
+    void requiredTagMissing() {
+        // Symbol is required through the Instrument component
+        assertRejected("8=FIX.4.4|9=98|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=ORD1|54=1|" +
+                        "60=20200229-14:56:12.987|40=2|10=195|",
+                SessionRejectReason.REQUIRED_TAG_MISSING, Tags.Symbol);
+        Assertions.assertThat(handler.rejectText()).isEqualTo("Required tag missing, field 55 (Symbol)");
+    }
+
+    @Test
+    void valueIsIncorrect() {
+        assertRejected("8=FIX.4.4|9=107|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=ORD1|" +
+                        "55=VOD.L|54=3|60=20200229-14:56:12.987|40=2|10=247|",
+                SessionRejectReason.VALUE_IS_INCORRECT_OUT_OF_RANGE_FOR_THIS_TAG, Tags.Side);
+    }
+
+    @Test
+    void incorrectDataFormat() {
+        assertRejected("8=FIX.4.4|9=114|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=ORD1|" +
+                        "55=VOD.L|54=1|60=20200229-14:56:12.987|38=1x0|40=2|10=117|",
+                SessionRejectReason.INCORRECT_DATA_FORMAT_FOR_VALUE, Tags.OrderQty);
+        assertRejected("8=FIX.4.4|9=48|35=0|49=CLIENT|56=BROKER|34=4|52=20200229-14:56|10=248|",
+                SessionRejectReason.INCORRECT_DATA_FORMAT_FOR_VALUE, Tags.SendingTime);
+    }
+
+    @Test
+    void tagNotDefinedForThisMessageType() {
+        assertRejected("8=FIX.4.4|9=116|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=ORD1|" +
+                        "55=VOD.L|54=1|60=20200229-14:56:12.987|40=2|112=TEST|10=007|",
+                SessionRejectReason.TAG_NOT_DEFINED_FOR_THIS_MESSAGE_TYPE, Tags.TestReqID);
+    }
+
+    @Test
+    void undefinedTag() {
+        assertRejected("8=FIX.4.4|9=114|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=ORD1|" +
+                        "55=VOD.L|54=1|60=20200229-14:56:12.987|40=2|9999=X|10=109|",
+                SessionRejectReason.UNDEFINED_TAG, 9999);
+    }
+
+    @Test
+    void invalidTagNumber() {
+        assertRejected("8=FIX.4.4|9=56|35=0|49=CLIENT|56=BROKER|34=4|52=20200229-14:56:12|x1=2|10=173|",
+                SessionRejectReason.INVALID_TAG_NUMBER, 0);
+    }
+
+    @Test
+    void tagSpecifiedWithoutAValue() {
+        assertRejected("8=FIX.4.4|9=103|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=|" +
+                        "55=VOD.L|54=1|60=20200229-14:56:12.987|40=2|10=219|",
+                SessionRejectReason.TAG_SPECIFIED_WITHOUT_A_VALUE, Tags.ClOrdID);
+    }
+
+    @Test
+    void tagAppearsMoreThanOnce() {
+        assertRejected("8=FIX.4.4|9=117|35=D|49=CLIENT|56=BROKER|34=2|52=20200229-14:56:12.987|11=ORD1|" +
+                        "55=VOD.L|55=BARC.L|54=1|60=20200229-14:56:12.987|40=2|10=048|",
+                SessionRejectReason.TAG_APPEARS_MORE_THAN_ONCE, Tags.Symbol);
+    }
+
+    @Test
+    void invalidMsgType() {
+        assertRejected("8=FIX.4.4|9=56|35=AB|49=CLIENT|56=BROKER|34=3|52=20200229-14:56:12.987|10=188|",
+                SessionRejectReason.INVALID_MSGTYPE, Tags.MsgType);
+    }
+
+    @Test
+    void resetForEachMessage() {
+        assertRejected("8=FIX.4.4|9=56|35=AB|49=CLIENT|56=BROKER|34=3|52=20200229-14:56:12.987|10=188|",
+                SessionRejectReason.INVALID_MSGTYPE, Tags.MsgType);
+        decode(NEW_ORDER_SINGLE);
+        Assertions.assertThat(handler.isValid()).isTrue();
+        Assertions.assertThat(handler.sessionRejectReason()).isEqualTo(-1L);
+        Assertions.assertThat(handler.refTagId()).isEqualTo(0);
+        Assertions.assertThat(handler.rejectText()).isNull();
+    }
+
+    private void assertValid(String msg) {
+        handler = new ValidatingDecodeHandler(dictionary, message);
+        decode(msg);
+        Assertions.assertThat(handler.rejectText()).isNull();
+        Assertions.assertThat(handler.isValid()).isTrue();
+    }
+
+    private void assertRejected(String msg, long reason, int refTagId) {
+        handler = new ValidatingDecodeHandler(dictionary, message);
+        decode(msg);
+        Assertions.assertThat(handler.isValid()).isFalse();
+        Assertions.assertThat(handler.sessionRejectReason()).isEqualTo(reason);
+        Assertions.assertThat(handler.refTagId()).isEqualTo(refTagId);
+    }
+
+    private void decode(String msg) {
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        buffer.put(ByteArrayUtil.asByteArray(msg.replaceAll("\\|", String.valueOf((char) FIXBytes.SOH))));
+        decoder.decode(buffer, handler);
+    }
+}
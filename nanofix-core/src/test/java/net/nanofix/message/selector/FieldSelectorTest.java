@@ -1,11 +1,14 @@
 package net.nanofix.message.selector;
 
 import net.nanofix.field.StringField;
-import net.nanofix.message.FIXMessage;
+import net.nanofix.util.ByteString;
 import org.junit.Test;
 
+import static net.nanofix.message.selector.SelectorMessages.HEARTBEAT;
+import static net.nanofix.message.selector.SelectorMessages.NEW_ORDER_BARC;
+import static net.nanofix.message.selector.SelectorMessages.NEW_ORDER_VOD;
+import static net.nanofix.message.selector.SelectorMessages.decode;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Mockito.mock;
 import static org.hamcrest.Matchers.*;
 
 /**
@@ -22,8 +25,23 @@ public class FieldSelectorTest {
 
     @Test
     public void testIsSelected() throws Exception {
-        FIXMessage msg = mock(FIXMessage.class);
-        //TODO when(msg.getFieldValue(11)).thenReturn("abc");
-        assertThat(new FieldSelector(new StringField(11, "abc")).select(msg), is(true));
+        assertThat(new FieldSelector(new StringField(11, "abc")).select(decode(NEW_ORDER_VOD)), is(true));
+    }
+
+    @Test
+    public void testIsNotSelected() throws Exception {
+        assertThat(new FieldSelector(new StringField(11, "abc")).select(decode(NEW_ORDER_BARC)), is(false));
+        assertThat(new FieldSelector(new StringField(11, "abc")).select(decode(HEARTBEAT)), is(false));
+    }
+
+    @Test
+    public void testTagOnly() throws Exception {
+        assertThat(new FieldSelector(11, null).select(decode(NEW_ORDER_BARC)), is(true));
+        assertThat(new FieldSelector(11, null).select(decode(HEARTBEAT)), is(false));
+    }
+
+    @Test
+    public void testValueOfPrefix() throws Exception {
+        assertThat(new FieldSelector(55, ByteString.of("VOD")).select(decode(NEW_ORDER_VOD)), is(false));
     }
 }
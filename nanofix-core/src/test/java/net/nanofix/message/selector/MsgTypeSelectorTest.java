@@ -1,13 +1,13 @@
 package net.nanofix.message.selector;
 
-import net.nanofix.message.DefaultFIXMessageFactory;
-import net.nanofix.message.FIXMessage;
-import net.nanofix.message.MsgType;
-import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
 
+import static net.nanofix.message.selector.SelectorMessages.CANCEL_VOD;
+import static net.nanofix.message.selector.SelectorMessages.HEARTBEAT;
+import static net.nanofix.message.selector.SelectorMessages.NEW_ORDER_VOD;
+import static net.nanofix.message.selector.SelectorMessages.decode;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -18,13 +18,6 @@ import static org.junit.Assert.assertThat;
  */
 public class MsgTypeSelectorTest {
 
-    private DefaultFIXMessageFactory messageFactory;
-
-    @Before
-    public void setup() {
-        messageFactory = new DefaultFIXMessageFactory(null);
-    }
-
     @Test (expected = IllegalArgumentException.class)
     public void testNullConstructor() {
         new MsgTypeSelector(Arrays.asList(new String[] {}));
@@ -50,15 +43,15 @@ public class MsgTypeSelectorTest {
         new MsgTypeSelector(Arrays.asList(new String[] { "" }));
     }
 
+    @Test
     public void testIsSelected() throws Exception {
-        assertThat(new MsgTypeSelector("A").select(createMessage("A")), is(true));
+        assertThat(new MsgTypeSelector("D").select(decode(NEW_ORDER_VOD)), is(true));
+        assertThat(new MsgTypeSelector(Arrays.asList("G", "D")).select(decode(CANCEL_VOD)), is(true));
     }
 
+    @Test
     public void testIsNotSelected() throws Exception {
-        assertThat(new MsgTypeSelector("A").select(createMessage("B")), is(false));
-    }
-
-    private FIXMessage createMessage(String msgType) {
-        return messageFactory.createMessage(new MsgType(msgType));
+        assertThat(new MsgTypeSelector("D").select(decode(HEARTBEAT)), is(false));
+        assertThat(new MsgTypeSelector(Arrays.asList("AE", "D")).select(decode(CANCEL_VOD)), is(false));
     }
 }
@@ -1,10 +1,12 @@
 package net.nanofix.message.selector;
 
-import net.nanofix.message.FIXMessage;
+import net.nanofix.message.FieldValues;
 import org.junit.Test;
 
+import static net.nanofix.message.MessageFilter.REJECTED;
+import static net.nanofix.message.MessageFilter.SELECTED;
+import static net.nanofix.message.MessageFilter.UNDECIDED;
 import static org.hamcrest.CoreMatchers.is;
-import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -25,7 +27,14 @@ public class NegativeSelectorTest {
     @Test
     public void testIsSelected() throws Exception {
         MessageSelector selector = mock(MessageSelector.class);
-        when(selector.select(any(FIXMessage.class))).thenReturn(true);
-        assertThat(new NegativeSelector(selector).select(mock(FIXMessage.class)), is(false));
+        when(selector.evaluate(any(FieldValues.class))).thenReturn(SELECTED);
+        assertThat(new NegativeSelector(selector).evaluate(mock(FieldValues.class)), is(REJECTED));
+    }
+
+    @Test
+    public void testIsUndecided() throws Exception {
+        MessageSelector selector = mock(MessageSelector.class);
+        when(selector.evaluate(any(FieldValues.class))).thenReturn(UNDECIDED);
+        assertThat(new NegativeSelector(selector).evaluate(mock(FieldValues.class)), is(UNDECIDED));
     }
 }
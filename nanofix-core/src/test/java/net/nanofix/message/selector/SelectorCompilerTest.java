@@ -0,0 +1,145 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.message.MessageFilter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static net.nanofix.message.selector.SelectorMessages.CANCEL_VOD;
+import static net.nanofix.message.selector.SelectorMessages.HEARTBEAT;
+import static net.nanofix.message.selector.SelectorMessages.NEW_ORDER_BARC;
+import static net.nanofix.message.selector.SelectorMessages.NEW_ORDER_VOD;
+import static net.nanofix.message.selector.SelectorMessages.asBuffer;
+import static net.nanofix.message.selector.SelectorMessages.decode;
+
+class SelectorCompilerTest {
+
+    private int fieldsRead;
+
+    @Test
+    void equalsAndNotEquals() {
+        assertSelects("35 = D", true, true, false, false);
+        assertSelects("55=VOD.L", true, false, true, false);
+        assertSelects("55 != VOD.L", false, true, false, true);
+        assertSelects("11 = 'abc'", true, false, false, false);
+    }
+
+    @Test
+    void in() {
+        assertSelects("35 in (D, G)", true, true, true, false);
+        assertSelects("35 IN (0,AE)", false, false, false, true);
+        assertSelects("55 in ('VOD.L', BARC.L)", true, true, true, false);
+    }
+
+    @Test
+    void present() {
+        assertSelects("41", false, false, true, false);
+        assertSelects("not 11", false, false, false, true);
+    }
+
+    @Test
+    void notAndOr() {
+        assertSelects("35 = D and 55 = VOD.L", true, false, false, false);
+        assertSelects("35 = G or 59 = 3", false, true, true, false);
+        assertSelects("35 = D and not 59 = 3", true, false, false, false);
+        // and binds before or
+        assertSelects("35 = 0 or 35 = D and 54 = 2", false, true, false, true);
+        assertSelects("(35 = 0 or 35 = D) And 54 != 2", true, false, false, true);
+    }
+
+    @Test
+    void rejectsOnTheFirstDecidingField() {
+        CompiledSelector selector = SelectorCompiler.compile("35 in (D, F) and 55 = VOD.L");
+        Assertions.assertThat(feed(selector, CANCEL_VOD)).isEqualTo(MessageFilter.REJECTED);
+        Assertions.assertThat(fieldsRead).isEqualTo(3);
+        Assertions.assertThat(feed(selector, NEW_ORDER_BARC)).isEqualTo(MessageFilter.REJECTED);
+        Assertions.assertThat(fieldsRead).isEqualTo(8);
+        Assertions.assertThat(feed(selector, NEW_ORDER_VOD)).isEqualTo(MessageFilter.SELECTED);
+        Assertions.assertThat(fieldsRead).isEqualTo(8);
+    }
+
+    @Test
+    void decidesAbsentFieldsAtTheEnd() {
+        CompiledSelector selector = SelectorCompiler.compile("35 = 0 and not 11");
+        Assertions.assertThat(feed(selector, HEARTBEAT)).isEqualTo(MessageFilter.UNDECIDED);
+        Assertions.assertThat(selector.onMessageEnd()).isEqualTo(MessageFilter.SELECTED);
+        selector.onMessageStart(asBuffer(HEARTBEAT));
+        Assertions.assertThat(selector.onMessageEnd()).isEqualTo(MessageFilter.REJECTED);
+    }
+
+    @Test
+    void firstOccurrenceOfATagCounts() {
+        CompiledSelector selector = SelectorCompiler.compile("55 = BARC.L");
+        Assertions.assertThat(feed(selector, "8=FIX.4.2|9=27|35=D|55=VOD.L|55=BARC.L|10=000|"))
+                .isEqualTo(MessageFilter.REJECTED);
+        Assertions.assertThat(fieldsRead).isEqualTo(4);
+    }
+
+    @Test
+    void toStringIsTheExpression() {
+        Assertions.assertThat(SelectorCompiler.compile("35 = D and 55 = VOD.L").toString())
+                .isEqualTo("35 = D and 55 = VOD.L");
+    }
+
+    @Test
+    void invalidExpressions() {
+        assertInvalid(null, "Argument 'expression' is null");
+        assertInvalid("", "Tag expected at index 0");
+        assertInvalid("35 =", "Value expected at index 4");
+        assertInvalid("35 = D and", "Tag expected at index 10");
+        assertInvalid("0 = D", "Tag of 1 to 99999 expected at index 0");
+        assertInvalid("100000", "Tag of 1 to 99999 expected at index 0");
+        assertInvalid("35 in (D, G", "')' expected at index 11");
+        assertInvalid("(35 = D", "')' expected at index 7");
+        assertInvalid("35 = 'D", "Closing quote expected at index 6");
+        assertInvalid("35 = D)", "Unexpected ')' at index 6");
+        assertInvalid("35 = \u00e9", "ASCII value expected at index 5");
+    }
+
+    private void assertSelects(String expression, boolean newOrderVod, boolean newOrderBarc,
+                               boolean cancelVod, boolean heartbeat) {
+        CompiledSelector selector = SelectorCompiler.compile(expression);
+        Assertions.assertThat(selector.select(decode(NEW_ORDER_VOD))).isEqualTo(newOrderVod);
+        Assertions.assertThat(selector.select(decode(NEW_ORDER_BARC))).isEqualTo(newOrderBarc);
+        Assertions.assertThat(selector.select(decode(CANCEL_VOD))).isEqualTo(cancelVod);
+        Assertions.assertThat(selector.select(decode(HEARTBEAT))).isEqualTo(heartbeat);
+        // filtering as the fields are read gives the same answer
+        Assertions.assertThat(filter(selector, NEW_ORDER_VOD)).isEqualTo(newOrderVod);
+        Assertions.assertThat(filter(selector, NEW_ORDER_BARC)).isEqualTo(newOrderBarc);
+        Assertions.assertThat(filter(selector, CANCEL_VOD)).isEqualTo(cancelVod);
+        Assertions.assertThat(filter(selector, HEARTBEAT)).isEqualTo(heartbeat);
+    }
+
+    private boolean filter(CompiledSelector selector, String msg) {
+        int result = feed(selector, msg);
+        if (result == MessageFilter.UNDECIDED) {
+            result = selector.onMessageEnd();
+        }
+        return result == MessageFilter.SELECTED;
+    }
+
+    /**
+     * Feeds the fields before the CheckSum to the filter until it decides, counting them in fieldsRead.
+     */
+    private int feed(CompiledSelector selector, String msg) {
+        selector.onMessageStart(asBuffer(msg));
+        String[] fields = msg.split("\\|");
+        int index = 0;
+        for (fieldsRead = 0; fieldsRead < fields.length - 1; ) {
+            String field = fields[fieldsRead++];
+            int equals = field.indexOf('=');
+            int result = selector.onField(Integer.parseInt(field.substring(0, equals)),
+                    index + equals + 1, field.length() - equals - 1);
+            if (result != MessageFilter.UNDECIDED) {
+                return result;
+            }
+            index += field.length() + 1;
+        }
+        return MessageFilter.UNDECIDED;
+    }
+
+    private static void assertInvalid(String expression, String message) {
+        Assertions.assertThatThrownBy(() -> SelectorCompiler.compile(expression))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith(message);
+    }
+}
@@ -0,0 +1,40 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.message.DecodedFIXMessage;
+import net.nanofix.message.NanoFIXMessageDecoder;
+import net.nanofix.util.ByteArrayUtil;
+import net.nanofix.util.FIXBytes;
+
+import java.nio.ByteBuffer;
+
+final class SelectorMessages {
+
+    static final String NEW_ORDER_VOD =
+            "8=FIX.4.2|9=56|35=D|49=CLIENT|56=BROKER|34=2|11=abc|55=VOD.L|54=1|59=0|10=031|";
+    static final String NEW_ORDER_BARC =
+            "8=FIX.4.2|9=57|35=D|49=CLIENT|56=BROKER|34=3|11=abd|55=BARC.L|54=2|59=3|10=085|";
+    static final String CANCEL_VOD =
+            "8=FIX.4.2|9=58|35=G|49=CLIENT|56=BROKER|34=4|11=abe|41=abc|55=VOD.L|54=1|10=021|";
+    static final String HEARTBEAT =
+            "8=FIX.4.2|9=30|35=0|49=CLIENT|56=BROKER|34=5|10=129|";
+
+    private SelectorMessages() {
+        // can't touch this
+    }
+
+    /**
+     * @return a buffer holding the message up to its position
+     */
+    static ByteBuffer asBuffer(String msgString) {
+        ByteBuffer buffer = ByteBuffer.wrap(ByteArrayUtil.asByteArray(
+                msgString.replaceAll("\\|", String.valueOf((char) FIXBytes.SOH))));
+        buffer.position(buffer.limit());
+        return buffer;
+    }
+
+    static DecodedFIXMessage decode(String msgString) {
+        DecodedFIXMessage message = new DecodedFIXMessage();
+        new NanoFIXMessageDecoder().decode(asBuffer(msgString), message);
+        return message;
+    }
+}
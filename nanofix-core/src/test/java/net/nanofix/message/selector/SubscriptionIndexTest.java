@@ -0,0 +1,105 @@
+package net.nanofix.message.selector;
+
+import net.nanofix.message.DecodedFIXMessage;
+import net.nanofix.message.Tags;
+import net.nanofix.util.ByteString;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static net.nanofix.message.selector.SelectorMessages.CANCEL_VOD;
+import static net.nanofix.message.selector.SelectorMessages.HEARTBEAT;
+import static net.nanofix.message.selector.SelectorMessages.NEW_ORDER_BARC;
+import static net.nanofix.message.selector.SelectorMessages.NEW_ORDER_VOD;
+import static net.nanofix.message.selector.SelectorMessages.decode;
+
+class SubscriptionIndexTest {
+
+    private static final ByteString NEW_ORDER = ByteString.of("D");
+    private static final ByteString CANCEL = ByteString.of("G");
+    private static final ByteString VOD = ByteString.of("VOD.L");
+    private static final ByteString BARC = ByteString.of("BARC.L");
+
+    private final SubscriptionIndex index = new SubscriptionIndex();
+    private final BitSet matches = new BitSet();
+
+    @Test
+    void matchesSingleFields() {
+        int newOrders = index.subscribe(Tags.MsgType, NEW_ORDER);
+        int vod = index.subscribe(Tags.Symbol, VOD);
+        assertMatches(NEW_ORDER_VOD, newOrders, vod);
+        assertMatches(NEW_ORDER_BARC, newOrders);
+        assertMatches(CANCEL_VOD, vod);
+        assertMatches(HEARTBEAT);
+    }
+
+    @Test
+    void matchesAllFieldsOfASubscription() {
+        int newOrderVod = index.subscribe(Tags.MsgType, NEW_ORDER, Tags.Symbol, VOD);
+        int cancelVod = index.subscribe(Tags.MsgType, CANCEL, Tags.Symbol, VOD);
+        int newOrderBarc = index.subscribe(Tags.Symbol, BARC, Tags.MsgType, NEW_ORDER);
+        assertMatches(NEW_ORDER_VOD, newOrderVod);
+        assertMatches(NEW_ORDER_BARC, newOrderBarc);
+        assertMatches(CANCEL_VOD, cancelVod);
+        assertMatches(HEARTBEAT);
+    }
+
+    @Test
+    void wildcardsMatchEveryMessage() {
+        int all = index.subscribe();
+        int vod = index.subscribe(Tags.Symbol, VOD);
+        assertMatches(NEW_ORDER_VOD, all, vod);
+        assertMatches(HEARTBEAT, all);
+    }
+
+    @Test
+    void unsubscribeReusesIds() {
+        int newOrders = index.subscribe(Tags.MsgType, NEW_ORDER);
+        int all = index.subscribe();
+        int vod = index.subscribe(Tags.Symbol, VOD);
+        index.unsubscribe(newOrders);
+        index.unsubscribe(all);
+        Assertions.assertThat(index.size()).isEqualTo(1);
+        assertMatches(NEW_ORDER_VOD, vod);
+        assertMatches(HEARTBEAT);
+
+        int cancels = index.subscribe(Tags.MsgType, CANCEL);
+        Assertions.assertThat(cancels).isEqualTo(newOrders);
+        assertMatches(CANCEL_VOD, cancels, vod);
+        Assertions.assertThatThrownBy(() -> index.unsubscribe(all))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void matchesManySubscriptions() {
+        int[] ids = new int[5000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = index.subscribe(Tags.MsgType, NEW_ORDER, Tags.Symbol, ByteString.of("SYM" + i));
+        }
+        int barc = index.subscribe(Tags.Symbol, BARC);
+        assertMatches(NEW_ORDER_BARC, barc);
+        assertMatches("8=FIX.4.2|9=36|35=D|49=CLIENT|56=BROKER|55=SYM4321|10=044|", ids[4321]);
+    }
+
+    @Test
+    void invalidSubscriptions() {
+        Assertions.assertThatThrownBy(() -> index.subscribe(Tags.Symbol, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> index.subscribe(Tags.Symbol, VOD, Tags.Symbol, BARC))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> index.subscribe(new int[] { Tags.Symbol }, new ByteString[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(index.size()).isEqualTo(0);
+    }
+
+    private void assertMatches(String msg, int... expected) {
+        DecodedFIXMessage message = decode(msg);
+        Assertions.assertThat(index.match(message, matches)).isEqualTo(expected.length);
+        BitSet expectedMatches = new BitSet();
+        for (int id : expected) {
+            expectedMatches.set(id);
+        }
+        Assertions.assertThat(matches).isEqualTo(expectedMatches);
+    }
+}
@@ -0,0 +1,63 @@
+package net.nanofix.message.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class AsciiWriterTest {
+
+    @Test
+    void putAscii() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.position(2);
+        int sum = AsciiWriter.putAscii(buffer, "ORD-1", 0, 5);
+        Assertions.assertThat(buffer.position()).isEqualTo(7);
+        Assertions.assertThat(new String(buffer.array(), 2, 5, StandardCharsets.US_ASCII)).isEqualTo("ORD-1");
+        Assertions.assertThat(sum).isEqualTo(ChecksumCalculator.sum(buffer, 2, 7));
+    }
+
+    @Test
+    void putAsciiRange() {
+        StringBuilder value = new StringBuilder("account=ACC42;");
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(16), ByteBuffer.allocateDirect(16)}) {
+            int sum = AsciiWriter.putAscii(buffer, value, 8, 13);
+            buffer.flip();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            Assertions.assertThat(new String(bytes, StandardCharsets.US_ASCII)).isEqualTo("ACC42");
+            Assertions.assertThat(sum).isEqualTo(ChecksumCalculator.sum(bytes));
+        }
+    }
+
+    @Test
+    void putAsciiIntoSlice() {
+        ByteBuffer slice = ((ByteBuffer) ByteBuffer.allocate(16).position(4)).slice();
+        AsciiWriter.putAscii(slice, "IBM", 0, 3);
+        Assertions.assertThat(new String(slice.array(), 4, 3, StandardCharsets.US_ASCII)).isEqualTo("IBM");
+    }
+
+    @Test
+    void rejectsNonAscii() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Assertions.assertThatThrownBy(() -> AsciiWriter.putAscii(buffer, "caf\u00e9", 0, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> AsciiWriter.putAscii(buffer, "a\u0001b", 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void rejectsBadRanges() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        Assertions.assertThatThrownBy(() -> AsciiWriter.putAscii(buffer, "abc", 2, 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        Assertions.assertThatThrownBy(() -> AsciiWriter.putAscii(buffer, "abc", 0, 4))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        Assertions.assertThatThrownBy(() -> AsciiWriter.putAscii(buffer, "abcde", 0, 5))
+                .isInstanceOf(BufferOverflowException.class);
+        Assertions.assertThat(buffer.position()).isZero();
+    }
+}
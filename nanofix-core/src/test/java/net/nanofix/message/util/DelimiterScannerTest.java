@@ -0,0 +1,96 @@
+package net.nanofix.message.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static net.nanofix.util.FIXBytes.EQUALS;
+import static net.nanofix.util.FIXBytes.SOH;
+
+class DelimiterScannerTest {
+
+    private static final String MESSAGE =
+            "8=FIX.4.3|9=72|35=0|49=CLIENT|56=BROKER|34=11|52=19700101-00:00:00.000|112=test-req-id|10=109|";
+
+    @Test
+    void matchesByteLoopOnHeapBuffer() {
+        assertMatchesByteLoop(ByteBuffer.allocate(256));
+    }
+
+    @Test
+    void matchesByteLoopOnDirectBuffer() {
+        assertMatchesByteLoop(ByteBuffer.allocateDirect(256));
+    }
+
+    @Test
+    void matchesByteLoopOnLittleEndianBuffer() {
+        assertMatchesByteLoop(ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Test
+    void notFoundBeyondPosition() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        buffer.put("0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+        buffer.put(16, SOH);
+        Assertions.assertThat(DelimiterScanner.indexOf(buffer, 0, SOH)).isEqualTo(-1);
+    }
+
+    @Test
+    void highBitBytesAreNotMatched() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (int i = 0; i < 15; i++) {
+            buffer.put((byte) 0x81);
+        }
+        buffer.put(SOH);
+        Assertions.assertThat(DelimiterScanner.indexOf(buffer, 0, SOH)).isEqualTo(15);
+    }
+
+    @Test
+    void sumsBytesUpToAndIncludingMatch() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put(MESSAGE.replace('|', (char) SOH).getBytes(StandardCharsets.US_ASCII));
+        for (int start = 0; start < buffer.position(); start++) {
+            long indexAndSum = DelimiterScanner.indexOfAndSum(buffer, start, buffer.position(), SOH);
+            int index = byteLoopIndexOf(buffer, start, SOH);
+            Assertions.assertThat(DelimiterScanner.index(indexAndSum)).isEqualTo(index);
+            Assertions.assertThat(DelimiterScanner.sum(indexAndSum)).isEqualTo(byteLoopSum(buffer, start, index + 1));
+        }
+    }
+
+    @Test
+    void sumsAllBytesWhenNotFound() {
+        ByteBuffer buffer = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("35=D|55=VOD.L".getBytes(StandardCharsets.US_ASCII));
+        long indexAndSum = DelimiterScanner.indexOfAndSum(buffer, 0, buffer.position(), SOH);
+        Assertions.assertThat(DelimiterScanner.index(indexAndSum)).isEqualTo(-1);
+        Assertions.assertThat(DelimiterScanner.sum(indexAndSum)).isEqualTo(byteLoopSum(buffer, 0, buffer.position()));
+    }
+
+    private void assertMatchesByteLoop(ByteBuffer buffer) {
+        buffer.put(MESSAGE.replace('|', (char) SOH).getBytes(StandardCharsets.US_ASCII));
+        for (int start = 0; start < buffer.position(); start++) {
+            Assertions.assertThat(DelimiterScanner.indexOf(buffer, start, SOH))
+                    .isEqualTo(byteLoopIndexOf(buffer, start, SOH));
+            Assertions.assertThat(DelimiterScanner.indexOf(buffer, start, EQUALS))
+                    .isEqualTo(byteLoopIndexOf(buffer, start, EQUALS));
+        }
+    }
+
+    private static int byteLoopIndexOf(ByteBuffer buffer, int start, byte value) {
+        for (int i = start; i < buffer.position(); i++) {
+            if (buffer.get(i) == value) return i;
+        }
+        return -1;
+    }
+
+    private static int byteLoopSum(ByteBuffer buffer, int start, int end) {
+        int sum = 0;
+        for (int i = start; i < end; i++) {
+            sum += buffer.get(i) & 0xFF;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,110 @@
+package net.nanofix.message.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class NumberWriterTest {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    @Test
+    void putLong() {
+        assertLong(0L);
+        assertLong(7L);
+        assertLong(-7L);
+        assertLong(42L);
+        assertLong(9999L);
+        assertLong(10000L);
+        assertLong(-123456789L);
+        assertLong(Integer.MAX_VALUE);
+        assertLong(Integer.MIN_VALUE);
+        assertLong(Long.MAX_VALUE);
+        assertLong(Long.MIN_VALUE);
+        for (long value = 1L; value > 0; value *= 10) {
+            assertLong(value - 1);
+            assertLong(value);
+            assertLong(-value);
+        }
+    }
+
+    @Test
+    void putInt() {
+        buffer.clear();
+        int sum = NumberWriter.putInt(buffer, Integer.MIN_VALUE);
+        Assertions.assertThat(written(0)).isEqualTo(Integer.toString(Integer.MIN_VALUE));
+        Assertions.assertThat(sum).isEqualTo(ChecksumCalculator.sum(buffer, 0, buffer.position()));
+    }
+
+    @Test
+    void putTag() {
+        buffer.clear();
+        int sum = NumberWriter.putTag(buffer, 1138);
+        Assertions.assertThat(written(0)).isEqualTo("1138=");
+        Assertions.assertThat(sum).isEqualTo(ChecksumCalculator.sum(buffer, 0, buffer.position()));
+    }
+
+    @Test
+    void putDecimal() {
+        assertDecimal("101.25", 10125L, 2);
+        assertDecimal("-101.25", -10125L, 2);
+        assertDecimal("0.05", 5L, 2);
+        assertDecimal("-0.05", -5L, 2);
+        assertDecimal("0.000", 0L, 3);
+        assertDecimal("42", 42L, 0);
+        assertDecimal("1.500", 1500L, 3);
+    }
+
+    @Test
+    void putDecimalLimits() {
+        assertDecimal(BigDecimal.valueOf(Long.MAX_VALUE, 18).toPlainString(), Long.MAX_VALUE, 18);
+        assertDecimal(BigDecimal.valueOf(Long.MIN_VALUE, 18).toPlainString(), Long.MIN_VALUE, 18);
+        assertDecimal(Long.toString(Long.MIN_VALUE), Long.MIN_VALUE, 0);
+    }
+
+    @Test
+    void putDecimalInvalidScale() {
+        Assertions.assertThatThrownBy(() -> NumberWriter.putDecimal(buffer, 1L, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> NumberWriter.putDecimal(buffer, 1L, 19))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void putZeroPadded() {
+        buffer.clear();
+        buffer.put("x0000".getBytes(StandardCharsets.US_ASCII));
+        int sum = NumberWriter.putZeroPadded(buffer, 1, 42L, 4);
+        Assertions.assertThat(written(0)).isEqualTo("x0042");
+        Assertions.assertThat(sum).isEqualTo(ChecksumCalculator.sum(buffer, 1, buffer.position()));
+        NumberWriter.putZeroPadded(buffer, 1, 9999L, 4);
+        Assertions.assertThat(written(0)).isEqualTo("x9999");
+        Assertions.assertThatThrownBy(() -> NumberWriter.putZeroPadded(buffer, 1, 10000L, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> NumberWriter.putZeroPadded(buffer, 1, -1L, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertDecimal(String expected, long mantissa, int scale) {
+        buffer.clear();
+        buffer.put((byte) 'x');
+        int sum = NumberWriter.putDecimal(buffer, mantissa, scale);
+        Assertions.assertThat(written(1)).isEqualTo(expected);
+        Assertions.assertThat(sum).isEqualTo(ChecksumCalculator.sum(buffer, 1, buffer.position()));
+    }
+
+    private void assertLong(long value) {
+        buffer.clear();
+        buffer.put((byte) 'x');
+        int sum = NumberWriter.putLong(buffer, value);
+        Assertions.assertThat(written(1)).isEqualTo(Long.toString(value));
+        Assertions.assertThat(sum).isEqualTo(ChecksumCalculator.sum(buffer, 1, buffer.position()));
+    }
+
+    private String written(int fromIndex) {
+        return new String(buffer.array(), fromIndex, buffer.position() - fromIndex, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,74 @@
+package net.nanofix.time;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class CachedClockTest {
+
+    private final VirtualClock source = new VirtualClock(1_000_000_123L);
+    private final CachedClock clock = new CachedClock(source, source);
+
+    @Test
+    void samplesTheSourcesWhenCreated() {
+        Assertions.assertThat(clock.epochNanos()).isEqualTo(1_000_000_123L);
+        Assertions.assertThat(clock.nanoTime()).isZero();
+    }
+
+    @Test
+    void onlyMovesOnUpdate() {
+        source.advance(5, TimeUnit.MILLISECONDS);
+        Assertions.assertThat(clock.epochNanos()).isEqualTo(1_000_000_123L);
+        clock.update();
+        Assertions.assertThat(clock.epochNanos()).isEqualTo(1_005_000_123L);
+        Assertions.assertThat(clock.nanoTime()).isEqualTo(5_000_000L);
+    }
+
+    @Test
+    void updateWithTimesAlreadyRead() {
+        clock.update(42L, 7L);
+        Assertions.assertThat(clock.epochNanos()).isEqualTo(42L);
+        Assertions.assertThat(clock.nanoTime()).isEqualTo(7L);
+    }
+
+    @Test
+    void epochNanosAt() {
+        source.advance(5, TimeUnit.MILLISECONDS);
+        clock.update();
+        Assertions.assertThat(clock.epochNanosAt(5_000_000L)).isEqualTo(1_005_000_123L);
+        Assertions.assertThat(clock.epochNanosAt(4_000_000L)).isEqualTo(1_004_000_123L);
+    }
+
+    @Test
+    void epochNanosAtNeverMixesUpdates() throws InterruptedException {
+        // every update has epochNanos + -nanoTime even, a torn pair would make it odd
+        clock.update(0, 0);
+        Thread writer = new Thread(() -> {
+            for (long i = 1; i <= 1_000_000; i++) {
+                clock.update(i, -i);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            Assertions.assertThat(clock.epochNanosAt(0) & 1).isZero();
+        }
+        writer.join();
+        Assertions.assertThat(clock.epochNanosAt(0)).isEqualTo(2_000_000L);
+    }
+
+    @Test
+    void epochTimeRoundsDown() {
+        Assertions.assertThat(clock.epochTime(TimeUnit.MILLISECONDS)).isEqualTo(1_000L);
+        Assertions.assertThat(clock.epochTime(TimeUnit.MICROSECONDS)).isEqualTo(1_000_000L);
+        Assertions.assertThat(clock.epochTime(TimeUnit.SECONDS)).isEqualTo(1L);
+    }
+
+    @Test
+    void systemClocks() {
+        long before = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        CachedClock systemClock = new CachedClock();
+        long after = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() + 1);
+        Assertions.assertThat(systemClock.epochNanos()).isBetween(before, after);
+    }
+}
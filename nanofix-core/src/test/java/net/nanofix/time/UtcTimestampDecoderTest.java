@@ -0,0 +1,117 @@
+package net.nanofix.time;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+class UtcTimestampDecoderTest {
+
+    private final UtcTimestampDecoder decoder = new UtcTimestampDecoder();
+
+    @Test
+    void decodePrecisions() {
+        assertDecode("20200229-14:56:12", "2020-02-29T14:56:12Z");
+        assertDecode("20200229-14:56:12.987", "2020-02-29T14:56:12.987Z");
+        assertDecode("20200229-14:56:12.987654", "2020-02-29T14:56:12.987654Z");
+        assertDecode("20200229-14:56:12.987654321", "2020-02-29T14:56:12.987654321Z");
+    }
+
+    @Test
+    void decodeAcrossDates() {
+        assertDecode("19700101-00:00:00.000", "1970-01-01T00:00:00Z");
+        assertDecode("19691231-23:59:59.999", "1969-12-31T23:59:59.999Z");
+        assertDecode("20000101-00:00:00.001", "2000-01-01T00:00:00.001Z");
+        assertDecode("20000101-23:59:59.999", "2000-01-01T23:59:59.999Z");
+        assertDecode("19700101-00:00:00.000", "1970-01-01T00:00:00Z");
+    }
+
+    @Test
+    void decodeLeapSecond() {
+        assertDecode("20161231-23:59:60.000", "2017-01-01T00:00:00Z");
+    }
+
+    @Test
+    void decodeBigEndianAndDirect() {
+        String timestamp = "20200229-14:56:12.987654";
+        long expected = ChronoUnit.NANOS.between(Instant.EPOCH, Instant.parse("2020-02-29T14:56:12.987654Z"));
+        for (ByteBuffer buffer : new ByteBuffer[]{
+                ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN),
+                ByteBuffer.allocateDirect(32),
+                ByteBuffer.allocateDirect(32).order(ByteOrder.LITTLE_ENDIAN)}) {
+            buffer.put(3, (byte) 'x');
+            for (int i = 0; i < timestamp.length(); i++) {
+                buffer.put(3 + i, (byte) timestamp.charAt(i));
+            }
+            Assertions.assertThat(decoder.decode(buffer, 3, timestamp.length())).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void decodeMillis() {
+        ByteBuffer buffer = asBuffer("19691231-23:59:59.999999");
+        Assertions.assertThat(decoder.decodeMillis(buffer, 0, buffer.capacity())).isEqualTo(-1L);
+    }
+
+    @Test
+    void decodeEncoded() {
+        UtcTimestampEncoder encoder = new UtcTimestampEncoder(TimeUnit.NANOSECONDS);
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long nanos = random.nextLong() >>> 2;
+            encoder.encode(nanos, buffer, 0);
+            Assertions.assertThat(decoder.decode(buffer, 0, encoder.length())).isEqualTo(nanos);
+        }
+    }
+
+    @Test
+    void decodeInvalid() {
+        assertInvalid("20200229-14:56:12.98");
+        assertInvalid("20200229-14:56:12.9876");
+        assertInvalid("20200229-14:56:1");
+        assertInvalid("20200229 14:56:12.987");
+        assertInvalid("20200229-14-56:12.987");
+        assertInvalid("20200229-14:56:12,987");
+        assertInvalid("20200229-24:00:00.000");
+        assertInvalid("20200229-14:60:00.000");
+        assertInvalid("20200229-1a:56:12.987");
+        assertInvalid("20200229-14:56:12.98a");
+        assertInvalid("20201329-14:56:12.987");
+        assertInvalid("2020022a-14:56:12.987");
+    }
+
+    @Test
+    void decodeInvalidDateFirst() {
+        for (byte fill : new byte[]{0, -1}) {
+            ByteBuffer buffer = asBuffer("00000000-14:56:12.987");
+            for (int i = 0; i < 8; i++) {
+                buffer.put(i, fill);
+            }
+            Assertions.assertThatThrownBy(() -> new UtcTimestampDecoder().decode(buffer, 0, buffer.capacity()))
+                    .isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    private void assertDecode(String timestamp, String expected) {
+        ByteBuffer buffer = asBuffer(timestamp);
+        long nanos = decoder.decode(buffer, 0, buffer.capacity());
+        Assertions.assertThat(nanos).isEqualTo(ChronoUnit.NANOS.between(Instant.EPOCH, Instant.parse(expected)));
+    }
+
+    private void assertInvalid(String timestamp) {
+        ByteBuffer buffer = asBuffer(timestamp);
+        Assertions.assertThatThrownBy(() -> decoder.decode(buffer, 0, buffer.capacity()))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    private static ByteBuffer asBuffer(String timestamp) {
+        return ByteBuffer.wrap(timestamp.getBytes(StandardCharsets.US_ASCII));
+    }
+}
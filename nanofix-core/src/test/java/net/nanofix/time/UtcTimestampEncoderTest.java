@@ -0,0 +1,108 @@
+package net.nanofix.time;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+class UtcTimestampEncoderTest {
+
+    private static final Instant LEAP_DAY = Instant.parse("2020-02-29T14:56:12.987654321Z");
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(32);
+
+    @Test
+    void encodeSeconds() {
+        assertEncode(TimeUnit.SECONDS, LEAP_DAY.getEpochSecond(), "20200229-14:56:12");
+    }
+
+    @Test
+    void encodeMillis() {
+        assertEncode(TimeUnit.MILLISECONDS, LEAP_DAY.toEpochMilli(), "20200229-14:56:12.987");
+    }
+
+    @Test
+    void encodeMicros() {
+        assertEncode(TimeUnit.MICROSECONDS, ChronoUnit.MICROS.between(Instant.EPOCH, LEAP_DAY),
+                "20200229-14:56:12.987654");
+    }
+
+    @Test
+    void encodeNanos() {
+        assertEncode(TimeUnit.NANOSECONDS, ChronoUnit.NANOS.between(Instant.EPOCH, LEAP_DAY),
+                "20200229-14:56:12.987654321");
+    }
+
+    @Test
+    void encodeEpochAndBefore() {
+        assertEncode(TimeUnit.MICROSECONDS, 0L, "19700101-00:00:00.000000");
+        assertEncode(TimeUnit.MICROSECONDS, -1L, "19691231-23:59:59.999999");
+    }
+
+    @Test
+    void encodeAcrossSecondsAndDays() {
+        UtcTimestampEncoder encoder = new UtcTimestampEncoder(TimeUnit.MILLISECONDS);
+        long midnight = Instant.parse("2021-12-31T23:59:59.998Z").toEpochMilli();
+        assertEncode(encoder, midnight, "20211231-23:59:59.998");
+        assertEncode(encoder, midnight + 1, "20211231-23:59:59.999");
+        assertEncode(encoder, midnight + 2, "20220101-00:00:00.000");
+        assertEncode(encoder, midnight - 1000, "20211231-23:59:58.998");
+    }
+
+    @Test
+    void encodeAtOffset() {
+        UtcTimestampEncoder encoder = new UtcTimestampEncoder(TimeUnit.MILLISECONDS);
+        encoder.encode(LEAP_DAY.toEpochMilli(), buffer, 5);
+        Assertions.assertThat(encoder.length()).isEqualTo(21);
+        Assertions.assertThat(new String(buffer.array(), 5, encoder.length(), StandardCharsets.US_ASCII))
+                .isEqualTo("20200229-14:56:12.987");
+    }
+
+    @Test
+    void updateOnlyWritesTheFractionWithinTheSecond() {
+        UtcTimestampEncoder encoder = new UtcTimestampEncoder(TimeUnit.MICROSECONDS);
+        long timestamp = ChronoUnit.MICROS.between(Instant.EPOCH, LEAP_DAY);
+        encoder.encode(timestamp, buffer, 0);
+        // the prefix is left as it is
+        buffer.put(0, (byte) 'x');
+        int sum = encoder.update(timestamp + 1, buffer, 0);
+        Assertions.assertThat(written(encoder)).isEqualTo("x0200229-14:56:12.987655");
+        // the sum is of the timestamp the slot was meant to hold
+        Assertions.assertThat(sum).isEqualTo(sum("20200229-14:56:12.987655"));
+        sum = encoder.update(timestamp + 1_000_000, buffer, 0);
+        Assertions.assertThat(written(encoder)).isEqualTo("20200229-14:56:13.987654");
+        Assertions.assertThat(sum).isEqualTo(sum("20200229-14:56:13.987654"));
+    }
+
+    @Test
+    void unsupportedTimeUnit() {
+        Assertions.assertThatThrownBy(() -> new UtcTimestampEncoder(TimeUnit.MINUTES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertEncode(TimeUnit timeUnit, long timestamp, String expected) {
+        assertEncode(new UtcTimestampEncoder(timeUnit), timestamp, expected);
+    }
+
+    private void assertEncode(UtcTimestampEncoder encoder, long timestamp, String expected) {
+        int sum = encoder.encode(timestamp, buffer, 0);
+        Assertions.assertThat(written(encoder)).isEqualTo(expected);
+        Assertions.assertThat(sum).isEqualTo(sum(expected));
+    }
+
+    private static int sum(String value) {
+        int sum = 0;
+        for (byte b : value.getBytes(StandardCharsets.US_ASCII)) {
+            sum += b;
+        }
+        return sum;
+    }
+
+    private String written(UtcTimestampEncoder encoder) {
+        return new String(buffer.array(), 0, encoder.length(), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,26 @@
+package net.nanofix.time;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class VirtualClockTest {
+
+    @Test
+    void advanceMovesBothTimes() {
+        VirtualClock clock = new VirtualClock(TimeUnit.SECONDS.toNanos(10));
+        clock.advance(250, TimeUnit.MICROSECONDS);
+        Assertions.assertThat(clock.epochNanos()).isEqualTo(10_000_250_000L);
+        Assertions.assertThat(clock.nanoTime()).isEqualTo(250_000L);
+    }
+
+    @Test
+    void settingTheWallClockLeavesTheMonotonicTime() {
+        VirtualClock clock = new VirtualClock();
+        clock.advance(1, TimeUnit.SECONDS);
+        clock.epochNanos(5L);
+        Assertions.assertThat(clock.epochNanos()).isEqualTo(5L);
+        Assertions.assertThat(clock.nanoTime()).isEqualTo(1_000_000_000L);
+    }
+}
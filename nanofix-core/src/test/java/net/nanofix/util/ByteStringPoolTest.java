@@ -0,0 +1,70 @@
+package net.nanofix.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class ByteStringPoolTest {
+
+    private final ByteStringPool pool = new ByteStringPool(4);
+
+    @Test
+    void internsBufferRegions() {
+        ByteBuffer buffer = asBuffer("49=CLIENT|56=BROKER|");
+        ByteString sender = pool.intern(buffer, 3, 6);
+        ByteString target = pool.intern(buffer, 13, 6);
+        Assertions.assertThat(sender).isEqualTo(ByteString.of("CLIENT"));
+        Assertions.assertThat(target).isEqualTo(ByteString.of("BROKER"));
+        Assertions.assertThat(pool.intern(asBuffer("CLIENT"), 0, 6)).isSameAs(sender);
+        Assertions.assertThat(pool.size()).isEqualTo(2);
+    }
+
+    @Test
+    void internsByteStrings() {
+        ByteString known = ByteString.of("EXEC");
+        Assertions.assertThat(pool.intern(known)).isSameAs(known);
+        Assertions.assertThat(pool.intern(ByteString.of("EXEC"))).isSameAs(known);
+        Assertions.assertThat(pool.intern(asBuffer("EXEC"), 0, 4)).isSameAs(known);
+    }
+
+    @Test
+    void growsKeepingCanonicalValues() {
+        ByteString[] values = new ByteString[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = pool.intern(asBuffer("SYM" + i), 0, ("SYM" + i).length());
+        }
+        Assertions.assertThat(pool.size()).isEqualTo(1000);
+        for (int i = 0; i < values.length; i++) {
+            Assertions.assertThat(pool.intern(ByteString.of("SYM" + i))).isSameAs(values[i]);
+        }
+    }
+
+    @Test
+    void idsInInternOrder() {
+        pool.intern(ByteString.of("CLIENT"));
+        pool.intern(ByteString.of("BROKER"));
+        for (int i = 0; i < 100; i++) {
+            pool.intern(ByteString.of("SYM" + i));
+        }
+        ByteBuffer buffer = asBuffer("49=CLIENT|56=BROKER|");
+        Assertions.assertThat(pool.idOf(buffer, 3, 6)).isEqualTo(0);
+        Assertions.assertThat(pool.idOf(buffer, 13, 6)).isEqualTo(1);
+        Assertions.assertThat(pool.idOf(ByteString.of("SYM99"))).isEqualTo(101);
+        Assertions.assertThat(pool.idOf(ByteString.of("EXEC"))).isEqualTo(ByteStringPool.NOT_FOUND);
+        Assertions.assertThat(pool.idOf(asBuffer("EXEC"), 0, 4)).isEqualTo(ByteStringPool.NOT_FOUND);
+        Assertions.assertThat(pool.size()).isEqualTo(102);
+    }
+
+    @Test
+    void emptyValue() {
+        ByteString empty = pool.intern(asBuffer(""), 0, 0);
+        Assertions.assertThat(empty.length()).isZero();
+        Assertions.assertThat(pool.intern(ByteString.of(""))).isSameAs(empty);
+    }
+
+    private static ByteBuffer asBuffer(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
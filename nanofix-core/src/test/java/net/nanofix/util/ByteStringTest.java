@@ -0,0 +1,53 @@
+package net.nanofix.util;
+
+import net.nanofix.message.MsgType;
+import net.nanofix.message.MsgTypes;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class ByteStringTest {
+
+    @Test
+    void equalsAndHashCode() {
+        ByteString value = ByteString.of("BROKER");
+        Assertions.assertThat(value).isEqualTo(ByteString.of("BROKER"));
+        Assertions.assertThat(value).isNotEqualTo(ByteString.of("BROKER1"));
+        Assertions.assertThat(value.equals("BROKER")).isFalse();
+        Assertions.assertThat(value.hashCode()).isEqualTo("BROKER".hashCode());
+        Assertions.assertThat(ByteString.of("").hashCode()).isZero();
+    }
+
+    @Test
+    void msgTypesEqualTheirBytes() {
+        Assertions.assertThat(MsgTypes.NewOrderSingle).isEqualTo(ByteString.of("D"));
+        Assertions.assertThat(ByteString.of("D")).isEqualTo(MsgTypes.NewOrderSingle);
+        Assertions.assertThat(new MsgType("D", "Order")).isEqualTo(MsgTypes.NewOrderSingle);
+        Assertions.assertThat(MsgTypes.NewOrderSingle.hashCode()).isEqualTo(ByteString.of("D").hashCode());
+    }
+
+    @Test
+    void contentEqualsBufferRegion() {
+        ByteString value = ByteString.of("VOD.L");
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(16), ByteBuffer.allocateDirect(16)}) {
+            buffer.put("55=VOD.L|".getBytes(StandardCharsets.US_ASCII));
+            Assertions.assertThat(value.contentEquals(buffer, 3, 5)).isTrue();
+            Assertions.assertThat(value.contentEquals(buffer, 3, 4)).isFalse();
+            Assertions.assertThat(value.contentEquals(buffer, 2, 5)).isFalse();
+            Assertions.assertThat(ByteString.hashCode(buffer, 3, 5)).isEqualTo(value.hashCode());
+            Assertions.assertThat(ByteString.copyOf(buffer, 3, 5)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void charSequence() {
+        ByteString value = ByteString.of("ACC-42");
+        Assertions.assertThat(value.length()).isEqualTo(6);
+        Assertions.assertThat(value.charAt(4)).isEqualTo('4');
+        Assertions.assertThat(value.subSequence(4, 6)).isEqualTo(ByteString.of("42"));
+        Assertions.assertThat(value.toString()).isEqualTo("ACC-42");
+        Assertions.assertThat(new StringBuilder().append(value, 0, 3).toString()).isEqualTo("ACC");
+    }
+}
@@ -0,0 +1,108 @@
+package net.nanofix.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class DecimalTest {
+
+    private final Decimal decimal = new Decimal();
+
+    @Test
+    void parseWholeNumber() {
+        assertParsed("1234", 1234L, 0);
+        assertParsed("0", 0L, 0);
+    }
+
+    @Test
+    void parseFraction() {
+        assertParsed("101.25", 10125L, 2);
+        assertParsed("0.005", 5L, 3);
+        assertParsed(".5", 5L, 1);
+        assertParsed("7.", 7L, 0);
+    }
+
+    @Test
+    void parseSigns() {
+        assertParsed("-101.25", -10125L, 2);
+        assertParsed("+3.5", 35L, 1);
+        assertParsed("-0.0", 0L, 0);
+    }
+
+    @Test
+    void parseDropsLeadingAndTrailingZeros() {
+        assertParsed("000100.500", 1005L, 1);
+        assertParsed("1.000000000000000000000000", 1L, 0);
+        assertParsed("100", 100L, 0);
+        assertParsed("10.0020", 10002L, 3);
+    }
+
+    @Test
+    void parseEighteenSignificantDigits() {
+        assertParsed("123456789.123456789", 123456789123456789L, 9);
+        assertParsed("0.000000000000000001", 1L, 18);
+    }
+
+    @Test
+    void parseTooManyDigits() {
+        Assertions.assertThatThrownBy(() -> parse("1234567890.123456789"))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> parse("0.0000000000000000001"))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void parseInvalid() {
+        Assertions.assertThatThrownBy(() -> parse("")).isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> parse("-")).isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> parse(".")).isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> parse("1.2.3")).isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> parse("12a")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void parseWithinBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("44=99.75|".getBytes(StandardCharsets.US_ASCII));
+        decimal.parse(buffer, 3, 5);
+        Assertions.assertThat(decimal.mantissa()).isEqualTo(9975L);
+        Assertions.assertThat(decimal.scale()).isEqualTo(2);
+    }
+
+    @Test
+    void toScaledLong() {
+        decimal.set(10125L, 2);
+        Assertions.assertThat(decimal.toScaledLong(4)).isEqualTo(1012500L);
+        Assertions.assertThat(decimal.set(1500L, 3).toScaledLong(1)).isEqualTo(15L);
+        Assertions.assertThatThrownBy(() -> decimal.set(1501L, 3).toScaledLong(1))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void conversions() {
+        decimal.set(-10125L, 2);
+        Assertions.assertThat(decimal.toDouble()).isEqualTo(-101.25);
+        Assertions.assertThat(decimal.toBigDecimal()).isEqualTo(new BigDecimal("-101.25"));
+        Assertions.assertThat(decimal.toString()).isEqualTo("-101.25");
+    }
+
+    @Test
+    void equalsIgnoresScale() {
+        Assertions.assertThat(new Decimal(150L, 2)).isEqualTo(new Decimal(15L, 1));
+        Assertions.assertThat(new Decimal(150L, 2).hashCode()).isEqualTo(new Decimal(15L, 1).hashCode());
+        Assertions.assertThat(new Decimal(150L, 2)).isNotEqualTo(new Decimal(15L, 2));
+    }
+
+    private void assertParsed(String text, long mantissa, int scale) {
+        parse(text);
+        Assertions.assertThat(decimal.mantissa()).isEqualTo(mantissa);
+        Assertions.assertThat(decimal.scale()).isEqualTo(scale);
+    }
+
+    private Decimal parse(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return decimal.parse(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+}
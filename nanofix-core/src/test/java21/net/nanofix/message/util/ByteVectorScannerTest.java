@@ -0,0 +1,80 @@
+package net.nanofix.message.util;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static net.nanofix.util.FIXBytes.SOH;
+
+/**
+ * Checks the Vector API scanner gives the same results as the word at a time code,
+ * over lengths either side of a whole number of vectors and sums large enough to
+ * reduce the 16 bit lanes part way through.
+ */
+class ByteVectorScannerTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void availableWithIncubatorModule() {
+        Assertions.assertThat(VectorScanner.AVAILABLE).isTrue();
+    }
+
+    @Test
+    void indexOfMatchesSwar() {
+        for (ByteBuffer buffer : buffers()) {
+            int length = buffer.limit();
+            for (int start = 0; start < 80; start++) {
+                Assertions.assertThat(ByteVectorScanner.indexOf(buffer, start, length, SOH))
+                        .isEqualTo(DelimiterScanner.swarIndexOf(buffer, start, length, SOH));
+            }
+        }
+    }
+
+    @Test
+    void indexOfAndSumMatchesSwar() {
+        for (ByteBuffer buffer : buffers()) {
+            int length = buffer.limit();
+            for (int start = 0; start < 80; start++) {
+                Assertions.assertThat(ByteVectorScanner.indexOfAndSum(buffer, start, length, SOH))
+                        .isEqualTo(DelimiterScanner.swarIndexOfAndSum(buffer, start, length, SOH));
+            }
+        }
+    }
+
+    @Test
+    void sumMatchesSwar() {
+        for (ByteBuffer buffer : buffers()) {
+            int length = buffer.limit();
+            for (int start = 0; start < 80; start++) {
+                Assertions.assertThat(ByteVectorScanner.sum(buffer, start, length))
+                        .isEqualTo(ChecksumCalculator.swarSum(buffer, start, length));
+            }
+        }
+    }
+
+    /**
+     * Random high and low bytes with and without a delimiter, some with an array offset.
+     */
+    private ByteBuffer[] buffers() {
+        int[] lengths = {1, 31, 32, 33, 63, 64, 65, 200, 8192 + 17};
+        ByteBuffer[] buffers = new ByteBuffer[lengths.length * 3];
+        for (int i = 0; i < lengths.length; i++) {
+            byte[] bytes = new byte[lengths[i] + 3];
+            random.nextBytes(bytes);
+            for (int j = 0; j < bytes.length; j++) {
+                if (bytes[j] == SOH) {
+                    bytes[j] = (byte) 0xFF;
+                }
+            }
+            buffers[i * 3] = ByteBuffer.wrap(bytes, 0, lengths[i]).slice();
+            byte[] withDelimiter = bytes.clone();
+            withDelimiter[3 + lengths[i] * 3 / 4] = SOH;
+            buffers[i * 3 + 1] = ByteBuffer.wrap(withDelimiter, 3, lengths[i]).slice();
+            buffers[i * 3 + 2] = ByteBuffer.wrap(bytes, 3, lengths[i]).slice();
+        }
+        return buffers;
+    }
+}